@@ -0,0 +1,145 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class CellSpanIndexTest extends TestCase {
+    private CellSpanIndex mIndex;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mIndex = new CellSpanIndex();
+    }
+
+    public void testEmpty() {
+        assertTrue(mIndex.isEmpty());
+        assertNull(mIndex.getSpan(0, 0));
+        assertTrue(mIndex.getSpans(new Rect(0, 0, 100, 100), new ArrayList<Rect>()).isEmpty());
+    }
+
+    public void testGetSpan() {
+        mIndex.setSpan(2, 3, 2, 4);
+        assertFalse(mIndex.isEmpty());
+        Rect span = new Rect(3, 2, 6, 3);
+        assertEquals(span, mIndex.getSpan(2, 3));
+        assertEquals(span, mIndex.getSpan(3, 6));
+        assertNull(mIndex.getSpan(1, 3));
+        assertNull(mIndex.getSpan(4, 3));
+        assertNull(mIndex.getSpan(2, 7));
+    }
+
+    public void testLongSpan() {
+        //a year-long block costs the same as a small one
+        mIndex.setSpan(0, 10, 365, 1);
+        mIndex.setSpan(100, 0, 1, 5);
+        assertEquals(new Rect(10, 0, 10, 364), mIndex.getSpan(300, 10));
+        assertEquals(new Rect(0, 100, 4, 100), mIndex.getSpan(100, 4));
+        ArrayList<Rect> spans = mIndex.getSpans(new Rect(0, 200, 20, 210), new ArrayList<Rect>());
+        assertEquals(1, spans.size());
+        assertEquals(new Rect(10, 0, 10, 364), spans.get(0));
+    }
+
+    public void testLaterSpanDropsOverlapped() {
+        mIndex.setSpan(0, 0, 2, 2);
+        mIndex.setSpan(5, 5, 2, 2);
+        mIndex.setSpan(1, 1, 2, 2);
+        assertNull(mIndex.getSpan(0, 0));
+        assertEquals(new Rect(1, 1, 2, 2), mIndex.getSpan(1, 1));
+        assertEquals(new Rect(5, 5, 6, 6), mIndex.getSpan(6, 6));
+        //applied spans are dropped by a queued one too
+        mIndex.setSpan(6, 4, 1, 2);
+        assertNull(mIndex.getSpan(5, 5));
+        assertEquals(new Rect(4, 6, 5, 6), mIndex.getSpan(6, 5));
+    }
+
+    public void testSingleCellRemoves() {
+        mIndex.setSpan(2, 2, 3, 3);
+        assertNotNull(mIndex.getSpan(3, 3));
+        mIndex.setSpan(4, 4, 1, 1);
+        assertNull(mIndex.getSpan(3, 3));
+        assertNull(mIndex.getSpan(4, 4));
+        assertTrue(mIndex.isEmpty());
+    }
+
+    public void testQueuedInOrder() {
+        //set then removed then set again before any query, the last one wins
+        mIndex.setSpan(0, 0, 2, 2);
+        mIndex.setSpan(0, 0, 1, 1);
+        mIndex.setSpan(0, 0, 3, 1);
+        assertEquals(new Rect(0, 0, 0, 2), mIndex.getSpan(1, 0));
+        assertNull(mIndex.getSpan(0, 1));
+    }
+
+    public void testClear() {
+        mIndex.setSpan(0, 0, 2, 2);
+        mIndex.getSpan(0, 0);
+        mIndex.setSpan(4, 4, 2, 2);
+        mIndex.clear();
+        assertTrue(mIndex.isEmpty());
+        assertNull(mIndex.getSpan(4, 4));
+    }
+
+    public void testMatchesReplay() {
+        //replay random spans on a grid of owners, the index must agree with it cell by cell
+        final int size = 40;
+        Rect[][] owners = new Rect[size][size];
+        Random random = new Random(20151021);
+        for(int round=0;round<20;round++) {
+            for(int i=0;i<30;i++) {
+                int row = random.nextInt(size);
+                int col = random.nextInt(size);
+                int rowSpan = 1 + random.nextInt(Math.min(5, size - row));
+                int colSpan = 1 + random.nextInt(Math.min(5, size - col));
+                mIndex.setSpan(row, col, rowSpan, colSpan);
+                Rect span = new Rect(col, row, col + colSpan - 1, row + rowSpan - 1);
+                //drop every span the new one overlaps
+                ArrayList<Rect> dropped = new ArrayList<Rect>();
+                for(int r=span.top;r<=span.bottom;r++) {
+                    for(int c=span.left;c<=span.right;c++) {
+                        if(owners[r][c] != null && !dropped.contains(owners[r][c])) {
+                            dropped.add(owners[r][c]);
+                        }
+                    }
+                }
+                for(Rect old : dropped) {
+                    for(int r=old.top;r<=old.bottom;r++) {
+                        for(int c=old.left;c<=old.right;c++) {
+                            owners[r][c] = null;
+                        }
+                    }
+                }
+                if(rowSpan > 1 || colSpan > 1) {
+                    for(int r=span.top;r<=span.bottom;r++) {
+                        for(int c=span.left;c<=span.right;c++) {
+                            owners[r][c] = span;
+                        }
+                    }
+                }
+            }
+            for(int row=0;row<size;row++) {
+                for(int col=0;col<size;col++) {
+                    assertEquals("cell " + row + "," + col, owners[row][col], mIndex.getSpan(row, col));
+                }
+            }
+            Rect bound = new Rect(random.nextInt(size), random.nextInt(size), 0, 0);
+            bound.right = bound.left + random.nextInt(size - bound.left);
+            bound.bottom = bound.top + random.nextInt(size - bound.top);
+            ArrayList<Rect> expected = new ArrayList<Rect>();
+            for(int row=bound.top;row<=bound.bottom;row++) {
+                for(int col=bound.left;col<=bound.right;col++) {
+                    if(owners[row][col] != null && !expected.contains(owners[row][col])) {
+                        expected.add(owners[row][col]);
+                    }
+                }
+            }
+            ArrayList<Rect> spans = mIndex.getSpans(bound, new ArrayList<Rect>());
+            assertEquals(expected.size(), spans.size());
+            assertTrue(spans.containsAll(expected));
+        }
+    }
+}
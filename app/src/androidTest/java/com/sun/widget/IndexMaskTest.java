@@ -0,0 +1,79 @@
+package com.sun.widget;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class IndexMaskTest extends TestCase {
+    public void testIdentityWithoutHidden() {
+        IndexMask mask = new IndexMask(100);
+        assertFalse(mask.hasHidden());
+        assertEquals(100, mask.getVisibleCount());
+        assertEquals(42, mask.rank(42));
+        assertEquals(42, mask.select(42));
+        assertTrue(mask.isVisible(99));
+        //beyond the size, such as a mask lagging behind the adapter
+        assertTrue(mask.isVisible(150));
+        assertFalse(mask.isVisible(-1));
+    }
+
+    public void testHideAndShow() {
+        IndexMask mask = new IndexMask(10);
+        assertTrue(mask.setVisible(3, false));
+        assertFalse(mask.setVisible(3, false));
+        assertTrue(mask.setVisible(7, false));
+        assertFalse(mask.setVisible(10, false));
+        assertEquals(8, mask.getVisibleCount());
+        assertFalse(mask.isVisible(3));
+        //display index of a visible index
+        assertEquals(3, mask.rank(4));
+        assertEquals(6, mask.rank(8));
+        assertEquals(8, mask.rank(10));
+        assertEquals(4, mask.select(3));
+        assertEquals(8, mask.select(6));
+        //beyond the visible count
+        assertEquals(10, mask.select(8));
+        assertTrue(mask.setVisible(3, true));
+        assertEquals(4, mask.rank(4));
+        assertEquals(3, mask.select(3));
+    }
+
+    public void testResize() {
+        IndexMask mask = new IndexMask(100);
+        mask.setVisible(10, false);
+        mask.setVisible(90, false);
+        mask.resize(50);
+        assertEquals(50, mask.size());
+        assertEquals(49, mask.getVisibleCount());
+        assertFalse(mask.isVisible(10));
+        //hidden flags cut off don't come back
+        mask.resize(100);
+        assertTrue(mask.isVisible(90));
+        assertEquals(99, mask.getVisibleCount());
+        mask.clear();
+        assertFalse(mask.hasHidden());
+        assertTrue(mask.isVisible(10));
+    }
+
+    public void testMatchesScan() {
+        final int size = 300;
+        IndexMask mask = new IndexMask(size);
+        boolean[] hidden = new boolean[size];
+        Random random = new Random(20151021);
+        for(int i=0;i<600;i++) {
+            int index = random.nextInt(size);
+            hidden[index] = random.nextBoolean();
+            mask.setVisible(index, !hidden[index]);
+        }
+        int rank = 0;
+        for(int index=0;index<size;index++) {
+            assertEquals(!hidden[index], mask.isVisible(index));
+            assertEquals(rank, mask.rank(index));
+            if(!hidden[index]) {
+                assertEquals(index, mask.select(rank));
+                rank++;
+            }
+        }
+        assertEquals(rank, mask.getVisibleCount());
+    }
+}
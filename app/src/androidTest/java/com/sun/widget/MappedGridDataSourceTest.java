@@ -0,0 +1,158 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+public class MappedGridDataSourceTest extends TestCase {
+    private File mFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mFile = File.createTempFile("grid", ".clgd");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        mFile.delete();
+        super.tearDown();
+    }
+
+    private static ArrayList<Rect> listen(GridDataSource source) {
+        final ArrayList<Rect> readyList = new ArrayList<Rect>();
+        source.addOnDataReadyListener(new GridDataSource.OnDataReadyListener() {
+            @Override
+            public void onDataReady(GridDataSource source, Rect indexBound) {
+                readyList.add(new Rect(indexBound));
+            }
+        });
+        return readyList;
+    }
+
+    public void testIntCells() throws IOException {
+        MappedGridDataSource source = MappedGridDataSource.create(mFile, PrimitiveGridAdapter.TYPE_INT, 3, 4);
+        assertFalse(source.hasValue(1, 1));
+        assertNull(source.getItem(1, 1));
+        source.writeRegion(1, 1, 2, 2, new int[] {1, -2, PrimitiveGridAdapter.EMPTY_INT, 4});
+        source.close();
+        source = MappedGridDataSource.open(mFile, false);
+        assertEquals(3, source.getRowCount());
+        assertEquals(4, source.getColumnCount());
+        assertEquals(PrimitiveGridAdapter.TYPE_INT, source.getValueType());
+        assertEquals(1, source.getItem(1, 1));
+        assertEquals(-2, source.getInt(1, 2));
+        assertFalse(source.hasValue(2, 1));
+        assertEquals(PrimitiveGridAdapter.EMPTY_LONG, source.getLong(2, 1));
+        assertEquals(4L, source.getLong(2, 2));
+        assertEquals(4f, source.getFloat(2, 2), 0f);
+        assertFalse(source.hasValue(0, 0));
+        source.close();
+    }
+
+    public void testLongCells() throws IOException {
+        MappedGridDataSource source = MappedGridDataSource.create(mFile, PrimitiveGridAdapter.TYPE_LONG, 2, 2);
+        source.writeRegion(0, 0, 1, 2, new int[] {Integer.MAX_VALUE, PrimitiveGridAdapter.EMPTY_INT});
+        source.close();
+        source = MappedGridDataSource.open(mFile, false);
+        assertEquals(PrimitiveGridAdapter.TYPE_LONG, source.getValueType());
+        assertEquals((long)Integer.MAX_VALUE, source.getItem(0, 0));
+        assertEquals(Integer.MAX_VALUE, source.getInt(0, 0));
+        assertFalse(source.hasValue(0, 1));
+        assertEquals(PrimitiveGridAdapter.EMPTY_INT, source.getInt(0, 1));
+        assertFalse(source.hasValue(1, 1));
+        source.close();
+    }
+
+    public void testFloatCells() throws IOException {
+        MappedGridDataSource source = MappedGridDataSource.create(mFile, PrimitiveGridAdapter.TYPE_FLOAT, 2, 2);
+        source.writeRegion(0, 0, 2, 2, new float[] {1.5f, Float.NaN, -2.25f, 0f});
+        source.close();
+        source = MappedGridDataSource.open(mFile, false);
+        assertEquals(1.5f, source.getItem(0, 0));
+        assertEquals(1, source.getInt(0, 0));
+        assertFalse(source.hasValue(0, 1));
+        assertTrue(Float.isNaN(source.getFloat(0, 1)));
+        assertEquals(-2.25f, source.getFloat(1, 0), 0f);
+        assertTrue(source.hasValue(1, 1));
+        source.close();
+    }
+
+    public void testOutOfGrid() throws IOException {
+        MappedGridDataSource source = MappedGridDataSource.create(mFile, PrimitiveGridAdapter.TYPE_INT, 2, 2);
+        assertEquals(PrimitiveGridAdapter.EMPTY_INT, source.getInt(-1, 0));
+        assertEquals(PrimitiveGridAdapter.EMPTY_LONG, source.getLong(0, 2));
+        assertTrue(Float.isNaN(source.getFloat(2, 0)));
+        //cells out of the grid are skipped by writes
+        source.writeRegion(1, 1, 2, 2, new int[] {1, 2, 3, 4});
+        assertEquals(1, source.getInt(1, 1));
+        source.close();
+    }
+
+    public void testWriteNotifies() throws IOException {
+        MappedGridDataSource source = MappedGridDataSource.create(mFile, PrimitiveGridAdapter.TYPE_INT, 4, 4);
+        ArrayList<Rect> readyList = listen(source);
+        source.writeRegion(1, 2, 1, 2, new int[] {5, 6});
+        assertEquals(1, readyList.size());
+        assertEquals(new Rect(2, 1, 3, 1), readyList.get(0));
+        source.close();
+    }
+
+    public void testReadOnly() throws IOException {
+        MappedGridDataSource.create(mFile, PrimitiveGridAdapter.TYPE_INT, 2, 2).close();
+        MappedGridDataSource source = MappedGridDataSource.open(mFile, false);
+        try {
+            source.writeRegion(0, 0, 1, 1, new int[] {1});
+            fail("a read-only grid must not be written");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+        try {
+            source.appendRows(1);
+            fail("a read-only grid must not grow");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+        source.close();
+    }
+
+    public void testAppendRows() throws IOException {
+        MappedGridDataSource source = MappedGridDataSource.create(mFile, PrimitiveGridAdapter.TYPE_FLOAT, 2, 3);
+        source.writeRegion(0, 0, 2, 3, new float[] {0f, 1f, 2f, 3f, 4f, 5f});
+        ArrayList<Rect> readyList = listen(source);
+        source.appendRows(3);
+        assertEquals(5, source.getRowCount());
+        assertEquals(1, readyList.size());
+        assertEquals(new Rect(0, 2, 2, 4), readyList.get(0));
+        assertEquals(5f, source.getFloat(1, 2), 0f);
+        assertFalse(source.hasValue(4, 2));
+        source.writeRegion(4, 2, 1, 1, new float[] {9f});
+        source.close();
+        source = MappedGridDataSource.open(mFile, false);
+        assertEquals(5, source.getRowCount());
+        assertEquals(3f, source.getFloat(1, 0), 0f);
+        assertEquals(9f, source.getFloat(4, 2), 0f);
+        assertFalse(source.hasValue(3, 0));
+        source.close();
+    }
+
+    public void testNotAGridFile() throws IOException {
+        FileOutputStream stream = new FileOutputStream(mFile);
+        try {
+            stream.write(new byte[64]);
+        } finally {
+            stream.close();
+        }
+        try {
+            MappedGridDataSource.open(mFile, false).close();
+            fail("a file without the magic must be rejected");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+
+public class PrimitiveGridAdapterTest extends TestCase {
+    /** Collects drained cells as keys */
+    private static class Collector implements PrimitiveGridAdapter.DirtyCellVisitor {
+        final ArrayList<Long> cells = new ArrayList<Long>();
+
+        @Override
+        public void onDirtyCell(int row, int col) {
+            cells.add(((long)row<<32) | col);
+        }
+    }
+
+    private static long key(int row, int col) {
+        return ((long)row<<32) | col;
+    }
+
+    public void testValuesAcrossTypes() {
+        TestGridAdapter adapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_INT, 100, 100);
+        assertFalse(adapter.hasValue(70, 70));
+        assertEquals(PrimitiveGridAdapter.EMPTY_INT, adapter.getInt(70, 70));
+        assertNull(adapter.getContentItem(70, 70));
+        adapter.setInt(70, 70, 420);
+        assertEquals(420, adapter.getInt(70, 70));
+        assertEquals(420L, adapter.getLong(70, 70));
+        assertEquals(420f, adapter.getFloat(70, 70), 0f);
+        assertEquals(420, adapter.getContentItem(70, 70));
+        adapter.setFloat(70, 71, 1.9f);
+        assertEquals(1, adapter.getInt(70, 71));
+        adapter.clearValue(70, 70);
+        assertFalse(adapter.hasValue(70, 70));
+        //out of the grid
+        adapter.setInt(100, 0, 1);
+        assertEquals(PrimitiveGridAdapter.EMPTY_INT, adapter.getInt(100, 0));
+        assertTrue(Float.isNaN(adapter.getFloat(-1, 0)));
+    }
+
+    public void testDrainVisibleBound() {
+        TestGridAdapter adapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_INT, 200, 200);
+        adapter.setInt(1, 1, 1);
+        adapter.setInt(70, 70, 2);
+        adapter.setInt(5, 100, 3);
+        Collector visible = new Collector();
+        adapter.drainDirtyCells(new Rect(0, 0, 63, 63), visible);
+        assertEquals(1, visible.cells.size());
+        assertEquals(key(1, 1), (long)visible.cells.get(0));
+        assertTrue(adapter.hasDirtyCells());
+        Collector all = new Collector();
+        adapter.drainAllDirtyCells(all);
+        //tiles in row-major order
+        assertEquals(2, all.cells.size());
+        assertEquals(key(5, 100), (long)all.cells.get(0));
+        assertEquals(key(70, 70), (long)all.cells.get(1));
+        assertFalse(adapter.hasDirtyCells());
+        Collector none = new Collector();
+        adapter.drainAllDirtyCells(none);
+        assertTrue(none.cells.isEmpty());
+    }
+
+    public void testDirtyListenerOncePerDrain() {
+        TestGridAdapter adapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_FLOAT, 10, 10);
+        final int[] count = new int[1];
+        adapter.setOnDirtyListener(new PrimitiveGridAdapter.OnDirtyListener() {
+            @Override
+            public void onDirty(PrimitiveGridAdapter adapter) {
+                count[0]++;
+            }
+        });
+        adapter.setFloat(0, 0, 1f);
+        adapter.setFloat(0, 1, 2f);
+        assertEquals(1, count[0]);
+        adapter.drainAllDirtyCells(new Collector());
+        adapter.setFloat(0, 0, 3f);
+        assertEquals(2, count[0]);
+        adapter.clearDirtyCells();
+        assertFalse(adapter.hasDirtyCells());
+        adapter.setFloat(0, 0, 4f);
+        assertEquals(3, count[0]);
+    }
+
+    public void testClearDirtyCells() {
+        TestGridAdapter adapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_LONG, 200, 200);
+        adapter.setLong(1, 1, 1L);
+        adapter.setLong(150, 150, 2L);
+        adapter.clearDirtyCells();
+        Collector collector = new Collector();
+        adapter.drainAllDirtyCells(collector);
+        adapter.drainDirtyCells(new Rect(0, 0, 199, 199), collector);
+        assertTrue(collector.cells.isEmpty());
+        assertEquals(2L, adapter.getLong(150, 150));
+    }
+
+    public void testResizeKeepsValues() {
+        TestGridAdapter adapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_INT, 100, 100);
+        adapter.setInt(10, 10, 1);
+        adapter.setInt(10, 90, 2);
+        adapter.setInt(90, 10, 3);
+        adapter.setSize(200, 80);
+        assertEquals(200, adapter.getRowCount());
+        assertEquals(80, adapter.getColumnCount());
+        assertEquals(1, adapter.getInt(10, 10));
+        assertEquals(3, adapter.getInt(90, 10));
+        assertFalse(adapter.hasValue(10, 90));
+        adapter.setInt(150, 70, 4);
+        assertEquals(4, adapter.getInt(150, 70));
+        //cut-off values must not come back by growing
+        adapter.setSize(200, 100);
+        assertFalse(adapter.hasValue(10, 90));
+        adapter.setSize(50, 100);
+        adapter.setSize(200, 100);
+        assertFalse(adapter.hasValue(90, 10));
+        assertFalse(adapter.hasValue(150, 70));
+        assertEquals(1, adapter.getInt(10, 10));
+    }
+
+    public void testResizeKeepsDirtyCells() {
+        TestGridAdapter adapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_INT, 100, 100);
+        adapter.setInt(10, 70, 1);
+        adapter.setInt(10, 90, 2);
+        adapter.setInt(90, 10, 3);
+        adapter.setSize(80, 80);
+        Collector collector = new Collector();
+        adapter.drainAllDirtyCells(collector);
+        //only cells still in the grid
+        assertEquals(1, collector.cells.size());
+        assertEquals(key(10, 70), (long)collector.cells.get(0));
+    }
+}
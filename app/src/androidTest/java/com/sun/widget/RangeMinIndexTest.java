@@ -0,0 +1,128 @@
+package com.sun.widget;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+/**
+ * Queries are checked against a scan of the grid; the grid spans partial blocks on both sides
+ */
+public class RangeMinIndexTest extends TestCase {
+    private static final int RowCount = 150;
+    private static final int ColCount = 130;
+
+    private TestGridAdapter mAdapter;
+    private Random mRandom;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mRandom = new Random(20151021);
+        mAdapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_FLOAT, RowCount, ColCount);
+        for(int row=0;row<RowCount;row++) {
+            for(int col=0;col<ColCount;col++) {
+                //some cells stay empty, small values make ties
+                if(mRandom.nextInt(8) != 0) {
+                    mAdapter.setFloat(row, col, mRandom.nextInt(500));
+                }
+            }
+        }
+    }
+
+    /** @return the first cell of the minimum value in row-major order, -1 if none */
+    private long scanMinCell(int top, int left, int bottom, int right) {
+        long cell = -1;
+        float min = Float.NaN;
+        for(int row=Math.max(0, top);row<=Math.min(RowCount - 1, bottom);row++) {
+            for(int col=Math.max(0, left);col<=Math.min(ColCount - 1, right);col++) {
+                float value = mAdapter.getFloat(row, col);
+                if(!Float.isNaN(value) && (cell < 0 || value < min)) {
+                    min = value;
+                    cell = ((long)row<<32) | col;
+                }
+            }
+        }
+        return cell;
+    }
+
+    private void assertQuery(RangeMinIndex index, int top, int left, int bottom, int right) {
+        assertEquals("rect " + top + "," + left + " - " + bottom + "," + right,
+                scanMinCell(top, left, bottom, right), index.queryMinCell(top, left, bottom, right));
+    }
+
+    public void testQueryMatchesScan() {
+        RangeMinIndex index = mAdapter.getContentValueIndex();
+        assertQuery(index, 0, 0, RowCount - 1, ColCount - 1);
+        assertQuery(index, 64, 64, 127, 127);
+        assertQuery(index, 10, 0, 20, ColCount - 1);
+        assertQuery(index, 0, 70, RowCount - 1, 75);
+        for(int i=0;i<500;i++) {
+            int top = mRandom.nextInt(RowCount);
+            int left = mRandom.nextInt(ColCount);
+            assertQuery(index, top, left, top + mRandom.nextInt(RowCount - top), left + mRandom.nextInt(ColCount - left));
+        }
+    }
+
+    public void testRowAndColumn() {
+        RangeMinIndex index = mAdapter.getContentValueIndex();
+        for(int row=0;row<RowCount;row+=7) {
+            assertEquals(scanMinCell(row, 0, row, ColCount - 1), index.queryRowMinCell(row));
+        }
+        for(int col=0;col<ColCount;col+=7) {
+            assertEquals(scanMinCell(0, col, RowCount - 1, col), index.queryColumnMinCell(col));
+        }
+    }
+
+    public void testWritesInvalidateBlocks() {
+        RangeMinIndex index = mAdapter.getContentValueIndex();
+        index.queryMinCell(0, 0, RowCount - 1, ColCount - 1);
+        mAdapter.setFloat(100, 90, -1f);
+        long cell = index.queryMinCell(0, 0, RowCount - 1, ColCount - 1);
+        assertEquals(100, RangeMinIndex.getRow(cell));
+        assertEquals(90, RangeMinIndex.getColumn(cell));
+        mAdapter.clearValue(100, 90);
+        assertQuery(index, 0, 0, RowCount - 1, ColCount - 1);
+        for(int i=0;i<200;i++) {
+            mAdapter.setFloat(mRandom.nextInt(RowCount), mRandom.nextInt(ColCount), mRandom.nextInt(500) - 250);
+        }
+        for(int i=0;i<200;i++) {
+            int top = mRandom.nextInt(RowCount);
+            int left = mRandom.nextInt(ColCount);
+            assertQuery(index, top, left, top + mRandom.nextInt(RowCount - top), left + mRandom.nextInt(ColCount - left));
+        }
+    }
+
+    public void testEmptyRange() {
+        RangeMinIndex index = new RangeMinIndex(new TestGridAdapter(PrimitiveGridAdapter.TYPE_FLOAT, 70, 70));
+        assertEquals(-1, index.queryMinCell(0, 0, 69, 69));
+        assertEquals(-1, mAdapter.getContentValueIndex().queryMinCell(5, 5, 4, 4));
+        assertEquals(-1, mAdapter.getContentValueIndex().queryMinCell(RowCount, 0, RowCount + 10, 10));
+    }
+
+    public void testResizedAdapterGetsNewIndex() {
+        RangeMinIndex index = mAdapter.getContentValueIndex();
+        mAdapter.setSize(RowCount + 10, ColCount);
+        assertNotSame(index, mAdapter.getContentValueIndex());
+        assertEquals(RowCount + 10, mAdapter.getContentValueIndex().getRowCount());
+    }
+
+    public void testTooLargeGrid() {
+        TestGridAdapter adapter = new TestGridAdapter(PrimitiveGridAdapter.TYPE_FLOAT, 0, 0) {
+            @Override
+            public int getRowCount() {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public int getColumnCount() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        try {
+            new RangeMinIndex(adapter);
+            fail("a grid beyond int arrays must be rejected");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.sun.widget;
+
+import junit.framework.TestCase;
+
+public class SizeIndexTest extends TestCase {
+    private IndexMask mMask;
+    private SizeIndex mSizes;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mMask = new IndexMask(10);
+        mSizes = new SizeIndex(mMask, 20);
+        mSizes.resize(10);
+    }
+
+    public void testEstimated() {
+        assertEquals(20, mSizes.getSize(3));
+        assertEquals(60, mSizes.offsetOf(3));
+        assertEquals(200, mSizes.getTotal());
+        assertEquals(2, mSizes.indexAt(59));
+        assertEquals(3, mSizes.indexAt(60));
+    }
+
+    public void testMeasuredSizes() {
+        assertEquals(30, mSizes.setSize(2, 50));
+        assertEquals(0, mSizes.setSize(2, 50));
+        assertEquals(90, mSizes.offsetOf(3));
+        assertEquals(230, mSizes.getTotal());
+        assertEquals(2, mSizes.indexAt(40));
+        assertEquals(2, mSizes.indexAt(89));
+        assertEquals(3, mSizes.indexAt(90));
+        assertEquals(0, mSizes.setSize(10, 50));
+    }
+
+    public void testHiddenTakeNoSpace() {
+        mSizes.setSize(4, 100);
+        mMask.setVisible(4, false);
+        mSizes.onVisibilityChanged(4);
+        assertEquals(100, mSizes.getSize(4));
+        assertEquals(80, mSizes.offsetOf(5));
+        assertEquals(180, mSizes.getTotal());
+        //the offset of a hidden index belongs to the next shown one
+        assertEquals(5, mSizes.indexAt(80));
+        //measuring a hidden index doesn't move anything
+        assertEquals(0, mSizes.setSize(4, 40));
+        mMask.setVisible(4, true);
+        mSizes.onVisibilityChanged(4);
+        assertEquals(220, mSizes.getTotal());
+    }
+
+    public void testOutOfRange() {
+        //estimated beyond both ends
+        assertEquals(-40, mSizes.offsetOf(-2));
+        assertEquals(240, mSizes.offsetOf(12));
+        assertEquals(-1, mSizes.indexAt(-1));
+        assertEquals(11, mSizes.indexAt(220));
+    }
+
+    public void testResize() {
+        mSizes.setSize(1, 5);
+        mSizes.resize(12);
+        mMask.resize(12);
+        assertEquals(5, mSizes.getSize(1));
+        assertEquals(20, mSizes.getSize(11));
+        assertEquals(225, mSizes.getTotal());
+        mSizes.resize(2);
+        assertEquals(25, mSizes.getTotal());
+    }
+
+    public void testRebuildAfterMaskChanges() {
+        mMask.setVisible(0, false);
+        mMask.setVisible(1, false);
+        mSizes.rebuild();
+        assertEquals(160, mSizes.getTotal());
+        assertEquals(0, mSizes.offsetOf(2));
+        assertEquals(2, mSizes.indexAt(0));
+    }
+}
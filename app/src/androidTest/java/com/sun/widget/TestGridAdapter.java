@@ -0,0 +1,43 @@
+package com.sun.widget;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * PrimitiveGridAdapter without views, for tests of values and indexes
+ */
+public class TestGridAdapter extends PrimitiveGridAdapter {
+    public TestGridAdapter(int type, int rowCount, int colCount) {
+        super(type, rowCount, colCount);
+    }
+
+    @Override
+    public View getTableHeaderView() {
+        return null;
+    }
+
+    @Override
+    public View getRowTitleView(int pos, View convertView, ViewGroup parent) {
+        return null;
+    }
+
+    @Override
+    public View getColumnTitleView(int pos, View convertView, ViewGroup parent) {
+        return null;
+    }
+
+    @Override
+    public View getContentView(int row, int col, View convertView, ViewGroup parent) {
+        return null;
+    }
+
+    @Override
+    public Object getRowTitleItem(int pos) {
+        return null;
+    }
+
+    @Override
+    public Object getColumnTitleItem(int pos) {
+        return null;
+    }
+}
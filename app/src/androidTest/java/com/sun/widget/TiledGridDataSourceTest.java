@@ -0,0 +1,198 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+import android.test.InstrumentationTestCase;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Tiles are loaded inline and their results are posted to the main thread,
+ * #deliver runs them before the state is checked
+ */
+public class TiledGridDataSourceTest extends InstrumentationTestCase {
+    private static final int GridSize = 8;
+    private static final int TileSize = 2;
+
+    private static final Executor InlineExecutor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    /** Loader counting its loads, it fails while failing is set */
+    private static class CountingLoader extends TiledGridDataSource.ArrayTileLoader {
+        int loadCount = 0;
+        boolean failing = false;
+
+        CountingLoader(Object[][] table) {
+            super(table);
+        }
+
+        @Override
+        public Object[] loadTile(int rowStart, int colStart, int rowCount, int colCount) {
+            loadCount++;
+            if(failing) {
+                throw new IllegalStateException("backend is down");
+            }
+            return super.loadTile(rowStart, colStart, rowCount, colCount);
+        }
+    }
+
+    private CountingLoader mLoader;
+
+    private TiledGridDataSource createSource(int maxTileCount) {
+        Object[][] table = new Object[GridSize][GridSize];
+        for(int row=0;row<GridSize;row++) {
+            for(int col=0;col<GridSize;col++) {
+                table[row][col] = row * 100 + col;
+            }
+        }
+        mLoader = new CountingLoader(table);
+        return new TiledGridDataSource(GridSize, GridSize, TileSize, maxTileCount, mLoader, InlineExecutor);
+    }
+
+    private void deliver() {
+        getInstrumentation().waitForIdleSync();
+    }
+
+    /** @return true if (row, col) is cached, the check itself loads nothing */
+    private boolean isCached(TiledGridDataSource source, int row, int col) {
+        int loadCount = mLoader.loadCount;
+        boolean cached = source.getItem(row, col) != null;
+        assertEquals(cached ? loadCount : loadCount + 1, mLoader.loadCount);
+        deliver();
+        return cached;
+    }
+
+    public void testLoadOnAccess() {
+        TiledGridDataSource source = createSource(16);
+        assertNull(source.getItem(3, 5));
+        deliver();
+        assertEquals(305, source.getItem(3, 5));
+        //same tile
+        assertEquals(204, source.getItem(2, 4));
+        assertEquals(1, mLoader.loadCount);
+        assertNull(source.getItem(-1, 0));
+        assertNull(source.getItem(0, GridSize));
+    }
+
+    public void testRequestsMergedIntoPendingLoad() {
+        TiledGridDataSource source = createSource(16);
+        assertNull(source.getItem(0, 0));
+        assertNull(source.getItem(1, 1));
+        deliver();
+        assertEquals(1, mLoader.loadCount);
+        assertEquals(101, source.getItem(1, 1));
+    }
+
+    public void testPrefetch() {
+        TiledGridDataSource source = createSource(16);
+        final ArrayList<Rect> readyList = new ArrayList<Rect>();
+        source.addOnDataReadyListener(new GridDataSource.OnDataReadyListener() {
+            @Override
+            public void onDataReady(GridDataSource source, Rect indexBound) {
+                readyList.add(new Rect(indexBound));
+            }
+        });
+        source.prefetch(new Rect(0, 0, 3, 3));
+        deliver();
+        assertEquals(4, mLoader.loadCount);
+        assertEquals(4, readyList.size());
+        assertEquals(new Rect(0, 0, 1, 1), readyList.get(0));
+        for(int row=0;row<=3;row++) {
+            for(int col=0;col<=3;col++) {
+                assertEquals(row * 100 + col, source.getItem(row, col));
+            }
+        }
+        source.prefetch(new Rect(0, 0, 3, 3));
+        deliver();
+        assertEquals(4, mLoader.loadCount);
+    }
+
+    public void testEvictFarTilesFirst() {
+        TiledGridDataSource source = createSource(4);
+        //the viewport is tile (0, 0), the tiles around it are loaded too
+        source.onViewportChanged(new Rect(0, 0, 1, 1));
+        deliver();
+        assertEquals(4, mLoader.loadCount);
+        source.prefetch(new Rect(0, 0, GridSize - 1, GridSize - 1));
+        deliver();
+        assertEquals(16, mLoader.loadCount);
+        assertEquals(4, source.getTileCount());
+        assertTrue(isCached(source, 0, 0));
+        assertTrue(isCached(source, 0, 3));
+        assertTrue(isCached(source, 3, 0));
+        assertTrue(isCached(source, 3, 3));
+        assertFalse(isCached(source, 7, 7));
+    }
+
+    public void testViewportTilesPinned() {
+        TiledGridDataSource source = createSource(1);
+        source.onViewportChanged(new Rect(0, 0, 3, 3));
+        deliver();
+        //tiles of the viewport and one ring around it
+        assertEquals(9, mLoader.loadCount);
+        assertEquals(4, source.getTileCount());
+        assertTrue(isCached(source, 0, 0));
+        assertTrue(isCached(source, 3, 3));
+        assertFalse(isCached(source, 4, 4));
+    }
+
+    public void testTrimMemory() {
+        TiledGridDataSource source = createSource(16);
+        source.prefetch(new Rect(0, 0, GridSize - 1, GridSize - 1));
+        deliver();
+        assertEquals(16, source.getCacheSize());
+        source.onTrimMemory(0.5f);
+        assertEquals(8, source.getCacheSize());
+        //the default viewport is tile (0, 0)
+        assertTrue(isCached(source, 0, 0));
+        source.onTrimMemory(0f);
+        assertEquals(0, source.getCacheSize());
+    }
+
+    public void testFailedTileBacksOff() throws InterruptedException {
+        TiledGridDataSource source = createSource(16);
+        mLoader.failing = true;
+        assertNull(source.getItem(0, 0));
+        deliver();
+        assertEquals(1, mLoader.loadCount);
+        mLoader.failing = false;
+        assertNull(source.getItem(0, 0));
+        source.prefetch(new Rect(0, 0, 1, 1));
+        deliver();
+        assertEquals(1, mLoader.loadCount);
+        //the first retry delay is one second
+        Thread.sleep(1100);
+        assertNull(source.getItem(0, 0));
+        deliver();
+        assertEquals(2, mLoader.loadCount);
+        assertEquals(0, source.getItem(0, 0));
+    }
+
+    public void testInvalidateTileRetriesAtOnce() {
+        TiledGridDataSource source = createSource(16);
+        mLoader.failing = true;
+        source.getItem(0, 0);
+        deliver();
+        mLoader.failing = false;
+        source.invalidateTile(0, 0);
+        source.getItem(0, 0);
+        deliver();
+        assertEquals(2, mLoader.loadCount);
+        assertEquals(101, source.getItem(1, 1));
+    }
+
+    public void testClearDropsLoadsInFlight() {
+        TiledGridDataSource source = createSource(16);
+        source.getItem(0, 0);
+        source.clear();
+        deliver();
+        assertEquals(0, source.getTileCount());
+        assertNull(source.getItem(0, 0));
+        deliver();
+        assertEquals(0, source.getItem(0, 0));
+    }
+}
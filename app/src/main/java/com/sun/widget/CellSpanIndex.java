@@ -0,0 +1,227 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+
+/**
+ * Index of merged cells of CrossList
+ * A span is a rect by index, both sides included, its top-left cell is the anchor;
+ * spans are kept once each, sorted by their row intervals, and searched through a tree of
+ * their bounds (max bottom, min left and max right of the spans below each node), so the cost
+ * of a span doesn't grow with its size, such as a year-long "no flights" block
+ * Spans never overlap, setting a span drops the spans it overlaps
+ * Setting a span only queues it; the first query after changes applies all queued spans with
+ * one sort and one tree, so setting n spans in a row doesn't rebuild the tree n times
+ */
+public class CellSpanIndex {
+    private static final Comparator<Rect> TopLeftComparator = new Comparator<Rect>() {
+        @Override
+        public int compare(Rect a, Rect b) {
+            if(a.top != b.top) {
+                return a.top < b.top ? -1 : 1;
+            }
+            return a.left < b.left ? -1 : (a.left == b.left ? 0 : 1);
+        }
+    };
+
+    /** Sorted by top, then left */
+    private ArrayList<Rect> mSpans = new ArrayList<Rect>();
+    /** Spans set since the last query in order, a 1x1 one only removes */
+    private ArrayList<Rect> mPending = new ArrayList<Rect>();
+    private int[] mMaxBottom = new int[0];
+    private int[] mMinLeft = new int[0];
+    private int[] mMaxRight = new int[0];
+    /** Order of a span while queued spans are applied, -1 for spans applied before */
+    private int[] mOrders = null;
+    private int[] mMaxOrder = new int[0];
+    private boolean mTreeDirty = false;
+
+    /**
+     * Merge cells from (row, col) on
+     * @param rowSpan count of rows, a span of 1x1 removes the span at (row, col)
+     * @param colSpan count of columns
+     */
+    public void setSpan(int row, int col, int rowSpan, int colSpan) {
+        mPending.add(new Rect(col, row, col + Math.max(1, colSpan) - 1, row + Math.max(1, rowSpan) - 1));
+        mTreeDirty = true;
+    }
+
+    /**
+     * Apply queued spans: a span is kept unless a span set after it overlaps it
+     */
+    private void applyPending() {
+        int applied = mSpans.size();
+        int count = applied + mPending.size();
+        Rect[] spans = new Rect[count];
+        for(int i=0;i<applied;i++) {
+            spans[i] = mSpans.get(i);
+        }
+        for(int i=0;i<mPending.size();i++) {
+            spans[applied + i] = mPending.get(i);
+        }
+        //orders by identity, before sorting
+        IdentityHashMap<Rect, Integer> orders = new IdentityHashMap<Rect, Integer>(count);
+        for(int i=applied;i<count;i++) {
+            orders.put(spans[i], i - applied);
+        }
+        Arrays.sort(spans, TopLeftComparator);
+        mSpans = new ArrayList<Rect>(Arrays.asList(spans));
+        mOrders = new int[count];
+        for(int i=0;i<count;i++) {
+            Integer order = orders.get(spans[i]);
+            mOrders[i] = order == null ? -1 : order;
+        }
+        buildTree();
+        ArrayList<Rect> kept = new ArrayList<Rect>(count);
+        for(int i=0;i<count;i++) {
+            Rect span = spans[i];
+            boolean isRemoval = span.width() == 0 && span.height() == 0;
+            if(!isRemoval && !hasLaterOverlap(1, 0, count - 1, countStartedBy(span.bottom), span, mOrders[i])) {
+                kept.add(span);
+            }
+        }
+        mOrders = null;
+        mSpans = kept;
+        mPending.clear();
+    }
+
+    /**
+     * @return true if a span under the node, set after the given order, intersects the span
+     */
+    private boolean hasLaterOverlap(int node, int lo, int hi, int end, Rect span, int order) {
+        if(lo >= end || mMaxOrder[node] <= order || mMaxBottom[node] < span.top
+                || mMinLeft[node] > span.right || mMaxRight[node] < span.left) {
+            return false;
+        }
+        if(lo == hi) {
+            return true;
+        }
+        int mid = (lo + hi) >>> 1;
+        return hasLaterOverlap(node * 2, lo, mid, end, span, order)
+                || hasLaterOverlap(node * 2 + 1, mid + 1, hi, end, span, order);
+    }
+
+    /** @return count of spans whose top is no more than row */
+    private int countStartedBy(int row) {
+        int lo = 0, hi = mSpans.size();
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(mSpans.get(mid).top <= row) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public void clear() {
+        mSpans.clear();
+        mPending.clear();
+        mTreeDirty = true;
+    }
+
+    public boolean isEmpty() {
+        ensureTree();
+        return mSpans.isEmpty();
+    }
+
+    /**
+     * @return the span containing (row, col), null if the cell is not merged
+     * NOTE:The rect is shared with the index, don't modify it
+     */
+    public Rect getSpan(int row, int col) {
+        ensureTree();
+        if(mSpans.isEmpty()) {
+            return null;
+        }
+        return find(1, 0, mSpans.size() - 1, countStartedBy(row), col, row, col, row, null);
+    }
+
+    /**
+     * Collect spans intersecting an index bound, both sides included
+     * @return outList
+     */
+    public ArrayList<Rect> getSpans(Rect indexBound, ArrayList<Rect> outList) {
+        ensureTree();
+        if(mSpans.isEmpty()) {
+            return outList;
+        }
+        find(1, 0, mSpans.size() - 1, countStartedBy(indexBound.bottom),
+                indexBound.left, indexBound.top, indexBound.right, indexBound.bottom, outList);
+        return outList;
+    }
+
+    /**
+     * Search spans [lo, hi] under a node for ones intersecting a bound, only the first end spans
+     * could start above the bottom of the bound
+     * @param outList collects all hits if not null; otherwise the first hit is returned
+     */
+    private Rect find(int node, int lo, int hi, int end, int left, int top, int right, int bottom,
+                      ArrayList<Rect> outList) {
+        if(lo >= end || mMaxBottom[node] < top || mMinLeft[node] > right || mMaxRight[node] < left) {
+            return null;
+        }
+        if(lo == hi) {
+            Rect span = mSpans.get(lo);
+            if(outList != null) {
+                outList.add(span);
+            }
+            return span;
+        }
+        int mid = (lo + hi) >>> 1;
+        Rect hit = find(node * 2, lo, mid, end, left, top, right, bottom, outList);
+        if(hit != null && outList == null) {
+            return hit;
+        }
+        Rect other = find(node * 2 + 1, mid + 1, hi, end, left, top, right, bottom, outList);
+        return hit != null ? hit : other;
+    }
+
+    private void ensureTree() {
+        if(!mTreeDirty) {
+            return ;
+        }
+        mTreeDirty = false;
+        if(!mPending.isEmpty()) {
+            applyPending();
+        }
+        buildTree();
+    }
+
+    private void buildTree() {
+        int n = mSpans.size();
+        int size = Math.max(1, 4 * n);
+        if(mMaxBottom.length < size) {
+            mMaxBottom = new int[size];
+            mMinLeft = new int[size];
+            mMaxRight = new int[size];
+            mMaxOrder = new int[size];
+        }
+        if(n > 0) {
+            build(1, 0, n - 1);
+        }
+    }
+
+    private void build(int node, int lo, int hi) {
+        if(lo == hi) {
+            Rect span = mSpans.get(lo);
+            mMaxBottom[node] = span.bottom;
+            mMinLeft[node] = span.left;
+            mMaxRight[node] = span.right;
+            mMaxOrder[node] = mOrders == null ? -1 : mOrders[lo];
+            return ;
+        }
+        int mid = (lo + hi) >>> 1;
+        build(node * 2, lo, mid);
+        build(node * 2 + 1, mid + 1, hi);
+        mMaxBottom[node] = Math.max(mMaxBottom[node * 2], mMaxBottom[node * 2 + 1]);
+        mMinLeft[node] = Math.min(mMinLeft[node * 2], mMinLeft[node * 2 + 1]);
+        mMaxRight[node] = Math.max(mMaxRight[node * 2], mMaxRight[node * 2 + 1]);
+        mMaxOrder[node] = Math.max(mMaxOrder[node * 2], mMaxOrder[node * 2 + 1]);
+    }
+}
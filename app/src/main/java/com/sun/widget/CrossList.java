@@ -1,26 +1,46 @@
 package com.sun.widget;
 
-import android.animation.Animator;
-import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
+import android.content.ComponentCallbacks;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.Point;
 import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Process;
+import android.os.SystemClock;
 import android.util.AttributeSet;
+import android.util.DisplayMetrics;
 import android.util.Pair;
+import android.view.Choreographer;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.RelativeLayout;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
@@ -72,9 +92,48 @@ public class CrossList extends ViewGroup {
     private  int mColumnTitleHeight = 70; // content height
     private  int mColumnTitleWidth = 50;
 
-    /** Dynamic View Attrs */
-    private Point mTitleOriginPoint = new Point(0, 0);
-    private Point mContentOriginPoint = new Point(0, 0);
+    /**
+     * Cached measure specs for the uniform children
+     * Refresh them by #updateMeasureSpecs when sizes change
+     */
+    private int mRowTitleWidthSpec = 0;
+    private int mRowTitleHeightSpec = 0;
+    private int mColTitleWidthSpec = 0;
+    private int mColTitleHeightSpec = 0;
+    private int mContentWidthSpec = 0;
+    private int mContentHeightSpec = 0;
+    private static final int MaxMeasuredSize = 0x00ffffff;
+
+    /**
+     * Dynamic View Attrs
+     * Origin points are in a 64-bit logical coordinate space, so that grids with millions
+     * of rows or columns scroll correctly. Strips are drawn relative to #mLocalOrigin,
+     * which is rebased when the scroll offset of strips grows too far from it
+     */
+    private LongPoint mTitleOriginPoint = new LongPoint();
+    private LongPoint mContentOriginPoint = new LongPoint();
+    private LongPoint mLocalOrigin = new LongPoint();
+    private static final long RebaseDistance = 1 << 20;
+
+    static class LongPoint {
+        long x;
+        long y;
+        LongPoint() {
+        }
+        LongPoint(LongPoint src) {
+            set(src.x, src.y);
+        }
+        void set(long x, long y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+    static class LongRect {
+        long left;
+        long top;
+        long right;
+        long bottom;
+    }
 
     /**
      * View trackers are used to keep track on child views in CrossList because
@@ -82,8 +141,57 @@ public class CrossList extends ViewGroup {
      */
     private HashMap<Integer, View> mRowTitleTracker = new HashMap<Integer, View>();//Pair<rowIndex, itemView>
     private HashMap<Integer, View> mColTitleTracker = new HashMap<Integer, View>();//Pair<colIndex, itemView>
-    private HashMap<Integer, View> mContentTracker = new HashMap<Integer, View>();//Pair<contentKey, contentView>
-    private RelativeLayout mTableHeaderTracker = null;
+    private HashMap<Long, View> mContentTracker = new HashMap<Long, View>();//Pair<contentKey, contentView>
+    private View mTableHeader = null;
+
+    /**
+     * Strip containers: row titles, column titles and contents live in their own containers.
+     * Children of a strip are laid out in the strip's logical coordinates, then the whole strip
+     * scrolls with a single offset and clips the children to its own region, so that contents
+     * under the titles are never drawn and updates of one strip don't touch the others
+     */
+    private StripContainer mRowTitleStrip = null;
+    private StripContainer mColTitleStrip = null;
+    private StripContainer mContentStrip = null;
+
+    private static class StripContainer extends ViewGroup {
+        public StripContainer(Context context) {
+            super(context);
+            setClipChildren(true);
+        }
+        @Override
+        protected void onLayout(boolean changed, int l, int t, int r, int b) {
+            //children are laid out by CrossList
+        }
+        private void addChild(View child, ViewGroup.LayoutParams layoutParam) {
+            addViewInLayout(child, -1, layoutParam, true);
+        }
+        private void setOffset(int offsetX, int offsetY) {
+            if(getScrollX() != offsetX || getScrollY() != offsetY) {
+                scrollTo(offsetX, offsetY);
+            }
+        }
+        /** Clear the layout request left by a child, without bothering the parent */
+        private void settle() {
+            if(isLayoutRequested()) {
+                layout(getLeft(), getTop(), getRight(), getBottom());
+            }
+        }
+    }
+
+    private void initStrips() {
+        mContentStrip = new StripContainer(getContext());
+        mColTitleStrip = new StripContainer(getContext());
+        mRowTitleStrip = new StripContainer(getContext());
+        addStrips();
+    }
+    /** Content strip is at the bottom, title strips are above it */
+    private void addStrips() {
+        ViewGroup.LayoutParams lp = new ViewGroup.LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+        addViewInLayout(mContentStrip, -1, lp, true);
+        addViewInLayout(mColTitleStrip, -1, lp, true);
+        addViewInLayout(mRowTitleStrip, -1, lp, true);
+    }
 
     /**
      * Recyclers for title and content
@@ -93,1165 +201,3416 @@ public class CrossList extends ViewGroup {
     private HashSet<View> mContentRecycler = new HashSet<View>();
 
     private void pushRowTitleRecycler(View child) {
-        if(mRowTitleRecycler.contains(child)) {
-            return ;
-        }
-        child.setVisibility(View.INVISIBLE);
-        mRowTitleRecycler.add(child);
+        pushRecycler(mRowTitleRecycler, child);
     }
     private View pollRowTitleRecycler() {
-        if(mRowTitleRecycler.isEmpty()) {
-            return null;
-        }
-        View res = mRowTitleRecycler.iterator().next();
-        mRowTitleRecycler.remove(res);
-        res.setVisibility(View.VISIBLE);
-        return res;
+        return pollRecycler(mRowTitleRecycler);
     }
     private void pushColTitleRecycler(View child) {
-        if(mColTitleRecycler.contains(child)) {
-            return ;
-        }
-        child.setVisibility(View.INVISIBLE);
-        mColTitleRecycler.add(child);
+        pushRecycler(mColTitleRecycler, child);
     }
     private View pollColTitleRecycler(){
-        if(mColTitleRecycler.isEmpty()) {
-            return null;
-        }
-        View res = mColTitleRecycler.iterator().next();
-        mColTitleRecycler.remove(res);
-        res.setVisibility(View.VISIBLE);
-        return res;
+        return pollRecycler(mColTitleRecycler);
     }
     private void pushContentRecycler(View child) {
-        if(mContentRecycler.contains(child)) {
-            return ;
+        pushRecycler(mContentRecycler, child);
+        Long id = mContentViewIds.get(child);
+        if(id != null) {
+            if(mContentRecycler.contains(child)) {
+                mContentScrapById.put(id, child);
+            } else {
+                mContentViewIds.remove(child);
+            }
         }
-        child.setVisibility(View.INVISIBLE);
-        mContentRecycler.add(child);
     }
     private View pollContentRecycler(){
-        if(mContentRecycler.isEmpty()) {
-            return null;
+        if(mContentScrapById.size() < mContentRecycler.size()) {
+            //prefer views without ids, a tagged one may still be wanted by its item
+            for(View child : mContentRecycler) {
+                if(!mContentViewIds.containsKey(child)) {
+                    mContentRecycler.remove(child);
+                    child.setVisibility(View.VISIBLE);
+                    return child;
+                }
+            }
+        }
+        View res = pollRecycler(mContentRecycler);
+        if(res != null) {
+            //it will show another item
+            forgetContentViewId(res);
         }
-        View res = mContentRecycler.iterator().next();
-        mContentRecycler.remove(res);
-        res.setVisibility(View.VISIBLE);
         return res;
     }
 
+    /**
+     * Stable ids business
+     * With stable ids, every content view remembers the id of the item it shows; a scrapped view
+     * which still shows the wanted item is handed back without calling the adapter
+     * An id is forgotten when its cell is invalidated, so the next use binds the view again
+     * Views kept by #refreshView are stale, they are bound again as convertView of their items
+     * @see CrossListAdapter#hasStableIds()
+     */
+    private HashMap<View, Long> mContentViewIds = new HashMap<View, Long>();
+    private HashMap<Long, View> mContentScrapById = new HashMap<Long, View>();
+    private HashSet<View> mContentStaleScrap = new HashSet<View>();
 
-    static private int getKey(int row, int col){
-        return (row<<16)+col;
+    private void rememberContentViewId(View child, long id) {
+        forgetContentViewId(child);
+        if(id != CrossListAdapter.NO_ID) {
+            mContentViewIds.put(child, id);
+        }
     }
-    static private Pair<Integer/*row*/, Integer/*col*/> getRowAndCol(int key) {
-        return new Pair(key>>16, key&0xffff);
+    private void forgetContentViewId(View child) {
+        mContentStaleScrap.remove(child);
+        Long id = mContentViewIds.remove(child);
+        if(id != null && mContentScrapById.get(id) == child) {
+            mContentScrapById.remove(id);
+        }
     }
-
-    private CrossListAdapter.DataSetObserver mObserver = new CrossListAdapter.DataSetObserver() {
-        @Override
-        public void onChanged(ArrayList<Pair<Integer, Integer>> paramList) {
-
+    /** Forget the scrapped view showing the item at (row, col), as its content changed */
+    private void forgetScrapIdAt(int row, int col) {
+        if(!mAdapter.hasStableIds() || mContentScrapById.isEmpty()) {
+            return ;
         }
-        @Override
-        public void onInvalidated(ArrayList<Pair<Integer, Integer>> paramList) {
-            if(paramList == null) {
-                return ;
-            }
-            for(Pair<Integer, Integer> entry : paramList) {
-                int row = entry.first;
-                int col = entry.second;
-                if(row < 0) {
-                    View convertView = mRowTitleTracker.get(col);
-                    if(convertView != null) {
-                        mAdapter.getRowTitleView(col, convertView, CrossList.this);
-                    }
-                } else if(col < 0) {
-                    View convertView = mColTitleTracker.get(row);
-                    if(convertView != null) {
-                        mAdapter.getColumnTitleView(row, convertView, CrossList.this);
-                    }
-                } else {
-                    View convertView = mContentTracker.get(getKey(row, col));
-                    if(convertView != null) {
-                        mAdapter.getContentView(row, col, convertView, CrossList.this);
+        View scrap = mContentScrapById.remove(mAdapter.getContentItemId(row, col));
+        if(scrap != null) {
+            mContentViewIds.remove(scrap);
+            mContentStaleScrap.remove(scrap);
+        }
+    }
+    /** Forget all scrapped views, for changes whose cells are unknown out of the viewport */
+    private void forgetScrapIds() {
+        for(View scrap : mContentScrapById.values()) {
+            mContentViewIds.remove(scrap);
+        }
+        mContentScrapById.clear();
+        mContentStaleScrap.clear();
+    }
+
+    /**
+     * Get a content view for an item, reusing the scrapped view which still shows it if possible
+     * A stale scrap of the item is bound again, as the convertView of its item
+     */
+    private View obtainContentView(Rect indexBound) {
+        long id = CrossListAdapter.NO_ID;
+        View convertView = null;
+        if(mAdapter.hasStableIds()) {
+            id = mAdapter.getContentItemId(indexBound.top, indexBound.left);
+            View scrap = id == CrossListAdapter.NO_ID ? null : mContentScrapById.remove(id);
+            if(scrap != null) {
+                mContentRecycler.remove(scrap);
+                scrap.setVisibility(View.VISIBLE);
+                if(!mContentStaleScrap.remove(scrap)) {
+                    int widthSpec = getContentWidthSpec(indexBound);
+                    int heightSpec = getContentHeightSpec(indexBound);
+                    if(scrap.getMeasuredWidth() != MeasureSpec.getSize(widthSpec)
+                            || scrap.getMeasuredHeight() != MeasureSpec.getSize(heightSpec)) {
+                        scrap.measure(widthSpec, heightSpec);
                     }
+                    onSnapshotItemBound(indexBound.top, indexBound.left);
+                    return scrap;
                 }
+                convertView = scrap;
             }
         }
-    };
-    private CrossListAdapter mAdapter = null;
-    public void setAdapter(CrossListAdapter adapter) {
-        if(mAdapter != null) {
-            mAdapter.removeDataSetObserver(mObserver);
+        if(convertView == null) {
+            convertView = pollContentRecycler();
         }
-        mAdapter = adapter;
-        if(mAdapter != null) {
-            mAdapter.addDataSetObserver(mObserver);
+        View child = mAdapter.getContentView(indexBound.top, indexBound.left, convertView, this);
+        if (child != convertView) {//new view, add and measure
+            addView4Content(child, indexBound);
+            if(convertView != null) {
+                forgetContentViewId(convertView);
+                pushContentRecycler(convertView);
+            }
         }
-        refreshView();
-    }
-    public CrossListAdapter getAdapter() {
-        return mAdapter;
+        if(mAdapter.hasStableIds()) {
+            rememberContentViewId(child, id);
+        }
+        onSnapshotItemBound(indexBound.top, indexBound.left);
+        return child;
     }
 
-    /**
-     * Destroy the original cross list and recreate
-     * This method is quite expensive
-     * Try to use adapter.notifyDataSetInvalidate if just need to refresh some items
-     */
-    public void refreshView() {
-        if(mAdapter == null) {
+    /** Recycle a child, or remove it if spare views are out of the memory budget */
+    private void pushRecycler(HashSet<View> recycler, View child) {
+        if(recycler.contains(child)) {
             return ;
         }
-        //clear previous cache
-        mTableHeaderTracker = null;
-        mRowTitleTracker.clear();
-        mColTitleTracker.clear();
-        mContentTracker.clear();
-        mRowTitleRecycler.clear();
-        mColTitleRecycler.clear();
-        mContentRecycler.clear();
-        mScrollBound = null;
-        mTableHeadBottomShadow = null;
-        mTableHeadRightShadow = null;
-        mRowTitleShadow = null;
-        mColTitleShadow = null;
-        this.removeAllViewsInLayout();
+        if(getRecycledCount() >= getMaxRecycledViews()) {
+            removeStripChild(child);
+            return ;
+        }
+        child.setVisibility(View.INVISIBLE);
+        recycler.add(child);
+    }
+    private View pollRecycler(HashSet<View> recycler) {
+        if(recycler.isEmpty()) {
+            return null;
+        }
+        View res = recycler.iterator().next();
+        recycler.remove(res);
+        res.setVisibility(View.VISIBLE);
+        return res;
+    }
+    private void removeStripChild(View child) {
+        if(child.getParent() instanceof ViewGroup) {
+            ((ViewGroup)child.getParent()).removeViewInLayout(child);
+        }
+    }
+    private int getRecycledCount() {
+        return mRowTitleRecycler.size() + mColTitleRecycler.size() + mContentRecycler.size();
+    }
 
-        for(int i=0;i<mOverScrollViews.length;i++) {
-            if(mOverScrollViews[i] != null) {
-                setOverScrollView(mOverScrollViews[i], i);
+    /** Drop spare views from the largest recycler until no more than maxCount are left */
+    private void trimRecyclers(int maxCount) {
+        while(getRecycledCount() > Math.max(0, maxCount)) {
+            HashSet<View> recycler = mContentRecycler;
+            if(mRowTitleRecycler.size() > recycler.size()) {
+                recycler = mRowTitleRecycler;
+            }
+            if(mColTitleRecycler.size() > recycler.size()) {
+                recycler = mColTitleRecycler;
             }
+            View child = recycler.iterator().next();
+            recycler.remove(child);
+            if(recycler == mContentRecycler) {
+                forgetContentViewId(child);
+            }
+            removeStripChild(child);
         }
-        mFlingStack = 0;
-        mTitleOriginPoint = new Point();
-        mContentOriginPoint = new Point();
-        mPendingScroll = null;
-        mDisableTouch = false;
-        mIsTouchScrolling = false;
-        mHasTouchRelease = false;
-        mIsSmoothlyMovingX = false;
-        mIsSmoothlyMovingY = false;
-        mBounceEnable = true;
-        requestLayout();
     }
 
-    public CrossList(Context context, AttributeSet attrs) {
-        super(context, attrs);
-        TypedArray ary = context.obtainStyledAttributes(attrs, R.styleable.CrossList);
-        mRowTitleWidth = (int)ary.getDimension(R.styleable.CrossList_rowTitleWidth, mRowTitleWidth);
-        mRowTitleHeight = (int)ary.getDimension(R.styleable.CrossList_rowTitleHeight, mRowTitleHeight);
-        mColumnTitleWidth = (int)ary.getDimension(R.styleable.CrossList_columnTitleWidth, mColumnTitleWidth);
-        mColumnTitleHeight = (int)ary.getDimension(R.styleable.CrossList_columnTitleHeight, mColumnTitleHeight);
-
-        mRowTitleShadowSize = (int)ary.getDimension(R.styleable.CrossList_rowTitleShadowSize, mRowTitleShadowSize);
-        mColTitleShadowSize = (int)ary.getDimension(R.styleable.CrossList_columnTitleShadowSize, mColTitleShadowSize);
-        mRowTitleShadowRes = ary.getResourceId(R.styleable.CrossList_rowTitleShadowRes, 0);
-        mColTitleShadowRes = ary.getResourceId(R.styleable.CrossList_columnTitleShadowRes, 0);
-        mTableHeadBottomShadowRes = ary.getResourceId(R.styleable.CrossList_tableHeadBottomShadowRes, 0);
-        mTableHeadRightShadowRes = ary.getResourceId(R.styleable.CrossList_tableHeadRightShadowRes, 0);
+    /**
+     * Pre-warm business: create children before the first layout and keep them in recyclers,
+     * so that the first layout after #setAdapter only has to bind them
+     */
+    private static final int PrewarmRowTitle = 0;
+    private static final int PrewarmColTitle = 1;
+    private static final int PrewarmContent = 2;
+    private static final long PrewarmSliceTime = 4;//max time(ms) used in one idle slice
+    private int[] mPrewarmLack = {0, 0, 0};
+    private volatile int mPrewarmGeneration = 0;
+    /** Views being created in the background and not adopted yet, by type */
+    private int[] mAsyncPrewarmPending = {0, 0, 0};
+    private boolean mIsPrewarmIdleAdded = false;
+    private View mPrewarmedTableHeader = null;
+    private Handler mMainHandler = new Handler(Looper.getMainLooper());
 
-        ary.recycle();
-    }
-    public CrossList(Context context) {
-        super(context);
+    /**
+     * Background work of all CrossLists, such as pre-warming and measuring sizes; long work is
+     * cut into tasks which submit the next one, so lists share the threads fairly
+     */
+    private static final int WorkerCount = 2;
+    private static Executor sWorkExecutor = null;
+    private static synchronized Executor getWorkExecutor() {
+        if(sWorkExecutor == null) {
+            sWorkExecutor = Executors.newFixedThreadPool(WorkerCount, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "CrossList-worker");
+                }
+            });
+        }
+        return sWorkExecutor;
     }
 
-    public CrossList(Context context, int rowTitleWidth, int rowTitleHeight, int colTitleWidth, int colTitleHeight) {
-        super(context);
-        mRowTitleWidth = rowTitleWidth;
-        mRowTitleHeight = rowTitleHeight;
-        mColumnTitleWidth = colTitleWidth;
-        mColumnTitleHeight = colTitleHeight;
+    /**
+     * Pre-warm recyclers with a target count for each view type
+     * Views are created in idle slices of the main thread, or in a background thread
+     * if the adapter allows it
+     * @see CrossListAdapter#isAsyncInflateEnabled()
+     * @param rowTitleCount target count of row title views
+     * @param colTitleCount target count of column title views
+     * @param contentCount target count of content views
+     */
+    public void prewarmRecyclers(int rowTitleCount, int colTitleCount, int contentCount) {
+        if(mAdapter == null) {
+            return ;
+        }
+        int[] lack = {
+                Math.max(0, rowTitleCount - mRowTitleTracker.size() - mRowTitleRecycler.size()),
+                Math.max(0, colTitleCount - mColTitleTracker.size() - mColTitleRecycler.size()),
+                Math.max(0, contentCount - mContentTracker.size() - mContentRecycler.size())
+        };
+        //views out of the memory budget would be removed right after they are created
+        int room = Math.max(0, getMaxRecycledViews() - getRecycledCount());
+        int total = lack[PrewarmRowTitle] + lack[PrewarmColTitle] + lack[PrewarmContent];
+        if(total > room) {
+            for(int type=0;type<lack.length;type++) {
+                lack[type] = (int)((long)lack[type] * room / total);
+            }
+        }
+        if(mAdapter.isAsyncInflateEnabled()) {
+            //views already on the way count, repeated calls don't stack up
+            int more = 0;
+            for(int type=0;type<lack.length;type++) {
+                lack[type] = Math.max(0, lack[type] - mAsyncPrewarmPending[type]);
+                mAsyncPrewarmPending[type] += lack[type];
+                more += lack[type];
+            }
+            if(more > 0) {
+                startAsyncPrewarm(mAdapter, mPrewarmGeneration, lack);
+            }
+        } else {
+            for(int type=0;type<lack.length;type++) {
+                mPrewarmLack[type] = Math.max(mPrewarmLack[type], lack[type]);
+            }
+        }
+        if(!mIsPrewarmIdleAdded) {
+            Looper.myQueue().addIdleHandler(mPrewarmIdleHandler);
+            mIsPrewarmIdleAdded = true;
+        }
     }
 
-    private void addView4RowTitle(View child) {
-        int viewIndex = this.getChildCount()-1;
-        addAndMeasureChild(child, viewIndex, mRowTitleWidth, mRowTitleHeight);
-    }
-    private void addView4ColTitle(View child) {
-        int viewIndex = this.getChildCount()-1;
-        addAndMeasureChild(child, viewIndex, mColumnTitleWidth, mColumnTitleHeight);
+    /**
+     * Pre-warm recyclers with counts estimated from the screen size
+     */
+    public void prewarmRecyclers() {
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        int colCount = metrics.widthPixels / mRowTitleWidth + 2;
+        int rowCount = metrics.heightPixels / mColumnTitleHeight + 2;
+        prewarmRecyclers(colCount, rowCount, colCount * rowCount);
     }
-    private void addView4Content(View child) {
-        int viewIndex = 0;
-        addAndMeasureChild(child, Math.max(0, viewIndex), mRowTitleWidth, mColumnTitleHeight);
+
+    /** Count of titles and contents covering one screen */
+    private int getScreenViewCount() {
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        int colCount = metrics.widthPixels / mRowTitleWidth + 2;
+        int rowCount = metrics.heightPixels / mColumnTitleHeight + 2;
+        return colCount + rowCount + colCount * rowCount;
     }
 
-    private void addAndMeasureChild(View child, int index, int width, int height) {
-        if(child == null) {
-            return ;
-        }
-        ViewGroup.LayoutParams layoutParam = child.getLayoutParams();
-        if(layoutParam == null) {
-            layoutParam = new ViewGroup.LayoutParams(width, height);
+    private MessageQueue.IdleHandler mPrewarmIdleHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            boolean hasMore = prewarmSlice(SystemClock.uptimeMillis() + PrewarmSliceTime);
+            if(!hasMore) {
+                mIsPrewarmIdleAdded = false;
+            }
+            return hasMore;
         }
-        int widthMeasureSpec = MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY);
-        int heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
-        child.measure(widthMeasureSpec, heightMeasureSpec);
-        this.addViewInLayout(child, index, layoutParam);
-    }
+    };
 
     /**
-     * Get current drawing rect of view in at (col, row);
-     * Refresh mOriginPoint to change the position
-     * @param row -1 means title
-     * @param col -1 means title
-     * @return drawing rect
+     * Create pre-warm views until the deadline
+     * @return true if there is still work to do
      */
-    private Rect getViewLocByIndex(int row, int col) {
-        //XXX:currently calc from a formula
-        final int paddingTop = getPaddingTop();
-        final int paddingLeft = getPaddingLeft();
-        int left, top, right, bottom;
-        //calc logic top and bottom
-        if(row < 0) {
-            top = paddingTop;
-            bottom = top + mRowTitleHeight;
-        } else {
-            top = mRowTitleHeight + mColumnTitleHeight * row;
-            bottom = top + mColumnTitleHeight;
+    private boolean prewarmSlice(long deadline) {
+        if(mAdapter == null) {
+            mPrewarmLack[PrewarmRowTitle] = mPrewarmLack[PrewarmColTitle] = mPrewarmLack[PrewarmContent] = 0;
+            return false;
         }
-        //calc logic left and right
-        if(col < 0) {
-            left = paddingLeft;
-            right = left + mColumnTitleWidth;
-        } else {
-            left = mColumnTitleWidth + mRowTitleWidth * col;
-            right = left + mRowTitleWidth;
+        if(mPrewarmedTableHeader == null && mTableHeader == null) {
+            mPrewarmedTableHeader = mAdapter.getTableHeaderView();
+            loadShadowDrawables();
+        }
+        for(int type=0;type<mPrewarmLack.length;type++) {
+            while(mPrewarmLack[type] > 0) {
+                if(SystemClock.uptimeMillis() >= deadline) {
+                    return true;
+                }
+                adoptPrewarmView(type, createPrewarmView(mAdapter, type));
+                mPrewarmLack[type]--;
+            }
+        }
+        return false;
+    }
+
+    private void startAsyncPrewarm(final CrossListAdapter adapter, final int generation, final int[] counts) {
+        getWorkExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                for(int type=0;type<counts.length;type++) {
+                    for(int i=0;i<counts[type];i++) {
+                        if(generation != mPrewarmGeneration) {
+                            return ;
+                        }
+                        final int viewType = type;
+                        final View child = createPrewarmView(adapter, type);
+                        mMainHandler.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                if(generation == mPrewarmGeneration && adapter == mAdapter) {
+                                    mAsyncPrewarmPending[viewType]--;
+                                    adoptPrewarmView(viewType, child);
+                                }
+                            }
+                        });
+                    }
+                }
+            }
+        });
+    }
 
+    private View createPrewarmView(CrossListAdapter adapter, int type) {
+        if(adapter.getRowCount() <= 0 || adapter.getColumnCount() <= 0) {
+            return null;
         }
-        //calc real drawing position
-        if(row < 0 && col < 0){
-            //table title never moves
-        } else if(row < 0) {
-            left += mTitleOriginPoint.x;
-            right += mTitleOriginPoint.x;
-        } else if(col < 0) {
-            top += mTitleOriginPoint.y;
-            bottom += mTitleOriginPoint.y;
-        } else {
-            left += mContentOriginPoint.x;
-            right += mContentOriginPoint.x;
-            top += mContentOriginPoint.y;
-            bottom += mContentOriginPoint.y;
+        switch(type) {
+            case PrewarmRowTitle:
+                return adapter.getRowTitleView(0, null, this);
+            case PrewarmColTitle:
+                return adapter.getColumnTitleView(0, null, this);
+            default:
+                return adapter.getContentView(0, 0, null, this);
         }
-        return new Rect(left, top, right, bottom);
     }
 
-    @Override
-    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
-        if(mAdapter == null) {
+    /** Add a pre-warmed view as child and push it into its recycler */
+    private void adoptPrewarmView(int type, View child) {
+        if(child == null || child.getParent() != null) {
             return ;
         }
+        switch(type) {
+            case PrewarmRowTitle:
+                addView4RowTitle(child);
+                pushRowTitleRecycler(child);
+                break;
+            case PrewarmColTitle:
+                addView4ColTitle(child);
+                pushColTitleRecycler(child);
+                break;
+            default:
+                addView4Content(child);
+                pushContentRecycler(child);
+                break;
+        }
+    }
 
-        /** Deal pending scroll */
-        if(mPendingScroll != null) {
-            mPendingScroll.run();
-            mPendingScroll = null;
-        }
 
-        updateBounceBusiness();
+    private View obtainTableHeaderView() {
+        View tableHead = mPrewarmedTableHeader;
+        mPrewarmedTableHeader = null;
+        if(tableHead == null) {
+            tableHead = mAdapter.getTableHeaderView();
+        }
+        return tableHead;
+    }
 
-        /** Refresh layout tracker to prepare layout */
-        Rect indexBound = getVisibleBoundIndex();
-        updateRowTitle(indexBound.left, indexBound.right);
-        updateColTitle(indexBound.top, indexBound.bottom);
-        updateContentView(indexBound.left, indexBound.top, indexBound.right, indexBound.bottom);
-        updateOverScrollViews();
-        updateRowAndColShadows();
+    private void cancelPrewarm() {
+        mPrewarmGeneration++;
+        mPrewarmLack[PrewarmRowTitle] = mPrewarmLack[PrewarmColTitle] = mPrewarmLack[PrewarmContent] = 0;
+        mAsyncPrewarmPending[PrewarmRowTitle] = mAsyncPrewarmPending[PrewarmColTitle] = mAsyncPrewarmPending[PrewarmContent] = 0;
+        mPrewarmedTableHeader = null;
+    }
 
-        /** Start layout according to trackers */
-        layoutRowTitleByTracker();
-        layoutColTitleByTracker();
-        layoutContentByTracker();
 
-        /** Add table header if needed */
-        updateTableHeader();
+    static private long getKey(int row, int col){
+        return ((long)row<<32) | (col & 0xffffffffL);
     }
-
-    private void updateRowTitle(int leftIndex, int rightIndex) {
-        //remove invisible row title
-        ArrayList<Integer> removeList = new ArrayList<Integer>();
-        for(Map.Entry<Integer,View> entry : mRowTitleTracker.entrySet()) {
-            int index = entry.getKey();
-            if(index >= leftIndex && index <= rightIndex) {
-                //visible, do nothing
-            } else {
-                pushRowTitleRecycler(entry.getValue());
-                removeList.add(entry.getKey());
-            }
-        }
-        for(int i : removeList) {
-            mRowTitleTracker.remove(i);
-        }
-        //add new row titles
-        for(int index=leftIndex; index<=rightIndex; index++) {
-            if(!mRowTitleTracker.containsKey(index)) { //not visible yet
-                View convertView = pollRowTitleRecycler();
-                View newChild = mAdapter.getRowTitleView(index, convertView, this);
-                if(newChild != convertView) {
-                    addView4RowTitle(newChild);
-                }
-                mRowTitleTracker.put(index, newChild);
-            }
-        }
+    static private Pair<Integer/*row*/, Integer/*col*/> getRowAndCol(long key) {
+        return new Pair((int)(key>>32), (int)key);
     }
 
-    private void updateColTitle(int topIndex, int bottomIndex) {
-        //remove invisible row title
-        ArrayList<Integer> removeList = new ArrayList<Integer>();
-        for(Map.Entry<Integer,View> entry : mColTitleTracker.entrySet()) {
-            int index = entry.getKey();
-            if(index >= topIndex && index <= bottomIndex) {
-                //visible, do nothing
-            } else {
-                pushColTitleRecycler(entry.getValue());
-                removeList.add(entry.getKey());
-            }
-        }
-        for(int i : removeList) {
-            mColTitleTracker.remove(i);
+    private CrossListAdapter.PayloadObserver mObserver = new CrossListAdapter.PayloadObserver() {
+        @Override
+        public void onChanged(ArrayList<Pair<Integer, Integer>> paramList) {
+            //merged cells or other placement changed, items are placed again in next layout
+            requestLayout();
         }
-        //add new row titles
-        for(int index=topIndex; index<=bottomIndex; index++) {
-            if(!mColTitleTracker.containsKey(index)) { //not visible yet
-                View convertView = pollColTitleRecycler();
-                View newChild = mAdapter.getColumnTitleView(index, convertView, this);
-                if(newChild != convertView) {
-                    addView4ColTitle(newChild);
+        @Override
+        public void onInvalidated(ArrayList<Pair<Integer, Integer>> paramList) {
+            if(paramList == null) {
+                return ;
+            }
+            beginRebind();
+            try {
+                for(Pair<Integer, Integer> entry : paramList) {
+                    if(entry.first >= 0 && entry.second >= 0) {
+                        //a full bind covers pending payloads
+                        mPendingPayloads.remove(getAnchorKey(entry.first, entry.second));
+                    }
+                    rebindItem(entry.first, entry.second);
                 }
-                mColTitleTracker.put(index, newChild);
+            } finally {
+                endRebind();
             }
         }
-    }
-
-    /** update content, params shows the current visible bound by index*/
-    private void updateContentView(int leftIndex, int topIndex, int rightIndex, int bottomIndex) {
-        //remove invis children
-        ArrayList<Integer> removeList = new ArrayList<Integer>();
-        for(Map.Entry<Integer, View> entry : mContentTracker.entrySet()) {
-            Pair<Integer, Integer> rowAndCol = getRowAndCol(entry.getKey());
-            if(rowAndCol.first>=topIndex && rowAndCol.first<=bottomIndex && rowAndCol.second>=leftIndex && rowAndCol.second<=rightIndex ) {
-                //visible, do nothing
-            } else {
-                //invisible, remove
-                pushContentRecycler(entry.getValue());
-                removeList.add(entry.getKey());
+        @Override
+        public void onInvalidated(ArrayList<Pair<Integer, Integer>> paramList, Object payload) {
+            if(paramList == null) {
+                return ;
             }
-        }
-        for(int key : removeList) {
-            mContentTracker.remove(key);
-        }
-        //add children
-        for(int col=leftIndex;col<=rightIndex;col++) {
-            for(int row=topIndex;row<=bottomIndex;row++) {
-                int key = getKey(row, col);
-                View child = mContentTracker.get(key);
-                if(child == null) { //not visible yet
-                    View convertView = pollContentRecycler();
-                    child = mAdapter.getContentView(row, col, convertView, this);
-                    if (child != convertView) {//new view, add and measure
-                        addView4Content(child);
+            if(payload == null) {
+                onInvalidated(paramList);
+                return ;
+            }
+            ArrayList<Pair<Integer, Integer>> titleList = null;
+            for(Pair<Integer, Integer> entry : paramList) {
+                if(entry.first < 0 || entry.second < 0) {
+                    //titles have no partial bind
+                    if(titleList == null) {
+                        titleList = new ArrayList<Pair<Integer, Integer>>();
                     }
-                    mContentTracker.put(key, child);
+                    titleList.add(entry);
+                    continue;
+                }
+                long key = getAnchorKey(entry.first, entry.second);
+                ArrayList<Object> payloads = mPendingPayloads.get(key);
+                if(payloads == null) {
+                    payloads = new ArrayList<Object>(2);
+                    mPendingPayloads.put(key, payloads);
+                }
+                if(!payloads.contains(payload)) {
+                    payloads.add(payload);
                 }
             }
-        }
-    }
-
-    /** layout business */
-    private void layoutRowTitleByTracker() {
-        for(Map.Entry<Integer, View> entry : mRowTitleTracker.entrySet()) {
-            Rect viewRect = getViewLocByIndex(-1, entry.getKey());
-            View child = entry.getValue();
-            if(child != null) {
-                child.layout(viewRect.left, viewRect.top, viewRect.right, viewRect.bottom);
+            if(titleList != null) {
+                onInvalidated(titleList);
             }
-        }
-    }
-    private void layoutColTitleByTracker() {
-        for(Map.Entry<Integer, View> entry : mColTitleTracker.entrySet()) {
-            Rect viewRect = getViewLocByIndex(entry.getKey(), -1);
-            View child = entry.getValue();
-            if(child != null) {
-                child.layout(viewRect.left, viewRect.top, viewRect.right, viewRect.bottom);
+            if(!mIsPayloadDrainPosted && !mPendingPayloads.isEmpty()) {
+                mIsPayloadDrainPosted = true;
+                postOnAnimationCompat(mDrainPayloads);
             }
         }
-    }
-    private void layoutContentByTracker() {
-        for(Map.Entry<Integer, View> entry : mContentTracker.entrySet()) {
-            Pair<Integer, Integer> rowAndCol = getRowAndCol(entry.getKey());
-            Rect viewRect = getViewLocByIndex(rowAndCol.first, rowAndCol.second);
-            View child = entry.getValue();
-            if(child != null) {
-                child.layout(viewRect.left, viewRect.top, viewRect.right, viewRect.bottom);
+    };
+
+    /**
+     * Payloads of invalidated contents are merged by cell and drained once per frame
+     * A visible content is bound by CrossListAdapter#bindContentPayload with all its payloads,
+     * or fully rebound if the adapter refuses them
+     * @see CrossListAdapter#notifyDataSetInvalidated(ArrayList, Object)
+     */
+    private HashMap<Long, ArrayList<Object>> mPendingPayloads = new HashMap<Long, ArrayList<Object>>();
+    private boolean mIsPayloadDrainPosted = false;
+    private Runnable mDrainPayloads = new Runnable() {
+        @Override
+        public void run() {
+            mIsPayloadDrainPosted = false;
+            if(mAdapter == null || mPendingPayloads.isEmpty()) {
+                return ;
+            }
+            HashMap<Long, ArrayList<Object>> pending = mPendingPayloads;
+            mPendingPayloads = new HashMap<Long, ArrayList<Object>>();
+            beginRebind();
+            try {
+                for(Map.Entry<Long, ArrayList<Object>> entry : pending.entrySet()) {
+                    Pair<Integer, Integer> cell = getRowAndCol(entry.getKey());
+                    //the content changed, a scrapped view showing it is stale
+                    forgetScrapIdAt(cell.first, cell.second);
+                    View child = mContentTracker.get(entry.getKey());
+                    if(child == null) {//not visible, bound freshly when it shows
+                        continue;
+                    }
+                    if(mAdapter.bindContentPayload(cell.first, cell.second, child, entry.getValue())) {
+                        //measure and lay out the bound child in place, as #rebindItem does
+                        Rect bound = getContentIndexBound(entry.getKey(), mSpanBound);
+                        relayoutInPlace(child, getContentWidthSpec(bound), getContentHeightSpec(bound));
+                        onSnapshotItemBound(bound.top, bound.left);
+                    } else {
+                        rebindItem(cell.first, cell.second);
+                    }
+                }
+            } finally {
+                endRebind();
             }
         }
-    }
+    };
 
     /**
-     * Override {#dispatchTouchEvent} to prevent that children's
-     * {#onTouch} might return true and invalidate the parent's touch events
+     * Rebind a visible item in place
+     * Calls must be wrapped by #beginRebind and #endRebind
+     * @param row row index, -1 for row titles
+     * @param col column index, -1 for column titles
      */
-    @Override
-    public boolean dispatchTouchEvent(MotionEvent event) {
-        if(onTouch(event) == false) {
-            return super.dispatchTouchEvent(event);
+    private boolean mRebindNeedLayout = false;
+    private void rebindItem(int row, int col) {
+        if(row < 0) {
+            View convertView = mRowTitleTracker.get(col);
+            if(convertView != null) {
+                View child = mAdapter.getRowTitleView(col, convertView, CrossList.this);
+                if(child == convertView) {
+                    relayoutInPlace(child, getRowTitleWidthSpec(col), mRowTitleHeightSpec);
+                } else {
+                    //a new view is returned, replace the old one in next layout
+                    addView4RowTitle(child, col);
+                    pushRowTitleRecycler(convertView);
+                    mRowTitleTracker.put(col, child);
+                    mRebindNeedLayout = true;
+                }
+            }
+        } else if(col < 0) {
+            View convertView = mColTitleTracker.get(row);
+            if(convertView != null) {
+                View child = mAdapter.getColumnTitleView(row, convertView, CrossList.this);
+                if(child == convertView) {
+                    relayoutInPlace(child, mColTitleWidthSpec, getColTitleHeightSpec(row));
+                } else {
+                    addView4ColTitle(child, row);
+                    pushColTitleRecycler(convertView);
+                    mColTitleTracker.put(row, child);
+                    mRebindNeedLayout = true;
+                }
+            }
         } else {
-            return true;
+            //a merged item is bound by its top-left cell
+            Rect indexBound = getContentIndexBound(getAnchorKey(row, col), mSpanBound);
+            long key = getKey(indexBound.top, indexBound.left);
+            forgetScrapIdAt(indexBound.top, indexBound.left);
+            View convertView = mContentTracker.get(key);
+            if(convertView != null) {
+                View child = mAdapter.getContentView(indexBound.top, indexBound.left, convertView, CrossList.this);
+                if(mAdapter.hasStableIds()) {
+                    rememberContentViewId(child, mAdapter.getContentItemId(indexBound.top, indexBound.left));
+                }
+                if(child == convertView) {
+                    relayoutInPlace(child, getContentWidthSpec(indexBound), getContentHeightSpec(indexBound));
+                } else {
+                    addView4Content(child, indexBound);
+                    //it still shows the stale content
+                    forgetContentViewId(convertView);
+                    pushContentRecycler(convertView);
+                    mContentTracker.put(key, child);
+                    mRebindNeedLayout = true;
+                }
+                onSnapshotItemBound(indexBound.top, indexBound.left);
+            }
         }
     }
-    private Pair<Integer/*row*/, Integer/*col*/> getIndexByPoint(int x, int y) {
-        int row = -1, col = -1;
-        Rect indexBound = getVisibleBoundIndex();
-        int left = getViewLocByIndex(-1, indexBound.left).left;
-        int right = getViewLocByIndex(-1, indexBound.right).right;
-        int top = getViewLocByIndex(indexBound.top, -1).top;
-        int bottom = getViewLocByIndex(indexBound.bottom, -1).bottom;
-
-        col = indexBound.left + (int)((x-left)*1.f/(right-left)*mRowTitleTracker.size());
-        row = indexBound.top + (int)((y-top)*1.f/(bottom-top)*mColTitleTracker.size());
-        //Deal with the clip of (rowTitle vs. topItem) or (colTitle vs. leftItem)
-        Rect viewLeftTop = getViewLocByIndex(-1, -1);
-        if(x < viewLeftTop.right) {
-            col = -1;
-        }
-        if(y < viewLeftTop.bottom) {
-            row = -1;
-        }
-        return new Pair(row, col);
+    private void beginRebind() {
+        mRebindNeedLayout = false;
+        mBlockLayoutRequests = true;
     }
-
-    private boolean onTouch(MotionEvent event) {
-        if(mDisableTouch) { //Block touch events when bouncing
-            return false;
-        }
-        if(event.getAction() == MotionEvent.ACTION_UP) {
-            mIsTouchScrolling = false;
-            mHasTouchRelease = true;
+    private void endRebind() {
+        mBlockLayoutRequests = false;
+        mRowTitleStrip.settle();
+        mColTitleStrip.settle();
+        mContentStrip.settle();
+        if(mRebindNeedLayout) {
             requestLayout();
         }
-        if(mGestureDetector != null) {
-            return mGestureDetector.onTouchEvent(event);
-        }
-        return false;
     }
-    private  GestureDetector.OnGestureListener mListener = new GestureDetector.OnGestureListener() {
-        @Override
-        public boolean onDown(MotionEvent e) {
-            return true;
-        }
-
-        @Override
-        public void onShowPress(MotionEvent e) {
-
-        }
 
+    /**
+     * Dirty cells of a PrimitiveGridAdapter are drained once per frame, only the visible
+     * part is rebound, the rest will be bound when it shows
+     * @see PrimitiveGridAdapter
+     */
+    private boolean mIsDirtyDrainPosted = false;
+    private PrimitiveGridAdapter.OnDirtyListener mDirtyListener = new PrimitiveGridAdapter.OnDirtyListener() {
         @Override
-        public boolean onSingleTapUp(MotionEvent e) {
-            if(mItemClickListener == null) {
-                return false;
-            }
-            Pair<Integer, Integer> rowAndCol = getIndexByPoint((int)e.getX(), (int)e.getY());
-            if(rowAndCol.first < 0) {
-                mItemClickListener.onRowTitleClicked(CrossList.this, rowAndCol.second);
-            } else if(rowAndCol.second < 0) {
-                mItemClickListener.onColumnTitleClicked(CrossList.this, rowAndCol.first);
-            } else {
-                mItemClickListener.onContentItemClicked(CrossList.this, rowAndCol.first, rowAndCol.second);
+        public void onDirty(PrimitiveGridAdapter adapter) {
+            if(!mIsDirtyDrainPosted) {
+                mIsDirtyDrainPosted = true;
+                postOnAnimationCompat(mDrainDirtyCells);
             }
-            //Don't catch click event
-            return false;
         }
-
+    };
+    private PrimitiveGridAdapter.DirtyCellVisitor mDirtyCellVisitor = new PrimitiveGridAdapter.DirtyCellVisitor() {
         @Override
-        public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
-            mIsTouchScrolling = true;
-            pushBouncyScroll(mContentOriginPoint, distanceX, distanceY, mMaxOverScrollX, mMaxOverScrollY);
-            mTitleOriginPoint.set(mContentOriginPoint.x, mContentOriginPoint.y);
-            fixBound(mTitleOriginPoint);
-            requestLayout();
-            return true;
+        public void onDirtyCell(int row, int col) {
+            rebindItem(row, col);
         }
-
+    };
+    /** Dirty cells out of the viewport, only scrapped views showing them are stale */
+    private PrimitiveGridAdapter.DirtyCellVisitor mDirtyScrapVisitor = new PrimitiveGridAdapter.DirtyCellVisitor() {
         @Override
-        public void onLongPress(MotionEvent e) {
-
+        public void onDirtyCell(int row, int col) {
+            //a merged item is shown by its anchor
+            long key = getAnchorKey(row, col);
+            forgetScrapIdAt((int)(key>>32), (int)key);
         }
-
+    };
+    private Runnable mDrainDirtyCells = new Runnable() {
         @Override
-        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-            //Fix speed to avoid unnecessary fling
-            double velocity = Math.sqrt(velocityX*velocityX+velocityY*velocityY);
-            if(velocity<1000) {
-                return true;
+        public void run() {
+            mIsDirtyDrainPosted = false;
+            if(!(mAdapter instanceof PrimitiveGridAdapter)) {
+                return ;
             }
-            if(velocity>6000) {
-                float decrease = (float)(6000.0/velocity);
-                velocityX *= decrease;
-                velocityY *= decrease;
+            PrimitiveGridAdapter adapter = (PrimitiveGridAdapter)mAdapter;
+            beginRebind();
+            try {
+                adapter.drainDirtyCells(getVisibleBoundIndex(), mDirtyCellVisitor);
+                if(mSnapTargetBound != null) {
+                    adapter.drainDirtyCells(mSnapTargetBound, mDirtyCellVisitor);
+                }
+                //dirty cells out of the viewport are bound when they show
+                if(mContentScrapById.isEmpty()) {
+                    adapter.clearDirtyCells();
+                } else {
+                    adapter.drainAllDirtyCells(mDirtyScrapVisitor);
+                }
+            } finally {
+                endRebind();
             }
-            startFling((int) velocityX, (int) velocityY);
-            return true;
         }
     };
-    /**
-     * Gesture Dealing: Only for scroll and fling
-     */
-    private GestureDetector mGestureDetector = new GestureDetector(mListener);
 
     /**
-     * Get the over-scroll distance( >=0 ) for a given origin point
-     * @param originPoint the given origin point
-     * @return rect.left for left over scroll.Positive if over-scrolled, negative not
+     * Layout requests of children are blocked while they are rebound by #mObserver,
+     * so that rebinding a cell doesn't run the whole #onLayout
      */
-    private Rect mOverRect = new Rect();
-    public Rect getOverScrollRect(Point originPoint) {
-        Rect scrollBound = getScrollBound();
-        mOverRect.left = originPoint.x - scrollBound.left;
-        mOverRect.top = originPoint.y - scrollBound.top;
-        mOverRect.right = -originPoint.x-scrollBound.right;
-        mOverRect.bottom = -originPoint.y-scrollBound.bottom;
-        return mOverRect;
+    private boolean mBlockLayoutRequests = false;
+
+    @Override
+    public void requestLayout() {
+        if(!mBlockLayoutRequests) {
+            super.requestLayout();
+        }
     }
 
     /**
-     * The direction of over-scroll views
-     * OVER_SCROLL_LEFT means the view shows when drag left too much
+     * Re-measure and re-layout a rebound child within its current frame,
+     * only the child's own rect is invalidated
      */
-    static public final int OVER_SCROLL_LEFT = 0;
-    static public final int OVER_SCROLL_TOP = 1;
-    static public final int OVER_SCROLL_RIGHT = 2;
-    static public final int OVER_SCROLL_BOTTOM = 3;
-    private View[] mOverScrollViews = {null, null, null, null};
-    private void layoutOverScrollView(int type) {
-        if(type < 0 || type >= mOverScrollViews.length) {
+    private void relayoutInPlace(View child, int widthMeasureSpec, int heightMeasureSpec) {
+        if(!child.isLayoutRequested()) {
             return ;
         }
-        View view = mOverScrollViews[type];
-        if(view == null) {
-            return ;
-        }
-        int viewWidth = view.getMeasuredWidth();
-        int viewHeight = view.getMeasuredHeight();
-        Rect tableHead = getViewLocByIndex(-1, -1);
-        Rect leftTopContent = getViewLocByIndex(0, 0);
-        Rect rightBottomContent = getViewLocByIndex(mAdapter.getRowCount() - 1, mAdapter.getColumnCount() - 1);
-        int top = 0,left = 0;
-        switch(type) {
-            case OVER_SCROLL_LEFT:
-                top = tableHead.bottom;
-                left = leftTopContent.left - viewWidth;
-                break;
-            case OVER_SCROLL_TOP:
-                top = leftTopContent.top - viewHeight;
-                left = tableHead.right;
-                break;
-            case OVER_SCROLL_RIGHT:
-                top = tableHead.bottom;
-                left = rightBottomContent.right;
-                break;
-            case OVER_SCROLL_BOTTOM:
-                top = rightBottomContent.bottom;
-                left = tableHead.right;
-                break;
+        child.measure(widthMeasureSpec, heightMeasureSpec);
+        child.layout(child.getLeft(), child.getTop(), child.getRight(), child.getBottom());
+        child.invalidate();
+    }
+    /**
+     * Data source of current adapter, CrossList listens to it for data loaded asynchronously
+     * @see CrossListAdapter#getDataSource()
+     */
+    private GridDataSource mDataSource = null;
+    private GridDataSource.OnDataReadyListener mDataReadyListener = new GridDataSource.OnDataReadyListener() {
+        @Override
+        public void onDataReady(GridDataSource source, Rect indexBound) {
+            if(mAdapter != null && (mAdapter.getRowCount() != mRowMask.size()
+                    || mAdapter.getColumnCount() != mColumnMask.size())) {
+                //the grid grew or shrank, such as rows appended to a file
+                onGridSizeChanged();
+            }
+            //scrapped views out of the viewport might show items of the ready bound
+            forgetScrapIds();
+            //rebind visible contents in the ready bound
+            ArrayList<Pair<Integer, Integer>> refreshList = new ArrayList<Pair<Integer, Integer>>();
+            for(long key : mContentTracker.keySet()) {
+                Rect itemBound = getContentIndexBound(key, mSpanBound);
+                if(itemBound.top <= indexBound.bottom && itemBound.bottom >= indexBound.top
+                        && itemBound.left <= indexBound.right && itemBound.right >= indexBound.left) {
+                    refreshList.add(getRowAndCol(key));
+                }
+            }
+            if(!refreshList.isEmpty()) {
+                mObserver.onInvalidated(refreshList);
+            }
+        }
+    };
+    /** Row or column count of the adapter changed without a refresh, items in place are kept */
+    private void onGridSizeChanged() {
+        syncMasks();
+        if(isAutoSizeEnabled()) {
+            //new items are estimated until measured
+            startMeasureSizes();
+        }
+        //the scroll bound changed, the origin might be out of it
+        onPlacementChanged(0, 0);
+    }
+    private void bindDataSource(GridDataSource dataSource) {
+        if(dataSource == mDataSource) {
+            return ;
+        }
+        if(mDataSource != null) {
+            mDataSource.removeOnDataReadyListener(mDataReadyListener);
+        }
+        mDataSource = dataSource;
+        if(mDataSource != null) {
+            mDataSource.addOnDataReadyListener(mDataReadyListener);
+        }
+    }
+
+    private CrossListAdapter mAdapter = null;
+    public void setAdapter(CrossListAdapter adapter) {
+        if(mAdapter != null) {
+            mAdapter.removeDataSetObserver(mObserver);
+            if(mAdapter instanceof PrimitiveGridAdapter) {
+                ((PrimitiveGridAdapter)mAdapter).setOnDirtyListener(null);
+            }
+        }
+        bindDataSource(null);
+        if(adapter != mAdapter) {
+            //masks and ids belong to the old adapter
+            mRowMask.clear();
+            mColumnMask.clear();
+            mContentViewIds.clear();
+            mContentScrapById.clear();
+            mContentStaleScrap.clear();
+            mPendingPayloads.clear();
+            mMeasureGeneration++;
+            if(isAutoSizeEnabled()) {
+                resetSizes();
+            }
+            //matches belong to the old adapter
+            clearSearch();
+        }
+        mAdapter = adapter;
+        if(mAdapter != null) {
+            mAdapter.addDataSetObserver(mObserver);
+            if(mAdapter instanceof PrimitiveGridAdapter) {
+                //all items are bound freshly by refreshView
+                ((PrimitiveGridAdapter)mAdapter).clearDirtyCells();
+                ((PrimitiveGridAdapter)mAdapter).setOnDirtyListener(mDirtyListener);
+            }
         }
-        view.layout(left, top, left+viewWidth, top+viewHeight);
+        refreshView();
+    }
+    public CrossListAdapter getAdapter() {
+        return mAdapter;
     }
+
     /**
-     * Set a over-scroll view to crossList
-     * @param view the over-scroll view
-     * @param type index like #OVER_SCROLL_LEFT
+     * Destroy the original cross list and recreate
+     * This method is quite expensive
+     * Try to use adapter.notifyDataSetInvalidate if just need to refresh some items
      */
-    private LinkedList<Pair<Integer, View>> mOverScrollViewStack = new LinkedList<Pair<Integer, View>>();
-    public void setOverScrollView(View view, int type) {
-        mOverScrollViewStack.push(new Pair(type, view));
-        if(type < 0 || type >= mOverScrollViews.length) {
+    public void refreshView() {
+        if(mAdapter == null) {
             return ;
         }
+        //clear previous cache
+        cancelPrewarm();
+        //all items are bound freshly
+        mPendingPayloads.clear();
+        startMeasureSizes();
+        mTableHeader = null;
+        mRowTitleTracker.clear();
+        mColTitleTracker.clear();
+        mRowTitleRecycler.clear();
+        mColTitleRecycler.clear();
+        //with stable ids, content views are kept as scrap of their items and bound again on reuse
+        boolean keepContents = mAdapter.hasStableIds() && !mContentViewIds.isEmpty();
+        if(keepContents) {
+            for(View child : mContentTracker.values()) {
+                pushContentRecycler(child);
+            }
+            mContentStaleScrap.addAll(mContentScrapById.values());
+        } else {
+            mContentRecycler.clear();
+            mContentViewIds.clear();
+            mContentScrapById.clear();
+            mContentStaleScrap.clear();
+        }
+        mContentTracker.clear();
+        mScrollBound = null;
+        this.removeAllViewsInLayout();
+        mRowTitleStrip.removeAllViewsInLayout();
+        mColTitleStrip.removeAllViewsInLayout();
+        if(!keepContents) {
+            mContentStrip.removeAllViewsInLayout();
+        }
+        addStrips();
+
+        for(int i=0;i<mOverScrollViews.length;i++) {
+            if(mOverScrollViews[i] != null) {
+                setOverScrollView(mOverScrollViews[i], i);
+            }
+        }
+        mFlingStack = 0;
+        mTitleOriginPoint = new LongPoint();
+        mContentOriginPoint = new LongPoint();
+        mLocalOrigin = new LongPoint();
+        mPendingScroll = null;
+        mDisableTouch = false;
+        mIsTouchScrolling = false;
+        mHasTouchRelease = false;
+        cancelSprings();
+        cancelSnapFling();
+        mBounceEnable = true;
+        if(mSnapshot != null) {
+            //origins are reset, go back to the snapshot
+            mSnapshotOriginPending = true;
+        }
+        requestLayout();
     }
-    private void updateOverScrollViews() {
-        for(Pair<Integer, View> entry : mOverScrollViewStack) {
-            int type = entry.first;
-            View view = entry.second;
-            if(view != null) {
-                if(mOverScrollViews[type] != null) {
-                    removeViewInLayout(mOverScrollViews[type]);
+
+    public CrossList(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        TypedArray ary = context.obtainStyledAttributes(attrs, R.styleable.CrossList);
+        mRowTitleWidth = (int)ary.getDimension(R.styleable.CrossList_rowTitleWidth, mRowTitleWidth);
+        mRowTitleHeight = (int)ary.getDimension(R.styleable.CrossList_rowTitleHeight, mRowTitleHeight);
+        mColumnTitleWidth = (int)ary.getDimension(R.styleable.CrossList_columnTitleWidth, mColumnTitleWidth);
+        mColumnTitleHeight = (int)ary.getDimension(R.styleable.CrossList_columnTitleHeight, mColumnTitleHeight);
+
+        mRowTitleShadowSize = (int)ary.getDimension(R.styleable.CrossList_rowTitleShadowSize, mRowTitleShadowSize);
+        mColTitleShadowSize = (int)ary.getDimension(R.styleable.CrossList_columnTitleShadowSize, mColTitleShadowSize);
+        mRowTitleShadowRes = ary.getResourceId(R.styleable.CrossList_rowTitleShadowRes, 0);
+        mColTitleShadowRes = ary.getResourceId(R.styleable.CrossList_columnTitleShadowRes, 0);
+        mTableHeadBottomShadowRes = ary.getResourceId(R.styleable.CrossList_tableHeadBottomShadowRes, 0);
+        mTableHeadRightShadowRes = ary.getResourceId(R.styleable.CrossList_tableHeadRightShadowRes, 0);
+        boolean autoSize = ary.getBoolean(R.styleable.CrossList_autoSize, false);
+
+        ary.recycle();
+        updateMeasureSpecs();
+        initStrips();
+        setAutoSizeEnabled(autoSize);
+    }
+    public CrossList(Context context) {
+        super(context);
+        updateMeasureSpecs();
+        initStrips();
+    }
+
+    public CrossList(Context context, int rowTitleWidth, int rowTitleHeight, int colTitleWidth, int colTitleHeight) {
+        super(context);
+        mRowTitleWidth = rowTitleWidth;
+        mRowTitleHeight = rowTitleHeight;
+        mColumnTitleWidth = colTitleWidth;
+        mColumnTitleHeight = colTitleHeight;
+        updateMeasureSpecs();
+        initStrips();
+    }
+
+    private void updateMeasureSpecs() {
+        mRowTitleWidthSpec = MeasureSpec.makeMeasureSpec(mRowTitleWidth, MeasureSpec.EXACTLY);
+        mRowTitleHeightSpec = MeasureSpec.makeMeasureSpec(mRowTitleHeight, MeasureSpec.EXACTLY);
+        mColTitleWidthSpec = MeasureSpec.makeMeasureSpec(mColumnTitleWidth, MeasureSpec.EXACTLY);
+        mColTitleHeightSpec = MeasureSpec.makeMeasureSpec(mColumnTitleHeight, MeasureSpec.EXACTLY);
+        mContentWidthSpec = MeasureSpec.makeMeasureSpec(mRowTitleWidth, MeasureSpec.EXACTLY);
+        mContentHeightSpec = MeasureSpec.makeMeasureSpec(mColumnTitleHeight, MeasureSpec.EXACTLY);
+    }
+
+    /**
+     * Measure CrossList itself; wrap_content means the whole table with titles
+     * Children which requested layout after rebinding are re-measured here too
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        long desiredWidth = getPaddingLeft() + getPaddingRight() + mColumnTitleWidth;
+        long desiredHeight = getPaddingTop() + getPaddingBottom() + mRowTitleHeight;
+        if(mAdapter != null) {
+            desiredWidth += getLogicalWidth();
+            desiredHeight += getLogicalHeight();
+        }
+        desiredWidth = Math.max(Math.min(desiredWidth, MaxMeasuredSize), getSuggestedMinimumWidth());
+        desiredHeight = Math.max(Math.min(desiredHeight, MaxMeasuredSize), getSuggestedMinimumHeight());
+        setMeasuredDimension(resolveSize((int)desiredWidth, widthMeasureSpec),
+                resolveSize((int)desiredHeight, heightMeasureSpec));
+
+        Rect headRect = getViewLocByIndex(-1, -1);
+        int stripRight = getMeasuredWidth() - getPaddingRight();
+        int stripBottom = getMeasuredHeight() - getPaddingBottom();
+        measureStrip(mRowTitleStrip, stripRight - headRect.right, headRect.height());
+        measureStrip(mColTitleStrip, headRect.width(), stripBottom - headRect.bottom);
+        measureStrip(mContentStrip, stripRight - headRect.right, stripBottom - headRect.bottom);
+
+        for(Map.Entry<Integer, View> entry : mRowTitleTracker.entrySet()) {
+            measureIfDirty(entry.getValue(), getRowTitleWidthSpec(entry.getKey()), mRowTitleHeightSpec);
+        }
+        for(Map.Entry<Integer, View> entry : mColTitleTracker.entrySet()) {
+            measureIfDirty(entry.getValue(), mColTitleWidthSpec, getColTitleHeightSpec(entry.getKey()));
+        }
+        for(Map.Entry<Long, View> entry : mContentTracker.entrySet()) {
+            measureContentIfDirty(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        //scroll bound depends on the size of CrossList
+        mScrollBound = null;
+        mScreenViewCount = 0;
+    }
+
+    private void measureStrip(StripContainer strip, int width, int height) {
+        strip.measure(MeasureSpec.makeMeasureSpec(Math.max(0, width), MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(Math.max(0, height), MeasureSpec.EXACTLY));
+    }
+
+    /** Place strips around the table head and scroll them to the current origin points */
+    private void layoutStrips() {
+        Rect headRect = getViewLocByIndex(-1, -1);
+        int stripRight = Math.max(headRect.right, getMeasuredWidth() - getPaddingRight());
+        int stripBottom = Math.max(headRect.bottom, getMeasuredHeight() - getPaddingBottom());
+        mRowTitleStrip.layout(headRect.right, headRect.top, stripRight, headRect.bottom);
+        mColTitleStrip.layout(headRect.left, headRect.bottom, headRect.right, stripBottom);
+        mContentStrip.layout(headRect.right, headRect.bottom, stripRight, stripBottom);
+        mRowTitleStrip.setOffset((int)(-mTitleOriginPoint.x - mLocalOrigin.x), 0);
+        mColTitleStrip.setOffset(0, (int)(-mTitleOriginPoint.y - mLocalOrigin.y));
+        mContentStrip.setOffset((int)(-mContentOriginPoint.x - mLocalOrigin.x),
+                (int)(-mContentOriginPoint.y - mLocalOrigin.y));
+    }
+
+    /**
+     * Move the local origin to the current scroll position if strips scrolled too far,
+     * children will be laid out again relative to the new local origin
+     */
+    private void rebaseLocalOrigin() {
+        if(Math.abs(-mContentOriginPoint.x - mLocalOrigin.x) > RebaseDistance) {
+            mLocalOrigin.x = -mContentOriginPoint.x;
+        }
+        if(Math.abs(-mContentOriginPoint.y - mLocalOrigin.y) > RebaseDistance) {
+            mLocalOrigin.y = -mContentOriginPoint.y;
+        }
+    }
+
+    /**
+     * Logical position of content items, without scrolling
+     * Items are placed by their display indexes, a hidden item has no size
+     */
+    private long getLogicalLeft(int col) {
+        if(mColumnSizes != null) {
+            return mColumnSizes.offsetOf(col);
+        }
+        return (long)mRowTitleWidth * mColumnMask.rank(col);
+    }
+    private long getLogicalTop(int row) {
+        if(mRowSizes != null) {
+            return mRowSizes.offsetOf(row);
+        }
+        return (long)mColumnTitleHeight * mRowMask.rank(row);
+    }
+    private long getLogicalWidth() {
+        if(mColumnSizes != null) {
+            syncMasks();
+            return mColumnSizes.getTotal();
+        }
+        return (long)mRowTitleWidth * getDisplayColumnCount();
+    }
+    private long getLogicalHeight() {
+        if(mRowSizes != null) {
+            syncMasks();
+            return mRowSizes.getTotal();
+        }
+        return (long)mColumnTitleHeight * getDisplayRowCount();
+    }
+    private int getColumnWidth(int col) {
+        return mColumnSizes != null ? mColumnSizes.getSize(col) : mRowTitleWidth;
+    }
+    private int getRowHeight(int row) {
+        return mRowSizes != null ? mRowSizes.getSize(row) : mColumnTitleHeight;
+    }
+
+    /**
+     * @return adapter index of the column at a logical position, hidden columns are passed over
+     */
+    private int getColumnAtLogical(long x) {
+        if(mColumnSizes != null) {
+            return mColumnSizes.indexAt(x);
+        }
+        return getColumnAtDisplay((int)Math.floor(x * 1.0 / mRowTitleWidth));
+    }
+    private int getRowAtLogical(long y) {
+        if(mRowSizes != null) {
+            return mRowSizes.indexAt(y);
+        }
+        return getRowAtDisplay((int)Math.floor(y * 1.0 / mColumnTitleHeight));
+    }
+
+    private int getRowTitleWidthSpec(int col) {
+        if(mColumnSizes == null) {
+            return mRowTitleWidthSpec;
+        }
+        return MeasureSpec.makeMeasureSpec(Math.min(getColumnWidth(col), MaxMeasuredSize), MeasureSpec.EXACTLY);
+    }
+    private int getColTitleHeightSpec(int row) {
+        if(mRowSizes == null) {
+            return mColTitleHeightSpec;
+        }
+        return MeasureSpec.makeMeasureSpec(Math.min(getRowHeight(row), MaxMeasuredSize), MeasureSpec.EXACTLY);
+    }
+
+    /**
+     * Visibility mask business
+     * Rows and columns could be hidden without touching the index space of the adapter:
+     * trackers stay keyed by adapter indexes, and only positions come from display indexes,
+     * so toggling a row shifts the children after it and removes its own children
+     * @see IndexMask
+     */
+    private IndexMask mRowMask = new IndexMask(0);
+    private IndexMask mColumnMask = new IndexMask(0);
+
+    private void syncMasks() {
+        if(mAdapter != null) {
+            mRowMask.resize(mAdapter.getRowCount());
+            mColumnMask.resize(mAdapter.getColumnCount());
+            if(mRowSizes != null) {
+                mRowSizes.resize(mAdapter.getRowCount());
+            }
+            if(mColumnSizes != null) {
+                mColumnSizes.resize(mAdapter.getColumnCount());
+            }
+        }
+    }
+
+    public void setRowVisible(int row, boolean visible) {
+        setRowsVisible(row, 1, visible);
+    }
+    public void setColumnVisible(int col, boolean visible) {
+        setColumnsVisible(col, 1, visible);
+    }
+
+    /**
+     * Show or hide rows [start, start + count), such as collapsing a week
+     * Rows above the viewport change the scroll position too, so the visible rows stay in place
+     */
+    public void setRowsVisible(int start, int count, boolean visible) {
+        if(mAdapter == null) {
+            return ;
+        }
+        syncMasks();
+        long viewportTop = -mContentOriginPoint.y;
+        long shift = 0;
+        int end = (int)Math.min((long)start + count, mAdapter.getRowCount());
+        for(int row=Math.max(0, start);row<end;row++) {
+            //rows toggled before moved the viewport top by shift
+            boolean above = getLogicalTop(row) < viewportTop + shift;
+            if(!mRowMask.setVisible(row, visible)) {
+                continue;
+            }
+            if(mRowSizes != null) {
+                mRowSizes.onVisibilityChanged(row);
+            }
+            if(above) {
+                shift += visible ? getRowHeight(row) : -getRowHeight(row);
+            }
+        }
+        onPlacementChanged(0, -shift);
+    }
+    public void setColumnsVisible(int start, int count, boolean visible) {
+        if(mAdapter == null) {
+            return ;
+        }
+        syncMasks();
+        long viewportLeft = -mContentOriginPoint.x;
+        long shift = 0;
+        int end = (int)Math.min((long)start + count, mAdapter.getColumnCount());
+        for(int col=Math.max(0, start);col<end;col++) {
+            //columns toggled before moved the viewport left by shift
+            boolean before = getLogicalLeft(col) < viewportLeft + shift;
+            if(!mColumnMask.setVisible(col, visible)) {
+                continue;
+            }
+            if(mColumnSizes != null) {
+                mColumnSizes.onVisibilityChanged(col);
+            }
+            if(before) {
+                shift += visible ? getColumnWidth(col) : -getColumnWidth(col);
+            }
+        }
+        onPlacementChanged(-shift, 0);
+    }
+
+    /** Show all rows and columns */
+    public void clearVisibilityMasks() {
+        mRowMask.clear();
+        mColumnMask.clear();
+        if(mRowSizes != null) {
+            mRowSizes.rebuild();
+        }
+        if(mColumnSizes != null) {
+            mColumnSizes.rebuild();
+        }
+        onPlacementChanged(0, 0);
+    }
+
+    /** Positions of items changed, the origin is shifted to keep the viewport on the same items */
+    private void onPlacementChanged(long originShiftX, long originShiftY) {
+        mScrollBound = null;
+        //a running bounce springs to the same place on the moved items
+        if(mSpringX.isRunning) {
+            mSpringX.position += originShiftX;
+            mSpringX.target += originShiftX;
+        }
+        if(mSpringY.isRunning) {
+            mSpringY.position += originShiftY;
+            mSpringY.target += originShiftY;
+        }
+        mContentOriginPoint.x += originShiftX;
+        mContentOriginPoint.y += originShiftY;
+        fixBound(mContentOriginPoint);
+        mTitleOriginPoint.set(mContentOriginPoint.x, mContentOriginPoint.y);
+        fixBound(mTitleOriginPoint);
+        requestLayout();
+        if(mGroup != null) {
+            //not a move by the user, the driver keeps driving
+            mGroup.onPlacementChanged(this);
+        }
+    }
+
+    public boolean isRowVisible(int row) {
+        return mRowMask.isVisible(row);
+    }
+    public boolean isColumnVisible(int col) {
+        return mColumnMask.isVisible(col);
+    }
+
+    /** Count of rows and columns shown */
+    public int getDisplayRowCount() {
+        if(mAdapter == null) {
+            return 0;
+        }
+        syncMasks();
+        return mRowMask.getVisibleCount();
+    }
+    public int getDisplayColumnCount() {
+        if(mAdapter == null) {
+            return 0;
+        }
+        syncMasks();
+        return mColumnMask.getVisibleCount();
+    }
+
+    /**
+     * Map an adapter index to its display index, that is the count of shown indexes before it
+     */
+    public int getDisplayRow(int row) {
+        return mRowMask.rank(row);
+    }
+    public int getDisplayColumn(int col) {
+        return mColumnMask.rank(col);
+    }
+
+    /**
+     * Map a display index back to its adapter index
+     */
+    public int getRowAtDisplay(int displayRow) {
+        return mRowMask.select(displayRow);
+    }
+    public int getColumnAtDisplay(int displayCol) {
+        return mColumnMask.select(displayCol);
+    }
+
+    /**
+     * Auto-size business
+     * Column widths and row heights come from CrossListAdapter#measureColumnWidth and
+     * #measureRowHeight in a background thread, chunk by chunk from the visible window on;
+     * unmeasured items take the rowTitleWidth/columnTitleHeight attributes as estimates, and
+     * measured chunks are queued and applied in the main thread once per frame, with the item at
+     * the viewport top-left kept in place
+     * @see SizeIndex
+     */
+    private static final int MeasureChunk = 16;
+    private SizeIndex mRowSizes = null;
+    private SizeIndex mColumnSizes = null;
+    private volatile int mMeasureGeneration = 0;
+    private volatile int mMeasureFocusRow = 0;
+    private volatile int mMeasureFocusCol = 0;
+
+    /** Sizes of a measured chunk, waiting for the next frame */
+    private static class MeasuredChunk {
+        final CrossListAdapter adapter;
+        final int generation;
+        final boolean isRow;
+        final int first;
+        final int[] sizes;
+        MeasuredChunk(CrossListAdapter adapter, int generation, boolean isRow, int first, int[] sizes) {
+            this.adapter = adapter;
+            this.generation = generation;
+            this.isRow = isRow;
+            this.first = first;
+            this.sizes = sizes;
+        }
+    }
+    private ConcurrentLinkedQueue<MeasuredChunk> mMeasuredChunks = new ConcurrentLinkedQueue<MeasuredChunk>();
+    private final AtomicBoolean mIsMeasureDrainPosted = new AtomicBoolean(false);
+    private LongPoint mMeasureShift = new LongPoint();
+    /** Posted by a measuring task, schedules the drain on the next frame */
+    private Runnable mPostMeasureDrain = new Runnable() {
+        @Override
+        public void run() {
+            postOnAnimationCompat(mDrainMeasuredSizes);
+        }
+    };
+    private Runnable mDrainMeasuredSizes = new Runnable() {
+        @Override
+        public void run() {
+            //chunks queued after this are drained on a later frame
+            mIsMeasureDrainPosted.set(false);
+            ArrayList<MeasuredChunk> rows = new ArrayList<MeasuredChunk>();
+            ArrayList<MeasuredChunk> cols = new ArrayList<MeasuredChunk>();
+            MeasuredChunk chunk;
+            while((chunk = mMeasuredChunks.poll()) != null) {
+                if(chunk.generation == mMeasureGeneration && chunk.adapter == mAdapter) {
+                    (chunk.isRow ? rows : cols).add(chunk);
                 }
-                ViewGroup.LayoutParams lp;
-                if(type == OVER_SCROLL_LEFT || type == OVER_SCROLL_RIGHT) {
-                    lp = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
-                    view.measure(MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
-                            MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.AT_MOST));
-                    mMaxOverScrollX = view.getMeasuredWidth()*4;
-                } else {
-                    lp = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
-                    view.measure(MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.AT_MOST),
-                            MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-                    mMaxOverScrollY = view.getMeasuredHeight()*4;
+            }
+            mMeasureShift.set(0, 0);
+            boolean changed = applyMeasuredSizes(true, rows, mMeasureShift);
+            changed = applyMeasuredSizes(false, cols, mMeasureShift) || changed;
+            if(changed) {
+                onPlacementChanged(-mMeasureShift.x, -mMeasureShift.y);
+            }
+        }
+    };
+
+    public void setAutoSizeEnabled(boolean enabled) {
+        if(enabled == isAutoSizeEnabled()) {
+            return ;
+        }
+        if(enabled) {
+            resetSizes();
+            startMeasureSizes();
+        } else {
+            mMeasureGeneration++;
+            mRowSizes = null;
+            mColumnSizes = null;
+        }
+        if(mAdapter != null) {
+            onPlacementChanged(0, 0);
+        }
+    }
+    public boolean isAutoSizeEnabled() {
+        return mRowSizes != null;
+    }
+
+    /** Drop measured sizes, every item is estimated again */
+    private void resetSizes() {
+        mRowSizes = new SizeIndex(mRowMask, mColumnTitleHeight);
+        mColumnSizes = new SizeIndex(mColumnMask, mRowTitleWidth);
+        syncMasks();
+    }
+
+    /**
+     * Measure all rows and columns of current adapter again, previous measuring is abandoned
+     * Sizes measured before are kept until new ones arrive
+     */
+    private void startMeasureSizes() {
+        final int generation = ++mMeasureGeneration;
+        if(mAdapter == null || !isAutoSizeEnabled()) {
+            return ;
+        }
+        getWorkExecutor().execute(new MeasureTask(mAdapter, generation));
+    }
+
+    /**
+     * Measures one chunk of rows and one of columns per run, then submits itself again,
+     * so a superseded generation stops at its next run
+     */
+    private class MeasureTask implements Runnable {
+        private final CrossListAdapter mTaskAdapter;
+        private final int mGeneration;
+        private final int mRowCount;
+        private final int mColCount;
+        private final BitSet mRowsDone;
+        private final BitSet mColsDone;
+
+        MeasureTask(CrossListAdapter adapter, int generation) {
+            mTaskAdapter = adapter;
+            mGeneration = generation;
+            mRowCount = adapter.getRowCount();
+            mColCount = adapter.getColumnCount();
+            mRowsDone = new BitSet(mRowCount);
+            mColsDone = new BitSet(mColCount);
+        }
+
+        @Override
+        public void run() {
+            if(mGeneration != mMeasureGeneration) {
+                return ;
+            }
+            //rows and columns take turns, so both axes near the viewport settle early
+            boolean moreRows = measureChunk(mTaskAdapter, mGeneration, true, mRowsDone, mRowCount, mMeasureFocusRow);
+            boolean moreCols = measureChunk(mTaskAdapter, mGeneration, false, mColsDone, mColCount, mMeasureFocusCol);
+            if((moreRows || moreCols) && mGeneration == mMeasureGeneration) {
+                getWorkExecutor().execute(this);
+            }
+        }
+    }
+
+    /**
+     * Measure the first unmeasured chunk from a little before the focus, wrapping to the start
+     * Called in a worker thread
+     * @return false if the axis is all measured or measuring is abandoned
+     */
+    private boolean measureChunk(final CrossListAdapter adapter, final int generation, final boolean isRow,
+                                 BitSet done, int count, int focus) {
+        int start = done.nextClearBit(Math.max(0, focus - MeasureChunk));
+        if(start >= count) {
+            start = done.nextClearBit(0);
+        }
+        if(start >= count) {
+            return false;
+        }
+        int end = Math.min(count, start + MeasureChunk);
+        int measured = done.nextSetBit(start);
+        if(measured >= 0 && measured < end) {
+            end = measured;
+        }
+        final int first = start;
+        final int[] sizes = new int[end - start];
+        for(int i=start;i<end;i++) {
+            if(generation != mMeasureGeneration) {
+                return false;
+            }
+            sizes[i - start] = isRow ? adapter.measureRowHeight(i) : adapter.measureColumnWidth(i);
+        }
+        done.set(start, end);
+        mMeasuredChunks.offer(new MeasuredChunk(adapter, generation, isRow, first, sizes));
+        if(mIsMeasureDrainPosted.compareAndSet(false, true)) {
+            mMainHandler.post(mPostMeasureDrain);
+        }
+        return true;
+    }
+
+    /**
+     * Apply measured sizes of an axis, the origin is shifted by the change before the viewport top-left
+     * @param outShift the shift of the axis is set to it
+     * @return true if any size changed
+     */
+    private boolean applyMeasuredSizes(boolean isRow, ArrayList<MeasuredChunk> chunks, LongPoint outShift) {
+        SizeIndex index = isRow ? mRowSizes : mColumnSizes;
+        if(index == null || chunks.isEmpty()) {
+            return false;
+        }
+        syncMasks();
+        long viewport = isRow ? -mContentOriginPoint.y : -mContentOriginPoint.x;
+        int anchor = index.indexAt(Math.max(0, viewport));
+        long anchorOffset = viewport - index.offsetOf(anchor);
+        boolean changed = false;
+        for(MeasuredChunk chunk : chunks) {
+            for(int i=0;i<chunk.sizes.length;i++) {
+                //a non-positive size keeps the estimate
+                if(chunk.sizes[i] > 0 && index.setSize(chunk.first + i, chunk.sizes[i]) != 0) {
+                    changed = true;
+                }
+            }
+        }
+        if(!changed) {
+            return false;
+        }
+        long shift = index.offsetOf(anchor) + Math.min(anchorOffset, index.getSize(anchor)) - viewport;
+        if(mIsSnapFlinging) {
+            //the fling lands on the same item
+            if(isRow) {
+                mSnapStart.y -= shift;
+                mSnapTarget.y -= shift;
+            } else {
+                mSnapStart.x -= shift;
+                mSnapTarget.x -= shift;
+            }
+        }
+        if(isRow) {
+            outShift.y = shift;
+        } else {
+            outShift.x = shift;
+        }
+        return true;
+    }
+
+    /**
+     * Only children whose layout is requested or whose cell is resized need to be measured again;
+     * rebinding a child without changing its size costs no measure work
+     */
+    private void measureIfDirty(View child, int widthMeasureSpec, int heightMeasureSpec) {
+        if(child != null && (child.isLayoutRequested()
+                || child.getMeasuredWidth() != MeasureSpec.getSize(widthMeasureSpec)
+                || child.getMeasuredHeight() != MeasureSpec.getSize(heightMeasureSpec))) {
+            child.measure(widthMeasureSpec, heightMeasureSpec);
+        }
+    }
+
+    private void addView4RowTitle(View child) {
+        addAndMeasureStripChild(mRowTitleStrip, child, mRowTitleWidthSpec, mRowTitleHeightSpec);
+    }
+    private void addView4ColTitle(View child) {
+        addAndMeasureStripChild(mColTitleStrip, child, mColTitleWidthSpec, mColTitleHeightSpec);
+    }
+    private void addView4RowTitle(View child, int col) {
+        addAndMeasureStripChild(mRowTitleStrip, child, getRowTitleWidthSpec(col), mRowTitleHeightSpec);
+    }
+    private void addView4ColTitle(View child, int row) {
+        addAndMeasureStripChild(mColTitleStrip, child, mColTitleWidthSpec, getColTitleHeightSpec(row));
+    }
+    private void addView4Content(View child) {
+        addAndMeasureStripChild(mContentStrip, child, mContentWidthSpec, mContentHeightSpec);
+    }
+    private void addView4Content(View child, Rect indexBound) {
+        addAndMeasureStripChild(mContentStrip, child, getContentWidthSpec(indexBound), getContentHeightSpec(indexBound));
+    }
+
+    /**
+     * Merged cells business
+     * A merged region is tracked by the key of its top-left cell (the anchor) and shown by one child
+     * @see CrossListAdapter#getCellSpan(int, int)
+     */
+    private Rect mSpanBound = new Rect();
+    private long getAnchorKey(int row, int col) {
+        Rect span = mAdapter.getCellSpan(row, col);
+        return span == null ? getKey(row, col) : getKey(span.top, span.left);
+    }
+
+    /**
+     * @return index bound of the content item tracked by key, both sides included
+     */
+    private Rect getContentIndexBound(long key, Rect outBound) {
+        int row = (int)(key>>32);
+        int col = (int)key;
+        Rect span = mAdapter.getCellSpan(row, col);
+        if(span != null && span.top == row && span.left == col) {
+            outBound.set(span);
+        } else {
+            outBound.set(col, row, col, row);
+        }
+        return outBound;
+    }
+    private int getContentWidthSpec(Rect indexBound) {
+        if(indexBound.left == indexBound.right && mColumnSizes == null) {
+            return mContentWidthSpec;
+        }
+        long width = getLogicalLeft(indexBound.right + 1) - getLogicalLeft(indexBound.left);
+        return MeasureSpec.makeMeasureSpec((int)Math.min(width, MaxMeasuredSize), MeasureSpec.EXACTLY);
+    }
+    private int getContentHeightSpec(Rect indexBound) {
+        if(indexBound.top == indexBound.bottom && mRowSizes == null) {
+            return mContentHeightSpec;
+        }
+        long height = getLogicalTop(indexBound.bottom + 1) - getLogicalTop(indexBound.top);
+        return MeasureSpec.makeMeasureSpec((int)Math.min(height, MaxMeasuredSize), MeasureSpec.EXACTLY);
+    }
+    private void measureContentIfDirty(long key, View child) {
+        if(child != null) {
+            Rect indexBound = getContentIndexBound(key, mSpanBound);
+            measureIfDirty(child, getContentWidthSpec(indexBound), getContentHeightSpec(indexBound));
+        }
+    }
+
+    private void addAndMeasureStripChild(StripContainer strip, View child, int widthMeasureSpec, int heightMeasureSpec) {
+        if(child == null) {
+            return ;
+        }
+        ViewGroup.LayoutParams layoutParam = child.getLayoutParams();
+        if(layoutParam == null) {
+            layoutParam = new ViewGroup.LayoutParams(MeasureSpec.getSize(widthMeasureSpec),
+                    MeasureSpec.getSize(heightMeasureSpec));
+        }
+        child.measure(widthMeasureSpec, heightMeasureSpec);
+        strip.addChild(child, layoutParam);
+    }
+
+    private void addAndMeasureChild(View child, int index, int width, int height) {
+        addAndMeasureChildBySpec(child, index, MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+    }
+
+    private void addAndMeasureChildBySpec(View child, int index, int widthMeasureSpec, int heightMeasureSpec) {
+        if(child == null) {
+            return ;
+        }
+        ViewGroup.LayoutParams layoutParam = child.getLayoutParams();
+        if(layoutParam == null) {
+            layoutParam = new ViewGroup.LayoutParams(MeasureSpec.getSize(widthMeasureSpec),
+                    MeasureSpec.getSize(heightMeasureSpec));
+        }
+        child.measure(widthMeasureSpec, heightMeasureSpec);
+        this.addViewInLayout(child, index, layoutParam);
+    }
+
+    /**
+     * Get current drawing rect of view in at (col, row);
+     * Refresh mOriginPoint to change the position
+     * @param row -1 means title
+     * @param col -1 means title
+     * @return drawing rect
+     */
+    private Rect getViewLocByIndex(int row, int col) {
+        //XXX:currently calc from a formula
+        final int paddingTop = getPaddingTop();
+        final int paddingLeft = getPaddingLeft();
+        long left, top, right, bottom;
+        //calc logic top and bottom
+        if(row < 0) {
+            top = paddingTop;
+            bottom = top + mRowTitleHeight;
+        } else {
+            top = paddingTop + mRowTitleHeight + getLogicalTop(row);
+            bottom = top + getRowHeight(row);
+        }
+        //calc logic left and right
+        if(col < 0) {
+            left = paddingLeft;
+            right = left + mColumnTitleWidth;
+        } else {
+            left = paddingLeft + mColumnTitleWidth + getLogicalLeft(col);
+            right = left + getColumnWidth(col);
+
+        }
+        //calc real drawing position
+        if(row < 0 && col < 0){
+            //table title never moves
+        } else if(row < 0) {
+            left += mTitleOriginPoint.x;
+            right += mTitleOriginPoint.x;
+        } else if(col < 0) {
+            top += mTitleOriginPoint.y;
+            bottom += mTitleOriginPoint.y;
+        } else {
+            left += mContentOriginPoint.x;
+            right += mContentOriginPoint.x;
+            top += mContentOriginPoint.y;
+            bottom += mContentOriginPoint.y;
+        }
+        return new Rect(clampToInt(left), clampToInt(top), clampToInt(right), clampToInt(bottom));
+    }
+
+    private static int clampToInt(long value) {
+        return (int)Math.max(Math.min(value, Integer.MAX_VALUE), Integer.MIN_VALUE);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        if(mAdapter == null) {
+            return ;
+        }
+
+        /** Restore the origin of a cold-start snapshot */
+        if(mSnapshotOriginPending) {
+            applySnapshotOrigin();
+        }
+
+        /** Deal pending scroll */
+        if(mPendingScroll != null) {
+            mPendingScroll.run();
+            mPendingScroll = null;
+            if(mGroup != null) {
+                mGroup.onOriginChanged(this);
+            }
+        }
+
+        updateBounceBusiness();
+
+        /** Refresh layout tracker to prepare layout */
+        Rect indexBound = getVisibleBoundIndex();
+        bindDataSource(mAdapter.getDataSource());
+        if(mDataSource != null) {
+            mDataSource.onViewportChanged(indexBound);
+        }
+        precomputeTextLayouts(indexBound);
+        mMeasureFocusRow = indexBound.top;
+        mMeasureFocusCol = indexBound.left;
+        updateRowTitle(indexBound.left, indexBound.right);
+        updateColTitle(indexBound.top, indexBound.bottom);
+        updateContentView(indexBound.left, indexBound.top, indexBound.right, indexBound.bottom);
+        updateOverScrollViews();
+
+        /** Start layout according to trackers */
+        rebaseLocalOrigin();
+        layoutRowTitleByTracker();
+        layoutColTitleByTracker();
+        layoutContentByTracker();
+        layoutStrips();
+
+        /** Add table header if needed */
+        updateTableHeader();
+        updateShadowBounds();
+    }
+
+    private void updateRowTitle(int leftIndex, int rightIndex) {
+        //remove invisible row title
+        ArrayList<Integer> removeList = new ArrayList<Integer>();
+        for(Map.Entry<Integer,View> entry : mRowTitleTracker.entrySet()) {
+            int index = entry.getKey();
+            if(index >= leftIndex && index <= rightIndex && isColumnVisible(index)) {
+                //visible, do nothing
+            } else {
+                pushRowTitleRecycler(entry.getValue());
+                removeList.add(entry.getKey());
+            }
+        }
+        for(int i : removeList) {
+            mRowTitleTracker.remove(i);
+        }
+        //add new row titles
+        for(int index=leftIndex; index<=rightIndex; index++) {
+            if(!mRowTitleTracker.containsKey(index) && isColumnVisible(index)) { //not visible yet
+                View convertView = pollRowTitleRecycler();
+                View newChild = mAdapter.getRowTitleView(index, convertView, this);
+                if(newChild != convertView) {
+                    addView4RowTitle(newChild, index);
+                }
+                mRowTitleTracker.put(index, newChild);
+            }
+        }
+    }
+
+    private void updateColTitle(int topIndex, int bottomIndex) {
+        //remove invisible row title
+        ArrayList<Integer> removeList = new ArrayList<Integer>();
+        for(Map.Entry<Integer,View> entry : mColTitleTracker.entrySet()) {
+            int index = entry.getKey();
+            if(index >= topIndex && index <= bottomIndex && isRowVisible(index)) {
+                //visible, do nothing
+            } else {
+                pushColTitleRecycler(entry.getValue());
+                removeList.add(entry.getKey());
+            }
+        }
+        for(int i : removeList) {
+            mColTitleTracker.remove(i);
+        }
+        //add new row titles
+        for(int index=topIndex; index<=bottomIndex; index++) {
+            if(!mColTitleTracker.containsKey(index) && isRowVisible(index)) { //not visible yet
+                View convertView = pollColTitleRecycler();
+                View newChild = mAdapter.getColumnTitleView(index, convertView, this);
+                if(newChild != convertView) {
+                    addView4ColTitle(newChild, index);
+                }
+                mColTitleTracker.put(index, newChild);
+            }
+        }
+    }
+
+    /** update content, params shows the current visible bound by index*/
+    private LinkedHashSet<Long> mVisibleContentKeys = new LinkedHashSet<Long>();
+    private void collectContentKeys(int leftIndex, int topIndex, int rightIndex, int bottomIndex) {
+        for(int col=leftIndex;col<=rightIndex;col++) {
+            if(!isColumnVisible(col)) {
+                continue;
+            }
+            for(int row=topIndex;row<=bottomIndex;row++) {
+                if(!isRowVisible(row)) {
+                    continue;
+                }
+                Rect span = mAdapter.getCellSpan(row, col);
+                if(span == null) {
+                    mVisibleContentKeys.add(getKey(row, col));
+                } else {
+                    mVisibleContentKeys.add(getKey(span.top, span.left));
+                    row = span.bottom;
+                }
+            }
+        }
+    }
+    private void updateContentView(int leftIndex, int topIndex, int rightIndex, int bottomIndex) {
+        //collect visible items by anchor, a merged region is met once and skipped over
+        mVisibleContentKeys.clear();
+        collectContentKeys(leftIndex, topIndex, rightIndex, bottomIndex);
+        if(mSnapTargetBound != null) {
+            //bind the landing window of a snapping fling ahead
+            collectContentKeys(mSnapTargetBound.left, mSnapTargetBound.top, mSnapTargetBound.right, mSnapTargetBound.bottom);
+        }
+        //remove invis children
+        ArrayList<Long> removeList = new ArrayList<Long>();
+        for(Map.Entry<Long, View> entry : mContentTracker.entrySet()) {
+            if(!mVisibleContentKeys.contains(entry.getKey())) {
+                //invisible, remove
+                pushContentRecycler(entry.getValue());
+                removeList.add(entry.getKey());
+            }
+        }
+        for(long key : removeList) {
+            mContentTracker.remove(key);
+        }
+        //add children
+        for(long key : mVisibleContentKeys) {
+            View child = mContentTracker.get(key);
+            if(child == null) { //not visible yet
+                child = obtainContentView(getContentIndexBound(key, mSpanBound));
+                mContentTracker.put(key, child);
+            }
+        }
+    }
+
+    /**
+     * layout business
+     * Children are laid out in the coordinates of their strips, which never change
+     * while scrolling, so only new or dirty children are laid out actually
+     */
+    private void layoutRowTitleByTracker() {
+        for(Map.Entry<Integer, View> entry : mRowTitleTracker.entrySet()) {
+            View child = entry.getValue();
+            if(child != null) {
+                int left = (int)(getLogicalLeft(entry.getKey()) - mLocalOrigin.x);
+                measureIfDirty(child, getRowTitleWidthSpec(entry.getKey()), mRowTitleHeightSpec);
+                layoutChildIfNeeded(child, left, 0, left + getColumnWidth(entry.getKey()), mRowTitleHeight);
+            }
+        }
+    }
+    private void layoutColTitleByTracker() {
+        for(Map.Entry<Integer, View> entry : mColTitleTracker.entrySet()) {
+            View child = entry.getValue();
+            if(child != null) {
+                int top = (int)(getLogicalTop(entry.getKey()) - mLocalOrigin.y);
+                measureIfDirty(child, mColTitleWidthSpec, getColTitleHeightSpec(entry.getKey()));
+                layoutChildIfNeeded(child, 0, top, mColumnTitleWidth, top + getRowHeight(entry.getKey()));
+            }
+        }
+    }
+    private void layoutContentByTracker() {
+        for(Map.Entry<Long, View> entry : mContentTracker.entrySet()) {
+            View child = entry.getValue();
+            if(child != null) {
+                Rect indexBound = getContentIndexBound(entry.getKey(), mSpanBound);
+                int left = (int)(getLogicalLeft(indexBound.left) - mLocalOrigin.x);
+                int top = (int)(getLogicalTop(indexBound.top) - mLocalOrigin.y);
+                measureContentIfDirty(entry.getKey(), child);
+                layoutChildIfNeeded(child, left, top, left + child.getMeasuredWidth(), top + child.getMeasuredHeight());
+            }
+        }
+    }
+    private void layoutChildIfNeeded(View child, int left, int top, int right, int bottom) {
+        if(child.isLayoutRequested() || child.getLeft() != left || child.getTop() != top
+                || child.getRight() != right || child.getBottom() != bottom) {
+            child.layout(left, top, right, bottom);
+        }
+    }
+
+    /**
+     * Override {#dispatchTouchEvent} to prevent that children's
+     * {#onTouch} might return true and invalidate the parent's touch events
+     */
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent event) {
+        if(onTouch(event) == false) {
+            return super.dispatchTouchEvent(event);
+        } else {
+            return true;
+        }
+    }
+    private Pair<Integer/*row*/, Integer/*col*/> getIndexByPoint(int x, int y) {
+        int row = -1, col = -1;
+        Rect viewLeftTop = getViewLocByIndex(-1, -1);
+        //titles move with the title origin, contents with the content origin
+        LongPoint originPoint = mContentOriginPoint;
+        if(x < viewLeftTop.right || y < viewLeftTop.bottom) {
+            originPoint = mTitleOriginPoint;
+        }
+        long logicX = x - viewLeftTop.right - originPoint.x;
+        long logicY = y - viewLeftTop.bottom - originPoint.y;
+        col = getColumnAtLogical(logicX);
+        row = getRowAtLogical(logicY);
+        //Deal with the clip of (rowTitle vs. topItem) or (colTitle vs. leftItem)
+        if(x < viewLeftTop.right) {
+            col = -1;
+        }
+        if(y < viewLeftTop.bottom) {
+            row = -1;
+        }
+        if(row >= 0 && col >= 0) {
+            //a merged item is hit by its top-left cell
+            Rect span = mAdapter.getCellSpan(row, col);
+            if(span != null) {
+                row = span.top;
+                col = span.left;
+            }
+        }
+        return new Pair(row, col);
+    }
+
+    private boolean onTouch(MotionEvent event) {
+        if(mDisableTouch) { //Block touch events when bouncing
+            return false;
+        }
+        if(event.getAction() == MotionEvent.ACTION_DOWN) {
+            //touch takes over the bounce and the snapping fling
+            cancelSprings();
+            cancelSnapFling();
+            if(mGroup != null) {
+                mGroup.takeOver(this);
+            }
+        }
+        if(event.getAction() == MotionEvent.ACTION_UP) {
+            mIsTouchScrolling = false;
+            mHasTouchRelease = true;
+            requestLayout();
+        }
+        if(mGestureDetector != null) {
+            return mGestureDetector.onTouchEvent(event);
+        }
+        return false;
+    }
+    private  GestureDetector.OnGestureListener mListener = new GestureDetector.OnGestureListener() {
+        @Override
+        public boolean onDown(MotionEvent e) {
+            return true;
+        }
+
+        @Override
+        public void onShowPress(MotionEvent e) {
+
+        }
+
+        @Override
+        public boolean onSingleTapUp(MotionEvent e) {
+            if(mItemClickListener == null) {
+                return false;
+            }
+            Pair<Integer, Integer> rowAndCol = getIndexByPoint((int)e.getX(), (int)e.getY());
+            if(rowAndCol.first < 0) {
+                mItemClickListener.onRowTitleClicked(CrossList.this, rowAndCol.second);
+            } else if(rowAndCol.second < 0) {
+                mItemClickListener.onColumnTitleClicked(CrossList.this, rowAndCol.first);
+            } else {
+                mItemClickListener.onContentItemClicked(CrossList.this, rowAndCol.first, rowAndCol.second);
+            }
+            //Don't catch click event
+            return false;
+        }
+
+        @Override
+        public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+            mIsTouchScrolling = true;
+            pushBouncyScroll(mContentOriginPoint, distanceX, distanceY, mMaxOverScrollX, mMaxOverScrollY);
+            onOriginChanged();
+            return true;
+        }
+
+        @Override
+        public void onLongPress(MotionEvent e) {
+
+        }
+
+        @Override
+        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+            //Fix speed to avoid unnecessary fling
+            double velocity = Math.sqrt(velocityX*velocityX+velocityY*velocityY);
+            if(velocity<1000) {
+                return true;
+            }
+            if(velocity>6000) {
+                float decrease = (float)(6000.0/velocity);
+                velocityX *= decrease;
+                velocityY *= decrease;
+            }
+            startFling((int) velocityX, (int) velocityY);
+            return true;
+        }
+    };
+    /**
+     * Gesture Dealing: Only for scroll and fling
+     */
+    private GestureDetector mGestureDetector = new GestureDetector(mListener);
+
+    /**
+     * Get the over-scroll distance( >=0 ) for a given origin point
+     * @param originPoint the given origin point
+     * @return rect.left for left over scroll.Positive if over-scrolled, negative not
+     */
+    private LongRect mOverRect = new LongRect();
+    private LongRect getOverScrollRect(LongPoint originPoint) {
+        LongRect scrollBound = getScrollBound();
+        mOverRect.left = originPoint.x - scrollBound.left;
+        mOverRect.top = originPoint.y - scrollBound.top;
+        mOverRect.right = -originPoint.x-scrollBound.right;
+        mOverRect.bottom = -originPoint.y-scrollBound.bottom;
+        return mOverRect;
+    }
+
+    /**
+     * The direction of over-scroll views
+     * OVER_SCROLL_LEFT means the view shows when drag left too much
+     */
+    static public final int OVER_SCROLL_LEFT = 0;
+    static public final int OVER_SCROLL_TOP = 1;
+    static public final int OVER_SCROLL_RIGHT = 2;
+    static public final int OVER_SCROLL_BOTTOM = 3;
+    private View[] mOverScrollViews = {null, null, null, null};
+    private void layoutOverScrollView(int type) {
+        if(type < 0 || type >= mOverScrollViews.length) {
+            return ;
+        }
+        View view = mOverScrollViews[type];
+        if(view == null) {
+            return ;
+        }
+        int viewWidth = view.getMeasuredWidth();
+        int viewHeight = view.getMeasuredHeight();
+        Rect tableHead = getViewLocByIndex(-1, -1);
+        long contentLeft = tableHead.right + mContentOriginPoint.x;
+        long contentTop = tableHead.bottom + mContentOriginPoint.y;
+        long top = 0,left = 0;
+        switch(type) {
+            case OVER_SCROLL_LEFT:
+                top = tableHead.bottom;
+                left = contentLeft - viewWidth;
+                break;
+            case OVER_SCROLL_TOP:
+                top = contentTop - viewHeight;
+                left = tableHead.right;
+                break;
+            case OVER_SCROLL_RIGHT:
+                top = tableHead.bottom;
+                left = contentLeft + getLogicalWidth();
+                break;
+            case OVER_SCROLL_BOTTOM:
+                top = contentTop + getLogicalHeight();
+                left = tableHead.right;
+                break;
+        }
+        //not moving relative to the content, nothing to do
+        layoutChildIfNeeded(view, clampToInt(left), clampToInt(top), clampToInt(left+viewWidth), clampToInt(top+viewHeight));
+    }
+    /**
+     * Set a over-scroll view to crossList
+     * @param view the over-scroll view
+     * @param type index like #OVER_SCROLL_LEFT
+     */
+    private LinkedList<Pair<Integer, View>> mOverScrollViewStack = new LinkedList<Pair<Integer, View>>();
+    public void setOverScrollView(View view, int type) {
+        mOverScrollViewStack.push(new Pair(type, view));
+        if(type < 0 || type >= mOverScrollViews.length) {
+            return ;
+        }
+    }
+    private void updateOverScrollViews() {
+        for(Pair<Integer, View> entry : mOverScrollViewStack) {
+            int type = entry.first;
+            View view = entry.second;
+            if(view != null) {
+                if(mOverScrollViews[type] != null) {
+                    removeViewInLayout(mOverScrollViews[type]);
+                }
+                ViewGroup.LayoutParams lp;
+                if(type == OVER_SCROLL_LEFT || type == OVER_SCROLL_RIGHT) {
+                    lp = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
+                    view.measure(MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
+                            MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.AT_MOST));
+                    mMaxOverScrollX = view.getMeasuredWidth()*4;
+                } else {
+                    lp = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+                    view.measure(MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.AT_MOST),
+                            MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+                    mMaxOverScrollY = view.getMeasuredHeight()*4;
+                }
+                //above the content strip and below the title strips
+                this.addViewInLayout(view, indexOfChild(mContentStrip) + 1, lp);
+                mOverScrollViews[type] = view;
+            }
+        }
+        mOverScrollViewStack.clear();
+    }
+
+    /**
+     * #mScrollBound is to describe the bound of mOriginPoint which presents scroller of the view
+     * Don't use mScrollBound directly, use getScrollBound instead
+     */
+    LongRect mScrollBound = null;
+    private LongRect getScrollBound() {
+        if(mScrollBound == null) {
+            //calc scroll bound
+            mScrollBound = new LongRect();
+            Rect tableHead = getViewLocByIndex(-1, -1);
+            long viewportWidth = getMeasuredWidth() - getPaddingRight() - tableHead.right;
+            long viewportHeight = getMeasuredHeight() - getPaddingBottom() - tableHead.bottom;
+            mScrollBound.left = 0;
+            mScrollBound.top = 0;
+            mScrollBound.right = getLogicalWidth() - viewportWidth;
+            mScrollBound.bottom = getLogicalHeight() - viewportHeight;
+        }
+        return mScrollBound;
+    }
+    private void pushHardScroll(LongPoint originPoint, long scrollX, long scrollY) {
+        originPoint.x -= scrollX;
+        originPoint.y -= scrollY;
+        fixBound(originPoint);
+    }
+    private boolean mDisableTouch = false;
+    private boolean mIsTouchScrolling = false;
+    private boolean mHasTouchRelease = false;
+    private float mMaxOverScrollX = 200.f;
+    private float mMaxOverScrollY = 200.f;
+    private float calcBouncyDistance(float delta, float overscroll, float maxOverScroll) {
+        float x = delta, S = overscroll, D = maxOverScroll;
+        return 0.7f*(x - (S/D)*x - x*x/(2*D));
+    }
+    private void pushBouncyScroll(LongPoint originPoint, float scrollX, float scrollY, float maxOverScrollX, float maxOverScrollY) {
+        //Judge if over scroll
+        LongRect scrollBound = getScrollBound();
+        LongRect overRect = getOverScrollRect(originPoint);
+
+        //adjust X
+        if(overRect.left - scrollX > 0 && scrollX < 0) {
+            //pull right, left over
+            float delta = 0;
+            //fix x to none hard bound
+            if(overRect.left < 0) {
+                // just left over
+                delta = overRect.left - scrollX;
+                originPoint.x -= overRect.left;
+                overRect.left = 0;
+            } else {
+                delta = -scrollX;
+            }
+            delta = calcBouncyDistance(delta, overRect.left, maxOverScrollX);
+            originPoint.x += Math.round(delta);
+        } else if(overRect.right + scrollX > 0 && scrollX > 0){
+            //pull left, right over
+            float delta = 0;
+            //fix x to none hard bound
+            if(overRect.right < 0) {
+                // just right over
+                delta = overRect.right + scrollX;
+                originPoint.x += overRect.right;
+                overRect.right = 0;
+            } else {
+                delta = scrollX;
+            }
+            delta = calcBouncyDistance(delta, overRect.right, maxOverScrollX);
+            originPoint.x -= Math.round(delta);
+        } else {
+            originPoint.x -= Math.round(scrollX);
+        }
+        originPoint.x = Math.min(originPoint.x, (long) (scrollBound.left + maxOverScrollX));
+        originPoint.x = Math.max(originPoint.x, (long) (-scrollBound.right-maxOverScrollX));
+
+        //adjust Y
+        if(overRect.top - scrollY > 0 && scrollY < 0) {
+            //pull down, top over
+            float delta = 0;
+            //fix y to none hard bound
+            if(overRect.top < 0) {
+                // just top over
+                delta = overRect.top - scrollY;
+                originPoint.y += overRect.top;
+                overRect.top = 0;
+            } else {
+                delta = -scrollY;
+            }
+            delta = calcBouncyDistance(delta, overRect.top, maxOverScrollY);
+            originPoint.y += Math.round(delta);
+        } else if(overRect.bottom + scrollY > 0 && scrollY > 0){
+            //pull up, bottom over
+            float delta = 0;
+            //fix y to none hard bound
+            if(overRect.bottom < 0) {
+                // just right over
+                delta = overRect.bottom + scrollY;
+                originPoint.y += overRect.bottom;
+                overRect.bottom = 0;
+            } else {
+                delta = scrollY;
+            }
+            delta = calcBouncyDistance(delta, overRect.bottom, maxOverScrollY);
+            originPoint.y -= Math.round(delta);
+        } else {
+            originPoint.y -= Math.round(scrollY);
+        }
+        originPoint.y = Math.min(originPoint.y, (long) (scrollBound.top + maxOverScrollY));
+        originPoint.y = Math.max(originPoint.y, (long) (-scrollBound.bottom - maxOverScrollY));
+    }
+    private void updateBounceBusiness() {
+        /** check over scroll for 4 directions and trigger their events */
+        LongRect overRect = getOverScrollRect(mContentOriginPoint);
+        boolean hasOverScroll = false;
+        hasOverScroll |= updateOverScrollSide(OVER_SCROLL_LEFT, overRect.left);
+        hasOverScroll |= updateOverScrollSide(OVER_SCROLL_RIGHT, overRect.right);
+        hasOverScroll |= updateOverScrollSide(OVER_SCROLL_TOP, overRect.top);
+        hasOverScroll |= updateOverScrollSide(OVER_SCROLL_BOTTOM, overRect.bottom);
+        if(mOverScrollList4By.size() != 0) {
+            mOverScrollListener.onScrollOverBy(this, mOverScrollList4By);
+            mOverScrollList4By.clear();
+        }
+        if(mOverScrollList4Release.size() != 0) {
+            mOverScrollListener.onScrollOverRelease(this, mOverScrollList4Release);
+            mOverScrollList4Release.clear();
+        }
+
+        //clear ACTION_UP
+        mHasTouchRelease = false;
+
+        //bounce back if needed
+        if(!mIsTouchScrolling && mFlingStack == 0 && hasOverScroll && mBounceEnable
+                && (mGroup == null || mGroup.isDriver(this))) {
+            if(mTitleOriginPoint.x != mContentOriginPoint.x) {
+                springXTo(mTitleOriginPoint.x, 0);
+            }
+            if(mTitleOriginPoint.y != mContentOriginPoint.y) {
+                springYTo(mTitleOriginPoint.y, 0);
+            }
+        }
+    }
+
+    /**
+     * Update the over-scroll view of one side and collect its events
+     * @param overPixels over-scrolled pixels of the side, not over-scrolled if <= 0
+     * @return true if the side is over-scrolled
+     */
+    private boolean updateOverScrollSide(int type, long overPixels) {
+        View view = mOverScrollViews[type];
+        if(overPixels <= 0) {
+            mLastDispatchedDegrees[type] = Float.NaN;
+            if(view != null && view.getVisibility() != View.INVISIBLE) {
+                view.setVisibility(View.INVISIBLE);
+            }
+            return false;
+        }
+        if(view == null) {
+            return true;
+        }
+        if(view.getVisibility() != View.VISIBLE) {
+            view.setVisibility(View.VISIBLE);
+        }
+        layoutOverScrollView(type);
+        if(mOverScrollListener != null) {
+            int size = (type == OVER_SCROLL_LEFT || type == OVER_SCROLL_RIGHT) ? view.getMeasuredWidth() : view.getMeasuredHeight();
+            float degree = overPixels * 1.f/size;
+            if(mIsTouchScrolling && shouldDispatchOverScroll(mLastDispatchedDegrees[type], degree)) {
+                mLastDispatchedDegrees[type] = degree;
+                mOverScrollList4By.add(obtainOverScrollModel(type, degree));
+            }
+            if(mHasTouchRelease) {
+                mOverScrollList4Release.add(obtainOverScrollModel(type, degree));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An over-scroll is dispatched when its degree crosses a threshold or moves by the minimum step
+     * since last dispatching
+     */
+    private boolean shouldDispatchOverScroll(float lastDegree, float degree) {
+        if(Float.isNaN(lastDegree) || Math.abs(degree - lastDegree) >= mOverScrollMinStep) {
+            return true;
+        }
+        for(float threshold : mOverScrollThresholds) {
+            if((lastDegree > threshold) != (degree > threshold)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private OverScrollModel obtainOverScrollModel(int type, float degree) {
+        OverScrollModel model = mOverScrollModels[type];
+        if(model == null) {
+            model = new OverScrollModel(mOverScrollViews[type], type, degree);
+            mOverScrollModels[type] = model;
+        }
+        model.overView = mOverScrollViews[type];
+        model.type = type;
+        model.overDegree = degree;
+        return model;
+    }
+
+    /**
+     * Bounce business
+     * Each axis has one persistent spring which is critically damped, it moves the content
+     * origin to its target without oscillating; a spring could be retargeted while moving,
+     * and takes over the velocity of a fling which runs into the over-scroll area
+     */
+    private static class Spring {
+        /** Below this speed(px/s) and half a pixel from the target, the spring rests */
+        private static final double RestVelocity = 20;
+        boolean isRunning = false;
+        double position;
+        double velocity;
+        long target;
+
+        /**
+         * Move to a target, a running spring keeps its position and velocity
+         */
+        void start(long from, long to, double initVelocity) {
+            if(!isRunning) {
+                position = from;
+                velocity = initVelocity;
+                isRunning = true;
+            }
+            target = to;
+        }
+
+        /**
+         * Advance by the closed-form solution x(t) = (x0 + (v0 + w*x0)*t) * e^(-w*t),
+         * stable for any frame interval
+         */
+        void step(float stiffness, float dt) {
+            double omega = Math.sqrt(stiffness);
+            double x0 = position - target;
+            double c = velocity + omega * x0;
+            double decay = Math.exp(-omega * dt);
+            double x = (x0 + c * dt) * decay;
+            velocity = (c - omega * (x0 + c * dt)) * decay;
+            position = target + x;
+            if(Math.abs(x) < 0.5 && Math.abs(velocity) < RestVelocity) {
+                cancel();
+                position = target;
+            }
+        }
+
+        /** Keep the position within [min, max], stop at the edge */
+        void clamp(double min, double max) {
+            if(position < min || position > max) {
+                position = Math.max(min, Math.min(max, position));
+                velocity = 0;
+            }
+        }
+
+        void cancel() {
+            isRunning = false;
+            velocity = 0;
+        }
+    }
+
+    /** Frame driver on API 16+, only loaded there */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class SpringFrameCallback implements Choreographer.FrameCallback {
+        private final CrossList mList;
+        SpringFrameCallback(CrossList list) {
+            mList = list;
+        }
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mList.doSpringFrame(frameTimeNanos / 1000000);
+        }
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+        void remove() {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+    }
+
+    private Spring mSpringX = new Spring();
+    private Spring mSpringY = new Spring();
+    private float mBounceStiffness = 200.f;
+    private boolean mIsSpringFramePosted = false;
+    private long mSpringFrameTime = 0;
+    private SpringFrameCallback mSpringFrameCallback = null;
+    private Runnable mSpringRunnable = new Runnable() {
+        @Override
+        public void run() {
+            doSpringFrame(SystemClock.uptimeMillis());
+        }
+    };
+
+    /**
+     * Set the stiffness of bounce springs, a stiffer spring bounces faster and over-scrolls less
+     * when it takes over a fling
+     * @param stiffness 200 by default
+     */
+    public void setBounceStiffness(float stiffness) {
+        mBounceStiffness = Math.max(1.f, stiffness);
+    }
+
+    /**
+     * @param target destination of mContentOriginPoint.x
+     * @param velocity initial velocity in px/s, used if the spring is not running
+     */
+    private void springXTo(long target, double velocity) {
+        mSpringX.start(mContentOriginPoint.x, target, velocity);
+        postSpringFrame();
+    }
+    private void springYTo(long target, double velocity) {
+        mSpringY.start(mContentOriginPoint.y, target, velocity);
+        postSpringFrame();
+    }
+
+    private void postSpringFrame() {
+        if(mIsSpringFramePosted) {
+            return ;
+        }
+        mIsSpringFramePosted = true;
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if(mSpringFrameCallback == null) {
+                mSpringFrameCallback = new SpringFrameCallback(this);
+            }
+            mSpringFrameCallback.post();
+        } else {
+            postDelayed(mSpringRunnable, 16);
+        }
+    }
+
+    private void cancelSprings() {
+        mSpringX.cancel();
+        mSpringY.cancel();
+        if(mIsSpringFramePosted) {
+            mIsSpringFramePosted = false;
+            if(mSpringFrameCallback != null) {
+                mSpringFrameCallback.remove();
+            }
+            removeCallbacks(mSpringRunnable);
+        }
+        mSpringFrameTime = 0;
+    }
+
+    private void doSpringFrame(long frameTime) {
+        mIsSpringFramePosted = false;
+        //the first frame and long stalls are taken as one frame
+        long interval = frameTime - mSpringFrameTime;
+        float dt = (mSpringFrameTime == 0 || interval <= 0 || interval > 100) ? 0.016f : interval / 1000.f;
+        mSpringFrameTime = frameTime;
+        LongRect scrollBound = getScrollBound();
+        if(mSpringX.isRunning) {
+            mSpringX.step(mBounceStiffness, dt);
+            mSpringX.clamp(-scrollBound.right - mMaxOverScrollX, scrollBound.left + mMaxOverScrollX);
+            mContentOriginPoint.x = Math.round(mSpringX.position);
+        }
+        if(mSpringY.isRunning) {
+            mSpringY.step(mBounceStiffness, dt);
+            mSpringY.clamp(-scrollBound.bottom - mMaxOverScrollY, scrollBound.top + mMaxOverScrollY);
+            mContentOriginPoint.y = Math.round(mSpringY.position);
+        }
+        onOriginChanged();
+        if(mSpringX.isRunning || mSpringY.isRunning) {
+            postSpringFrame();
+        } else {
+            mSpringFrameTime = 0;
+        }
+    }
+
+    public void showOverScrollView(int type) {
+        if(type < 0 || type >= mOverScrollViews.length || mOverScrollViews[type] == null) {
+            return ;
+        }
+        View view = mOverScrollViews[type];
+        LongRect scrollBound = getScrollBound();
+        if(type == OVER_SCROLL_LEFT) {
+            springXTo(scrollBound.left + view.getMeasuredWidth(), 0);
+        } else if(type == OVER_SCROLL_RIGHT) {
+            springXTo(-scrollBound.right - view.getMeasuredWidth(), 0);
+        } else if(type == OVER_SCROLL_TOP) {
+            springYTo(scrollBound.top + view.getMeasuredHeight(), 0);
+        } else if(type == OVER_SCROLL_BOTTOM) {
+            springYTo(-scrollBound.bottom - view.getMeasuredHeight(), 0);
+        }
+    }
+    public void hideOverScrollView(int type) {
+        if(type < 0 || type >= mOverScrollViews.length || mOverScrollViews[type] == null) {
+            return ;
+        }
+        if(type == OVER_SCROLL_LEFT || type == OVER_SCROLL_RIGHT) {
+            springXTo(mTitleOriginPoint.x, 0);
+        } else {
+            springYTo(mTitleOriginPoint.y, 0);
+        }
+    }
+
+    /**
+     * Called after this list moves its content origin by itself, such as by touch, fling or bounce
+     * It takes over the group, layout changes go through #onPlacementChanged instead
+     */
+    private void onOriginChanged() {
+        mTitleOriginPoint.set(mContentOriginPoint.x, mContentOriginPoint.y);
+        fixBound(mTitleOriginPoint);
+        requestLayout();
+        if(mGroup != null) {
+            mGroup.onOriginChanged(this);
+        }
+    }
+
+    /**
+     * Linked group business
+     * @see CrossListGroup
+     */
+    private CrossListGroup mGroup = null;
+    public CrossListGroup getGroup() {
+        return mGroup;
+    }
+    void setGroup(CrossListGroup group) {
+        mGroup = group;
+    }
+
+    /**
+     * Copy the origin of the driving member along shared axes, without notifying the group back
+     * A follower never over-scrolls by itself, the driver shows the bounce
+     */
+    void followOrigin(CrossList source, boolean followX, boolean followY) {
+        if(followX) {
+            mContentOriginPoint.x = source.mContentOriginPoint.x;
+        }
+        if(followY) {
+            mContentOriginPoint.y = source.mContentOriginPoint.y;
+        }
+        fixBound(mContentOriginPoint);
+        mTitleOriginPoint.set(mContentOriginPoint.x, mContentOriginPoint.y);
+        requestLayout();
+    }
+
+    /** Stop the fling and the bounce driven by this list */
+    void stopMoving() {
+        mHoldFling = false;
+        cancelSnapFling();
+        cancelSprings();
+    }
+
+    private Runnable mPendingScroll = null;
+    /**
+     * Scroll to ensure item at (row, col) will be conspicuous
+     * @param row the row index of the item
+     * @param col the col index of the item
+     */
+    public void scrollTo(final int row, final int col) {
+        mPendingScroll = new Runnable() {
+            @Override
+            public void run() {
+                cancelSprings();
+                Rect tableHead = getViewLocByIndex(-1, -1);
+                long curLeft = tableHead.right + getLogicalLeft(col) + mContentOriginPoint.x;
+                long curTop = tableHead.bottom + getLogicalTop(row) + mContentOriginPoint.y;
+                Point dstPoint = new Point(getMeasuredWidth()/2, getMeasuredHeight()/2);
+                pushHardScroll(mTitleOriginPoint, curLeft - dstPoint.x, curTop - dstPoint.y);
+                pushHardScroll(mContentOriginPoint, curLeft - dstPoint.x, curTop - dstPoint.y);
+            }
+        };
+        requestLayout();
+    }
+
+    /**
+     * Maintain fling business
+     * XXX:fling values show be configurable
+     */
+    private long mFlingFrame = 0;
+    private Point mPendingFling = new Point();
+    private int mFlingStack = 0;//Used to ensure only one fling work at a time
+    private boolean mHoldFling;
+    private void startFling(int velocX, int velocY) {
+        if(mSnapFlingEnabled) {
+            startSnapFling(velocX, velocY);
+            return ;
+        }
+        if(mFlingStack == 0) { //No fling currently, start new fling
+            mFlingStack = 1;
+            mHoldFling = true;
+
+            final int dirX = velocX>0?1:-1;
+            final int dirY = velocY>0?1:-1;
+            velocX = Math.abs(velocX);
+            velocY = Math.abs(velocY);
+            final Point curSpeed = new Point(velocX, velocY);
+            final float normalResistX = velocX*FlingResist;
+            final float normalResistY = velocY*FlingResist;
+            mFlingFrame = System.currentTimeMillis();
+
+            this.postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    //Check if the current fling is canceled
+                    if(mHoldFling == false) {
+                        mFlingStack = 0;
+                        return ;
+                    }
+                    if(mFlingStack > 1) { //New fling pending
+                        mFlingStack = 0;
+                        startFling(mPendingFling.x, mPendingFling.y);
+                        return ;
+                    }
+                    //Else update current fling
+                    long curFrame = System.currentTimeMillis();
+                    long interval = curFrame - mFlingFrame;
+                    mFlingFrame = curFrame;
+
+                    float deltaX = dirX * curSpeed.x * interval / 1000;
+                    float deltaY = dirY * curSpeed.y * interval / 1000;
+                    pushBouncyScroll(mContentOriginPoint, -deltaX, -deltaY, mMaxOverScrollX, mMaxOverScrollY);
+                    onOriginChanged();
+                    //hand the speed over to the bounce spring once moving into the over-scroll area
+                    LongRect overRect = getOverScrollRect(mContentOriginPoint);
+                    if(curSpeed.x > 0 && (overRect.left > 0 && dirX > 0 || overRect.right > 0 && dirX < 0)) {
+                        springXTo(mTitleOriginPoint.x, dirX * curSpeed.x);
+                        curSpeed.x = 0;
+                    }
+                    if(curSpeed.y > 0 && (overRect.top > 0 && dirY > 0 || overRect.bottom > 0 && dirY < 0)) {
+                        springYTo(mTitleOriginPoint.y, dirY * curSpeed.y);
+                        curSpeed.y = 0;
+                    }
+                    curSpeed.x = (int)Math.max(curSpeed.x - normalResistX*interval/1000, 0);
+                    curSpeed.y = (int)Math.max(curSpeed.y - normalResistY*interval/1000, 0);
+
+                    if(curSpeed.x == 0 && curSpeed.y == 0) {
+                        //a fling is finish
+                        mFlingStack--;
+                    } else { //start next frame
+                        CrossList.this.postDelayed(this, 16);
+                    }
                 }
-                this.addViewInLayout(view, 0, lp);
-                mOverScrollViews[type] = view;
-            }
+            }, 16);
+        } else {
+            //Add a pending fling work
+            mFlingStack++;
+            mPendingFling.set(velocX, velocY);
         }
-        mOverScrollViewStack.clear();
     }
+    /**
+     * Snapping fling business
+     * A fling decelerates constantly by FlingResist * v0, so it travels v0^2 / (2 * FlingResist * v0);
+     * the snapping fling rounds the travel to a cell boundary and lowers or raises v0 to land on it.
+     * As the landing window is known at start, it is prefetched from the data source and
+     * bound before the fling lands
+     */
+    private static final float FlingResist = 1.5f;
+    private boolean mSnapFlingEnabled = false;
+    private boolean mIsSnapFlinging = false;
+    private LongPoint mSnapStart = new LongPoint();
+    private LongPoint mSnapTarget = new LongPoint();
+    private float mSnapVelocityX, mSnapVelocityY;//px/s
+    private float mSnapResistX, mSnapResistY;//px/s^2
+    private long mSnapStartTime = 0;
+    private Rect mSnapTargetBound = null;
 
     /**
-     * #mScrollBound is to describe the bound of mOriginPoint which presents scroller of the view
-     * Don't use mScrollBound directly, use getScrollBound instead
+     * Make flings settle on a whole row and column
      */
-    Rect mScrollBound = null;
-    private Rect getScrollBound() {
-        if(mScrollBound == null) {
-            //calc scroll bound
-            mScrollBound = new Rect();
-            Rect bottomRight = getViewLocByIndex(mAdapter.getRowCount()-1, mAdapter.getColumnCount()-1);
-            mScrollBound.left = 0;
-            mScrollBound.top = 0;
-            mScrollBound.right = bottomRight.right - getMeasuredWidth() - mContentOriginPoint.x;
-            mScrollBound.bottom = bottomRight.bottom - getMeasuredHeight() - mContentOriginPoint.y;
+    public void setSnapFlingEnabled(boolean enabled) {
+        mSnapFlingEnabled = enabled;
+    }
+
+    private void startSnapFling(int velocX, int velocY) {
+        cancelSprings();
+        mSnapStart.set(mContentOriginPoint.x, mContentOriginPoint.y);
+        mSnapResistX = Math.abs(velocX) * FlingResist;
+        mSnapResistY = Math.abs(velocY) * FlingResist;
+        //the origin point moves along the velocity
+        mSnapTarget.x = getSnapX(mSnapStart.x + (long)(Math.signum(velocX) * Math.abs(velocX) / (2 * FlingResist)));
+        mSnapTarget.y = getSnapY(mSnapStart.y + (long)(Math.signum(velocY) * Math.abs(velocY) / (2 * FlingResist)));
+        fixBound(mSnapTarget);
+        //an axis without velocity still settles, with the resist of the other axis
+        float resist = Math.max(mSnapResistX, mSnapResistY);
+        mSnapResistX = mSnapResistX > 0 ? mSnapResistX : resist;
+        mSnapResistY = mSnapResistY > 0 ? mSnapResistY : resist;
+        mSnapVelocityX = (float)Math.sqrt(2 * mSnapResistX * Math.abs(mSnapTarget.x - mSnapStart.x));
+        mSnapVelocityY = (float)Math.sqrt(2 * mSnapResistY * Math.abs(mSnapTarget.y - mSnapStart.y));
+        mSnapStartTime = SystemClock.uptimeMillis();
+
+        mSnapTargetBound = getBoundIndexAt(mSnapTarget);
+        bindDataSource(mAdapter.getDataSource());
+        if(mDataSource != null) {
+            mDataSource.prefetch(mSnapTargetBound);
+        }
+        mFlingStack = 1;
+        if(!mIsSnapFlinging) {
+            mIsSnapFlinging = true;
+            postOnAnimationCompat(mSnapFlingRunnable);
         }
-        return mScrollBound;
+        requestLayout();
     }
-    private void pushHardScroll(Point originPoint, float scrollX, float scrollY) {
-        originPoint.x -= scrollX;
-        originPoint.y -= scrollY;
-        fixBound(originPoint);
+
+    /** Round an origin position to the nearest column or row boundary */
+    private long getSnapX(long position) {
+        if(mColumnSizes == null) {
+            return getSnapPosition(position, mRowTitleWidth);
+        }
+        return -getSnapPosition(-position, mColumnSizes);
     }
-    private boolean mDisableTouch = false;
-    private boolean mIsTouchScrolling = false;
-    private boolean mHasTouchRelease = false;
-    private float mMaxOverScrollX = 200.f;
-    private float mMaxOverScrollY = 200.f;
-    private float calcBouncyDistance(float delta, float overscroll, float maxOverScroll) {
-        float x = delta, S = overscroll, D = maxOverScroll;
-        return 0.7f*(x - (S/D)*x - x*x/(2*D));
+    private long getSnapY(long position) {
+        if(mRowSizes == null) {
+            return getSnapPosition(position, mColumnTitleHeight);
+        }
+        return -getSnapPosition(-position, mRowSizes);
+    }
+    private static long getSnapPosition(long logical, SizeIndex sizes) {
+        int index = sizes.indexAt(logical);
+        long start = sizes.offsetOf(index);
+        long end = start + sizes.getSize(index);
+        return logical - start <= end - logical ? start : end;
+    }
+    private static long getSnapPosition(long position, int cellSize) {
+        if(cellSize <= 0) {
+            return position;
+        }
+        return Math.round(position * 1.0 / cellSize) * cellSize;
     }
-    private void pushBouncyScroll(Point originPoint, float scrollX, float scrollY, float maxOverScrollX, float maxOverScrollY) {
-        //Judge if over scroll
-        Rect scrollBound = getScrollBound();
-        Rect overRect = getOverScrollRect(originPoint);
 
-        //adjust X
-        if(overRect.left - scrollX > 0 && scrollX < 0) {
-            //pull right, left over
-            float delta = 0;
-            //fix x to none hard bound
-            if(overRect.left < 0) {
-                // just left over
-                delta = overRect.left - scrollX;
-                originPoint.x -= overRect.left;
-                overRect.left = 0;
-            } else {
-                delta = -scrollX;
-            }
-            delta = calcBouncyDistance(delta, overRect.left, maxOverScrollX);
-            originPoint.x += delta;
-        } else if(overRect.right + scrollX > 0 && scrollX > 0){
-            //pull left, right over
-            float delta = 0;
-            //fix x to none hard bound
-            if(overRect.right < 0) {
-                // just right over
-                delta = overRect.right + scrollX;
-                originPoint.x += overRect.right;
-                overRect.right = 0;
-            } else {
-                delta = scrollX;
-            }
-            delta = calcBouncyDistance(delta, overRect.right, maxOverScrollX);
-            originPoint.x -= delta;
-        } else {
-            originPoint.x -= scrollX;
+    private static long getSnapOffset(float velocity, float resist, long distance, float t) {
+        if(resist <= 0 || t >= velocity / resist) {
+            return distance;
         }
-        originPoint.x = Math.min(originPoint.x, (int) (scrollBound.left + maxOverScrollX));
-        originPoint.x = Math.max(originPoint.x, (int) (-scrollBound.right-maxOverScrollX));
+        return (long)(Math.signum(distance) * (velocity * t - resist * t * t / 2));
+    }
 
-        //adjust Y
-        if(overRect.top - scrollY > 0 && scrollY < 0) {
-            //pull down, top over
-            float delta = 0;
-            //fix y to none hard bound
-            if(overRect.top < 0) {
-                // just top over
-                delta = overRect.top - scrollY;
-                originPoint.y += overRect.top;
-                overRect.top = 0;
-            } else {
-                delta = -scrollY;
+    private Runnable mSnapFlingRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if(!mIsSnapFlinging) {
+                return ;
             }
-            delta = calcBouncyDistance(delta, overRect.top, maxOverScrollY);
-            originPoint.y += delta;
-        } else if(overRect.bottom + scrollY > 0 && scrollY > 0){
-            //pull up, bottom over
-            float delta = 0;
-            //fix y to none hard bound
-            if(overRect.bottom < 0) {
-                // just right over
-                delta = overRect.bottom + scrollY;
-                originPoint.y += overRect.bottom;
-                overRect.bottom = 0;
+            float t = (SystemClock.uptimeMillis() - mSnapStartTime) / 1000.f;
+            mContentOriginPoint.x = mSnapStart.x + getSnapOffset(mSnapVelocityX, mSnapResistX, mSnapTarget.x - mSnapStart.x, t);
+            mContentOriginPoint.y = mSnapStart.y + getSnapOffset(mSnapVelocityY, mSnapResistY, mSnapTarget.y - mSnapStart.y, t);
+            onOriginChanged();
+            if(mContentOriginPoint.x == mSnapTarget.x && mContentOriginPoint.y == mSnapTarget.y) {
+                //landed
+                mIsSnapFlinging = false;
+                mSnapTargetBound = null;
+                mFlingStack = 0;
             } else {
-                delta = scrollY;
+                postOnAnimationCompat(this);
             }
-            delta = calcBouncyDistance(delta, overRect.bottom, maxOverScrollY);
-            originPoint.y -= delta;
-        } else {
-            originPoint.y -= scrollY;
         }
-        originPoint.y = Math.min(originPoint.y, (int) (scrollBound.top + maxOverScrollY));
-        originPoint.y = Math.max(originPoint.y, (int) (-scrollBound.bottom - maxOverScrollY));
+    };
+
+    private void cancelSnapFling() {
+        if(mIsSnapFlinging) {
+            mIsSnapFlinging = false;
+            mSnapTargetBound = null;
+            mFlingStack = 0;
+            removeCallbacks(mSnapFlingRunnable);
+        }
     }
-    private void updateBounceBusiness() {
-        /** check over scroll for 4 directions and trigger their events */
-        Rect overRect = getOverScrollRect(mContentOriginPoint);
-        boolean hasOverScroll = false;
-        ArrayList<OverScrollModel> overScrollList4By = new ArrayList<OverScrollModel>();
-        ArrayList<OverScrollModel> overScrollList4Release = new ArrayList<OverScrollModel>();
-        if(overRect.left > 0) {
-            hasOverScroll = true;
-            if(mOverScrollViews[OVER_SCROLL_LEFT] != null) {
-                mOverScrollViews[OVER_SCROLL_LEFT].setVisibility(View.VISIBLE);
-                layoutOverScrollView(OVER_SCROLL_LEFT);
-                if(mOverScrollListener != null) {
-                    float degree = overRect.left * 1.f/mOverScrollViews[OVER_SCROLL_LEFT].getMeasuredWidth();
-                    if(mIsTouchScrolling) {
-                        overScrollList4By.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_LEFT], OVER_SCROLL_LEFT, degree));
-                    }
-                    if(mHasTouchRelease) {
-                        overScrollList4Release.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_LEFT], OVER_SCROLL_LEFT, degree));
-                    }
-                }
-            }
-        } else {
-            if(mOverScrollViews[OVER_SCROLL_LEFT] != null) {
-                mOverScrollViews[OVER_SCROLL_LEFT].setVisibility(View.INVISIBLE);
-            }
-        }
-        if(overRect.right > 0) {
-            hasOverScroll = true;
-            if(mOverScrollViews[OVER_SCROLL_RIGHT] != null) {
-                mOverScrollViews[OVER_SCROLL_RIGHT].setVisibility(View.VISIBLE);
-                layoutOverScrollView(OVER_SCROLL_RIGHT);
-                if(mOverScrollListener != null) {
-                    float degree = overRect.right * 1.f/mOverScrollViews[OVER_SCROLL_RIGHT].getMeasuredWidth();
-                    if(mIsTouchScrolling) {
-                        overScrollList4By.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_RIGHT], OVER_SCROLL_RIGHT, degree));
-                    }
-                    if(mHasTouchRelease) {
-                        overScrollList4Release.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_RIGHT], OVER_SCROLL_RIGHT, degree));
-                    }
-                }
-            }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postOnAnimationCompat(Runnable action) {
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postOnAnimation(action);
         } else {
-            if(mOverScrollViews[OVER_SCROLL_RIGHT] != null) {
-                mOverScrollViews[OVER_SCROLL_RIGHT].setVisibility(View.INVISIBLE);
-            }
-        }
-        if(overRect.top > 0) {
-            hasOverScroll = true;
-            if(mOverScrollViews[OVER_SCROLL_TOP] != null) {
-                mOverScrollViews[OVER_SCROLL_TOP].setVisibility(View.VISIBLE);
-                layoutOverScrollView(OVER_SCROLL_TOP);
-                if(mOverScrollListener != null) {
-                    float degree = overRect.top * 1.f/mOverScrollViews[OVER_SCROLL_TOP].getMeasuredHeight();
-                    if(mIsTouchScrolling) {
-                        overScrollList4By.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_TOP], OVER_SCROLL_TOP, degree));
-                    }
-                    if(mHasTouchRelease) {
-                        overScrollList4Release.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_TOP], OVER_SCROLL_TOP, degree));
-                    }
-                }
+            postDelayed(action, 16);
+        }
+    }
+
+    /**
+     * Fix an origin point according to scroll bound
+     * @param originPoint the point to be adjusted
+     */
+    private void fixBound(LongPoint originPoint) {
+        LongRect scrollBound = getScrollBound();
+        originPoint.x = Math.max(Math.min(-scrollBound.left, originPoint.x), -scrollBound.right);
+        originPoint.y = Math.max(Math.min(-scrollBound.top, originPoint.y), -scrollBound.bottom);
+    }
+
+    /** Item events */
+    static public interface OnItemClickListener{
+        /**
+         * Perform when a row title is clicked
+         * @param listView the parent cross list
+         * @param index row index of clicked item
+         */
+        public void onRowTitleClicked(CrossList listView, int index);
+        /**
+         * Perform when a column title is clicked
+         * @param listView the parent cross list
+         * @param index column index of clicked item
+         */
+        public void onColumnTitleClicked(CrossList listView, int index);
+        /**
+         * Perform when a content item is clicked
+         * @param listView the parent cross list
+         * @param row row index for clicked item
+         * @param col col index of clicked item
+         */
+        public void onContentItemClicked(CrossList listView, int row, int col);
+    }
+    private OnItemClickListener mItemClickListener = null;
+    public void setItemClickListener(OnItemClickListener listener) {
+        mItemClickListener = listener;
+    }
+
+    /**
+     * Table head shadows:enable shadow bound between titles and contents
+     * Shadows are cached drawables drawn in #dispatchDraw above all children,
+     * instead of views with 9-patch backgrounds
+     */
+    private Drawable mTableHeadBottomShadow = null;
+    private Drawable mTableHeadRightShadow = null;
+    private Drawable mRowTitleShadow = null;
+    private Drawable mColTitleShadow = null;
+    private int mRowTitleShadowSize = 10;
+    private int mColTitleShadowSize = 10;
+
+    private int mTableHeadBottomShadowRes = 0;
+    private int mTableHeadRightShadowRes = 0;
+    private int mRowTitleShadowRes = 0;
+    private int mColTitleShadowRes = 0;
+
+    private void loadShadowDrawables() {
+        if(mRowTitleShadow == null && mRowTitleShadowRes != 0) {
+            mRowTitleShadow = getResources().getDrawable(mRowTitleShadowRes);
+        }
+        if(mColTitleShadow == null && mColTitleShadowRes != 0) {
+            mColTitleShadow = getResources().getDrawable(mColTitleShadowRes);
+        }
+        if(mTableHeadBottomShadow == null && mTableHeadBottomShadowRes != 0) {
+            mTableHeadBottomShadow = getResources().getDrawable(mTableHeadBottomShadowRes);
+        }
+        if(mTableHeadRightShadow == null && mTableHeadRightShadowRes != 0) {
+            mTableHeadRightShadow = getResources().getDrawable(mTableHeadRightShadowRes);
+        }
+    }
+
+    private void updateShadowBounds() {
+        loadShadowDrawables();
+        Rect tableHead = getViewLocByIndex(-1, -1);
+        int right = getMeasuredWidth() - getPaddingRight();
+        int bottom = getMeasuredHeight() - getPaddingBottom();
+        if(mRowTitleShadow != null) {
+            mRowTitleShadow.setBounds(tableHead.right, tableHead.bottom, right, tableHead.bottom + mRowTitleShadowSize);
+        }
+        if(mColTitleShadow != null) {
+            mColTitleShadow.setBounds(tableHead.right, tableHead.bottom, tableHead.right + mColTitleShadowSize, bottom);
+        }
+        if(mTableHeadBottomShadow != null) {
+            mTableHeadBottomShadow.setBounds(tableHead.left, tableHead.bottom,
+                    tableHead.right + mColTitleShadowSize, tableHead.bottom + mRowTitleShadowSize);
+        }
+        if(mTableHeadRightShadow != null) {
+            mTableHeadRightShadow.setBounds(tableHead.right, tableHead.top,
+                    tableHead.right + mColTitleShadowSize, tableHead.bottom + mRowTitleShadowSize);
+        }
+    }
+
+    /**
+     * Update table head view
+     */
+    private void updateTableHeader() {
+        if(mTableHeader == null) {
+            Rect headRect = getViewLocByIndex(-1, -1);
+            mTableHeader = obtainTableHeaderView();
+            if(mTableHeader != null) {
+                addAndMeasureChild(mTableHeader, -1, headRect.width(), headRect.height());
+                mTableHeader.layout(headRect.left, headRect.top, headRect.right, headRect.bottom);
             }
-        } else {
-            if(mOverScrollViews[OVER_SCROLL_TOP] != null) {
-                mOverScrollViews[OVER_SCROLL_TOP].setVisibility(View.INVISIBLE);
-            }
-        }
-        if(overRect.bottom > 0) {
-            hasOverScroll = true;
-            if(mOverScrollViews[OVER_SCROLL_BOTTOM] != null) {
-                mOverScrollViews[OVER_SCROLL_BOTTOM].setVisibility(View.VISIBLE);
-                layoutOverScrollView(OVER_SCROLL_BOTTOM);
-                if(mOverScrollListener != null) {
-                    float degree = overRect.bottom * 1.f/mOverScrollViews[OVER_SCROLL_BOTTOM].getMeasuredHeight();
-                    if(mIsTouchScrolling) {
-                        overScrollList4By.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_BOTTOM], OVER_SCROLL_BOTTOM, degree));
-                    }
-                    if(mHasTouchRelease) {
-                        overScrollList4Release.add(new OverScrollModel(mOverScrollViews[OVER_SCROLL_BOTTOM], OVER_SCROLL_BOTTOM, degree));
-                    }
-                }
+        }
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+        drawSnapshot(canvas);
+        drawSearchMatches(canvas);
+        drawSelection(canvas);
+        //shadows are above all children, table head shadows above title shadows
+        if(mRowTitleShadow != null) {
+            mRowTitleShadow.draw(canvas);
+        }
+        if(mColTitleShadow != null) {
+            mColTitleShadow.draw(canvas);
+        }
+        if(mTableHeadBottomShadow != null) {
+            mTableHeadBottomShadow.draw(canvas);
+        }
+        if(mTableHeadRightShadow != null) {
+            mTableHeadRightShadow.draw(canvas);
+        }
+    }
+
+    /**
+     * Over-scroll views are clipped to the content region, so that nothing is drawn under titles
+     * Strips are clipped to their own bounds already
+     */
+    @Override
+    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+        if(!isOverScrollView(child)) {
+            return super.drawChild(canvas, child, drawingTime);
+        }
+        int saveCount = canvas.save();
+        canvas.clipRect(mContentStrip.getLeft(), mContentStrip.getTop(), mContentStrip.getRight(), mContentStrip.getBottom());
+        boolean more = super.drawChild(canvas, child, drawingTime);
+        canvas.restoreToCount(saveCount);
+        return more;
+    }
+
+    private boolean isOverScrollView(View child) {
+        for(View view : mOverScrollViews) {
+            if(view == child) {
+                return true;
             }
+        }
+        return false;
+    }
+
+    /**
+     * Export the whole grid to images strip by strip, through the adapter and the cell geometry
+     * of this list; the export starts in the next main thread loop
+     * @see GridExporter
+     */
+    public GridExporter exportGrid(GridExporter.StripOutput output, GridExporter.ExportListener listener) {
+        if(mAdapter == null) {
+            return null;
+        }
+        GridExporter exporter = new GridExporter(this, output, listener);
+        exporter.start();
+        return exporter;
+    }
+
+    /**
+     * Geometry for GridExporter, by the sizes and the masks of this list
+     * A hidden item is 0 wide or high, and takes no space
+     */
+    int getCellWidth(int col) {
+        return isColumnVisible(col) ? getColumnWidth(col) : 0;
+    }
+    int getCellHeight(int row) {
+        return isRowVisible(row) ? getRowHeight(row) : 0;
+    }
+    long getCellLeft(int col) {
+        return getLogicalLeft(col);
+    }
+    long getCellTop(int row) {
+        return getLogicalTop(row);
+    }
+    int getRowTitleHeight() {
+        return mRowTitleHeight;
+    }
+    int getColumnTitleWidth() {
+        return mColumnTitleWidth;
+    }
+
+    /**
+     * Text layout business
+     * Labels of the visible window, the window one screen around it and the landing window of a
+     * snapping fling are precomputed in worker threads, in that order
+     * @see TextLayoutCache
+     */
+    private TextLayoutCache mTextLayoutCache = null;
+    public void setTextLayoutCache(TextLayoutCache cache) {
+        if(mTextLayoutCache != null) {
+            mTextLayoutCache.cancelPrecompute();
+        }
+        mTextLayoutCache = cache;
+        requestLayout();
+    }
+    public TextLayoutCache getTextLayoutCache() {
+        return mTextLayoutCache;
+    }
+
+    private void precomputeTextLayouts(Rect indexBound) {
+        if(mTextLayoutCache == null || !mAdapter.hasContentText()) {
+            return ;
+        }
+        int cols = indexBound.width() + 1;
+        int rows = indexBound.height() + 1;
+        Rect prefetch = new Rect(indexBound.left - cols, indexBound.top - rows,
+                indexBound.right + cols, indexBound.bottom + rows);
+        if(mSnapTargetBound != null) {
+            mTextLayoutCache.precompute(mAdapter, indexBound, prefetch, mSnapTargetBound);
         } else {
-            if(mOverScrollViews[OVER_SCROLL_BOTTOM] != null) {
-                mOverScrollViews[OVER_SCROLL_BOTTOM].setVisibility(View.INVISIBLE);
-            }
+            mTextLayoutCache.precompute(mAdapter, indexBound, prefetch);
+        }
+    }
+
+    /**
+     * Memory budget business
+     * Spare views are bounded by the budget; on trim levels of the system, recyclers, the text
+     * layout cache and the cache of the data source shrink by stages, and all of them are
+     * released on detach. Levels are received by ComponentCallbacks2 from API 14, apps could
+     * forward them by #trimMemory on older systems
+     * @see MemoryBudget
+     */
+    private MemoryBudget mMemoryBudget = new MemoryBudget(1f);
+    private MemoryBudget.OnMemoryTrimListener mMemoryTrimListener = null;
+    private ComponentCallbacks mTrimCallbacks = null;
+    private int mScreenViewCount = 0;
+
+    public void setMemoryBudget(MemoryBudget budget) {
+        mMemoryBudget = budget;
+        trimRecyclers(getMaxRecycledViews());
+    }
+    public MemoryBudget getMemoryBudget() {
+        return mMemoryBudget;
+    }
+    public void setOnMemoryTrimListener(MemoryBudget.OnMemoryTrimListener listener) {
+        mMemoryTrimListener = listener;
+    }
+
+    private int getMaxRecycledViews() {
+        if(mScreenViewCount == 0) {
+            mScreenViewCount = getScreenViewCount();
+        }
+        return mMemoryBudget.getMaxRecycledViews(mScreenViewCount);
+    }
+
+    /**
+     * Trim caches for a level of ComponentCallbacks2#onTrimMemory
+     */
+    public void trimMemory(int level) {
+        int stage = mMemoryBudget.getStage(level);
+        if(stage != MemoryBudget.STAGE_NONE) {
+            trimToStage(level, stage);
+        }
+    }
+
+    private void trimToStage(int level, int stage) {
+        MemoryBudget.Usage before = mMemoryTrimListener == null ? null : getMemoryUsage();
+        float keepRatio = mMemoryBudget.getKeepRatio(stage);
+        trimRecyclers((int)(getMaxRecycledViews() * keepRatio));
+        if(mTextLayoutCache != null) {
+            mTextLayoutCache.trimToRatio(keepRatio);
+        }
+        if(mDataSource != null) {
+            mDataSource.onTrimMemory(keepRatio);
+        }
+        if(stage >= MemoryBudget.STAGE_LOW) {
+            //only a cold-start aid, and a bitmap of the whole content region
+            releaseSnapshot();
         }
-        if(overScrollList4By.size() != 0) {
-            mOverScrollListener.onScrollOverBy(this, overScrollList4By);
+        if(stage >= MemoryBudget.STAGE_RELEASE) {
+            cancelPrewarm();
         }
-        if(overScrollList4Release.size() != 0) {
-            mOverScrollListener.onScrollOverRelease(this, overScrollList4Release);
+        if(mMemoryTrimListener != null) {
+            mMemoryTrimListener.onMemoryTrimmed(this, level, stage, before, getMemoryUsage());
         }
+    }
 
-        //clear ACTION_UP
-        mHasTouchRelease = false;
+    /**
+     * @return memory used by caches of this list now
+     */
+    public MemoryBudget.Usage getMemoryUsage() {
+        MemoryBudget.Usage usage = new MemoryBudget.Usage();
+        usage.recycledViews = getRecycledCount();
+        if(mTextLayoutCache != null) {
+            usage.textLayoutBytes = mTextLayoutCache.getSize();
+        }
+        if(mSnapshot != null && mSnapshot.bitmap != null) {
+            usage.snapshotBytes = (long)mSnapshot.bitmap.getRowBytes() * mSnapshot.bitmap.getHeight();
+        }
+        if(mAdapter instanceof PrimitiveGridAdapter) {
+            usage.gridValueBytes = ((PrimitiveGridAdapter)mAdapter).getValueBytes();
+        }
+        if(mDataSource != null) {
+            usage.dataSourceCacheSize = mDataSource.getCacheSize();
+        }
+        return usage;
+    }
 
-        //bounce back if needed
-        if(!mIsTouchScrolling && mFlingStack == 0 && hasOverScroll && mBounceEnable) {
-            int deltaX = mTitleOriginPoint.x - mContentOriginPoint.x;
-            int deltaY = mTitleOriginPoint.y - mContentOriginPoint.y;
-            smoothlyMoveBy(deltaX, deltaY);
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        registerTrimCallbacks();
+        if(mAdapter != null && isAutoSizeEnabled()) {
+            //measuring stopped on detach, sizes measured before are kept
+            startMeasureSizes();
         }
     }
 
-    private final long BounceTime = 300;
     /**
-     * Start a scroll animation to a fixed point
-     * @param deltaX 0 if don't move
-     * @param deltaY 0 if don't move
-     * @param originPoint the origin point to be moved
-     * @return true if start success, else false
+     * Background work and frame callbacks keep a detached list alive and busy, stop them all;
+     * matches found by a search so far are kept
      */
-    private boolean mIsSmoothlyMovingX = false;
-    private boolean mIsSmoothlyMovingY = false;
-    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-    private boolean smoothlyMoveBy(final int deltaX, final int deltaY) {
-        if(deltaX == 0 && deltaY == 0) {
-            //necessary movement
-            return false;
-        }
-        if(mIsSmoothlyMovingX && deltaX != 0 || mIsSmoothlyMovingY && deltaY != 0) {
-            //other movement processing
-            return false;
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        unregisterTrimCallbacks();
+        stopMoving();
+        mMeasureGeneration++;
+        cancelPrewarm();
+        if(mIsPrewarmIdleAdded) {
+            Looper.myQueue().removeIdleHandler(mPrewarmIdleHandler);
+            mIsPrewarmIdleAdded = false;
+        }
+        if(mTextLayoutCache != null) {
+            mTextLayoutCache.cancelPrecompute();
+        }
+        if(mSearch != null) {
+            mSearch.cancel();
+        }
+        trimToStage(-1, MemoryBudget.STAGE_RELEASE);
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private void registerTrimCallbacks() {
+        if(Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH || mTrimCallbacks != null) {
+            return ;
         }
-        mIsSmoothlyMovingX = (deltaX != 0);
-        mIsSmoothlyMovingY = (deltaY != 0);
-        final Point startPoint = new Point(mContentOriginPoint);
-        final ValueAnimator animator = ValueAnimator.ofFloat(0.f, 1.f);
-        animator.setDuration(BounceTime);
-        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+        mTrimCallbacks = new ComponentCallbacks2() {
             @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float k = (Float) animation.getAnimatedValue();
-                if(deltaX !=0 ) {
-                    mContentOriginPoint.x = startPoint.x + (int) (deltaX * k);
-                }
-                if(deltaY != 0) {
-                    mContentOriginPoint.y = startPoint.y + (int) (deltaY * k);
-                }
-                mTitleOriginPoint.set(mContentOriginPoint.x, mContentOriginPoint.y);
-                fixBound(mTitleOriginPoint);
-                requestLayout();
+            public void onTrimMemory(int level) {
+                trimMemory(level);
             }
-        });
-        animator.addListener(new Animator.AnimatorListener() {
             @Override
-            public void onAnimationStart(Animator animation) {
-
+            public void onLowMemory() {
+                trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
             }
             @Override
-            public void onAnimationEnd(Animator animation) {
-                if(mIsSmoothlyMovingX && deltaX != 0) {
-                    mIsSmoothlyMovingX = false;
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+        };
+        getContext().getApplicationContext().registerComponentCallbacks(mTrimCallbacks);
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private void unregisterTrimCallbacks() {
+        if(mTrimCallbacks != null) {
+            getContext().getApplicationContext().unregisterComponentCallbacks(mTrimCallbacks);
+            mTrimCallbacks = null;
+        }
+    }
+
+    /**
+     * Cold-start snapshot business
+     * #saveSnapshot persists the visible window to the snapshot file, usually in Activity#onPause;
+     * on the next launch the snapshot restores the origin and is drawn over content items which
+     * are not ready, so they are replaced cell by cell as data arrives
+     * The snapshot is dropped if the grid doesn't fit it, or if the list moved before it's loaded
+     * @see CrossListAdapter#isContentReady(int, int)
+     */
+    private File mSnapshotFile = null;
+    private ViewportSnapshot mSnapshot = null;
+    private boolean mSnapshotOriginPending = false;
+    private int mSnapshotGeneration = 0;
+    private Rect mSnapshotSrc = new Rect();
+    private Rect mSnapshotDst = new Rect();
+    /** Anchor keys of snapshot items which were not ready, checked again when they are bound */
+    private HashSet<Long> mSnapshotPending = new HashSet<Long>();
+
+    /**
+     * Enable the snapshot with a file on local storage, the file is loaded in a background thread
+     * @param file null to disable
+     */
+    public void setSnapshotFile(File file) {
+        mSnapshotFile = file;
+        releaseSnapshot();
+        if(file == null) {
+            return ;
+        }
+        final int generation = ++mSnapshotGeneration;
+        ViewportSnapshot.load(file, new ViewportSnapshot.OnLoadedListener() {
+            @Override
+            public void onLoaded(ViewportSnapshot snapshot) {
+                if(snapshot == null) {
+                    return ;
                 }
-                if(mIsSmoothlyMovingY && deltaY != 0) {
-                    mIsSmoothlyMovingY = false;
+                if(generation != mSnapshotGeneration || mContentOriginPoint.x != 0 || mContentOriginPoint.y != 0) {
+                    snapshot.release();
+                    return ;
                 }
+                mSnapshot = snapshot;
+                mSnapshotOriginPending = true;
                 requestLayout();
+                invalidate();
             }
-            @Override
-            public void onAnimationCancel(Animator animation) {
-
-            }
-            @Override
-            public void onAnimationRepeat(Animator animation) {
+        });
+    }
 
+    /**
+     * Save the visible window to the snapshot file; the content region is drawn here and
+     * encoded in a background thread
+     * @return false if nothing is saved, such as the visible items are not all ready;
+     * a snapshot is laid out by uniform cells, so auto-size mode saves nothing
+     */
+    public boolean saveSnapshot() {
+        if(mSnapshotFile == null || mAdapter == null || mSnapshot != null || isAutoSizeEnabled()
+                || mAdapter.getRowCount() <= 0 || mAdapter.getColumnCount() <= 0
+                || mContentStrip.getWidth() <= 0 || mContentStrip.getHeight() <= 0) {
+            return false;
+        }
+        Rect indexBound = getVisibleBoundIndex();
+        for(int row=indexBound.top;row<=indexBound.bottom;row++) {
+            for(int col=indexBound.left;col<=indexBound.right;col++) {
+                if(isRowVisible(row) && isColumnVisible(col) && !mAdapter.isContentReady(row, col)) {
+                    //keep the last snapshot rather than placeholders
+                    return false;
+                }
             }
-        });
-        animator.start();
+        }
+        ViewportSnapshot snapshot = new ViewportSnapshot();
+        try {
+            snapshot.bitmap = Bitmap.createBitmap(mContentStrip.getWidth(), mContentStrip.getHeight(), Bitmap.Config.ARGB_8888);
+        } catch (OutOfMemoryError e) {
+            return false;
+        }
+        Canvas canvas = new Canvas(snapshot.bitmap);
+        canvas.translate(-mContentStrip.getScrollX(), -mContentStrip.getScrollY());
+        mContentStrip.draw(canvas);
+        snapshot.titleOrigin.set(mTitleOriginPoint.x, mTitleOriginPoint.y);
+        snapshot.contentOrigin.set(mContentOriginPoint.x, mContentOriginPoint.y);
+        snapshot.indexBound.set(indexBound);
+        snapshot.cellWidth = mRowTitleWidth;
+        snapshot.cellHeight = mColumnTitleHeight;
+        snapshot.rowCount = mAdapter.getRowCount();
+        snapshot.colCount = mAdapter.getColumnCount();
+        snapshot.save(mSnapshotFile);
         return true;
     }
 
-    public void showOverScrollView(int type) {
-        if(type < 0 || type >= mOverScrollViews.length || mOverScrollViews[type] == null) {
-            return ;
-        }
-        View view = mOverScrollViews[type];
-        Rect scrollBound = getScrollBound();
-        if(type == OVER_SCROLL_LEFT) {
-            int deltaX = scrollBound.left + view.getMeasuredWidth() - mContentOriginPoint.x;
-            smoothlyMoveBy(deltaX, 0);
-        } else if(type == OVER_SCROLL_RIGHT) {
-            int deltaX = scrollBound.right - getMeasuredWidth() - view.getMeasuredWidth() - mContentOriginPoint.x;
-            smoothlyMoveBy(deltaX, 0);
-        } else if(type == OVER_SCROLL_TOP) {
-            int deltaY = scrollBound.top + view.getMeasuredHeight() - mContentOriginPoint.y;
-            smoothlyMoveBy(0, deltaY);
-        } else if(type == OVER_SCROLL_BOTTOM) {
-            int deltaY = scrollBound.bottom - getMeasuredHeight() - view.getMeasuredHeight() - mContentOriginPoint.y;
-            smoothlyMoveBy(0, deltaY);
+    private void releaseSnapshot() {
+        mSnapshotGeneration++;
+        mSnapshotOriginPending = false;
+        mSnapshotPending.clear();
+        if(mSnapshot != null) {
+            mSnapshot.release();
+            mSnapshot = null;
+            invalidate();
         }
     }
-    public void hideOverScrollView(int type) {
-        if(type < 0 || type >= mOverScrollViews.length || mOverScrollViews[type] == null) {
+
+    private void applySnapshotOrigin() {
+        mSnapshotOriginPending = false;
+        if(isAutoSizeEnabled() || !mSnapshot.fits(mRowTitleWidth, mColumnTitleHeight, mAdapter.getRowCount(), mAdapter.getColumnCount())) {
+            releaseSnapshot();
             return ;
         }
-        if(type == OVER_SCROLL_LEFT || type == OVER_SCROLL_RIGHT) {
-            int deltaX = mTitleOriginPoint.x - mContentOriginPoint.x;
-            smoothlyMoveBy(deltaX, 0);
-        } else {
-            int deltaY = mTitleOriginPoint.y - mContentOriginPoint.y;
-            smoothlyMoveBy(0, deltaY);
+        mContentOriginPoint.set(mSnapshot.contentOrigin.x, mSnapshot.contentOrigin.y);
+        fixBound(mContentOriginPoint);
+        mTitleOriginPoint.set(mContentOriginPoint.x, mContentOriginPoint.y);
+        if(mGroup != null) {
+            mGroup.onPlacementChanged(this);
+        }
+        //the only full scan, later checks happen as items are bound
+        mSnapshotPending.clear();
+        Rect bound = mSnapshot.indexBound;
+        for(int row=bound.top;row<=bound.bottom;row++) {
+            for(int col=bound.left;col<=bound.right;col++) {
+                if(!isRowVisible(row) || !isColumnVisible(col)) {
+                    continue;
+                }
+                long anchor = getAnchorKey(row, col);
+                if(!mSnapshotPending.contains(anchor) && !mAdapter.isContentReady((int)(anchor>>32), (int)anchor)) {
+                    mSnapshotPending.add(anchor);
+                }
+            }
         }
     }
 
-    private Runnable mPendingScroll = null;
     /**
-     * Scroll to ensure item at (row, col) will be conspicuous
-     * @param row the row index of the item
-     * @param col the col index of the item
+     * A content item was bound, the snapshot stops covering it once it's ready
+     * and is released when no item is left
      */
-    public void scrollTo(final int row, final int col) {
-        mPendingScroll = new Runnable() {
-            @Override
-            public void run() {
-                Rect curRect = getViewLocByIndex(row, col);
-                Point dstPoint = new Point(getMeasuredWidth()/2, getMeasuredHeight()/2);
-                pushHardScroll(mTitleOriginPoint, curRect.left - dstPoint.x, curRect.top - dstPoint.y);
-                pushHardScroll(mContentOriginPoint, curRect.left - dstPoint.x, curRect.top - dstPoint.y);
+    private void onSnapshotItemBound(int row, int col) {
+        if(mSnapshot == null || mSnapshotOriginPending) {
+            return ;
+        }
+        long key = getKey(row, col);
+        if(mSnapshotPending.contains(key) && mAdapter.isContentReady(row, col)) {
+            mSnapshotPending.remove(key);
+            if(mSnapshotPending.isEmpty()) {
+                releaseSnapshot();
+            } else {
+                invalidate();
             }
-        };
-        requestLayout();
+        }
     }
 
     /**
-     * Maintain fling business
-     * XXX:fling values show be configurable
+     * Draw the snapshot over the pending items, a merged item is drawn cell by cell
+     * Items out of the visible window are never bound, their readiness is checked here
      */
-    private long mFlingFrame = 0;
-    private Point mPendingFling = new Point();
-    private int mFlingStack = 0;//Used to ensure only one fling work at a time
-    private boolean mHoldFling;
-    private void startFling(int velocX, int velocY) {
-        if(mFlingStack == 0) { //No fling currently, start new fling
-            mFlingStack = 1;
-            mHoldFling = true;
-
-            final int dirX = velocX>0?1:-1;
-            final int dirY = velocY>0?1:-1;
-            velocX = Math.abs(velocX);
-            velocY = Math.abs(velocY);
-            final Point curSpeed = new Point(velocX, velocY);
-            final float normalResistX = velocX*1.5f;
-            final float normalResistY = velocY*1.5f;
-            mFlingFrame = System.currentTimeMillis();
-            final int boundBackSpeed = 400;// px/s
-
-            this.postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    //Check if the current fling is canceled
-                    if(mHoldFling == false) {
-                        mFlingStack = 0;
-                        return ;
-                    }
-                    if(mFlingStack > 1) { //New fling pending
-                        mFlingStack = 0;
-                        startFling(mPendingFling.x, mPendingFling.y);
-                        return ;
-                    }
-                    //Else update current fling
-                    long curFrame = System.currentTimeMillis();
-                    long interval = curFrame - mFlingFrame;
-                    mFlingFrame = curFrame;
-
-                    float deltaX = dirX * curSpeed.x * interval / 1000;
-                    float deltaY = dirY * curSpeed.y * interval / 1000;
-                    pushBouncyScroll(mContentOriginPoint, -deltaX, -deltaY, mMaxOverScrollX, mMaxOverScrollY);
-                    Rect overRect = getOverScrollRect(mContentOriginPoint);
-                    //update speed,add resist if bouncy
-                    float resistX = normalResistX;
-                    float resistY = normalResistY;
-                    if(overRect.left > 0 && dirX > 0 && curSpeed.x > 0 ||
-                            overRect.right> 0 && dirX < 0 && curSpeed.x > 0) {
-                        float over = overRect.left>0?overRect.left:overRect.right;
-                        if(over > mMaxOverScrollX/2) {
-                            curSpeed.x = 0;
-                        } else {
-                            resistX += normalResistX * 2 * (over/mMaxOverScrollX);
-                        }
-                    }
-                    if(overRect.top > 0 && dirY > 0 && curSpeed.y > 0 ||
-                            overRect.bottom > 0 && dirY < 0 && curSpeed.y > 0) {
-                        float over = overRect.top>0?overRect.top:overRect.bottom;
-                        if(over > mMaxOverScrollY/2) {
-                            curSpeed.y = 0;
-                        }else {
-                            resistY += normalResistY * 2 * (over/mMaxOverScrollY);
-                        }
-                    }
-                    curSpeed.x = (int)Math.max(curSpeed.x - resistX*interval/1000, 0);
-                    curSpeed.y = (int)Math.max(curSpeed.y - resistY*interval/1000, 0);
-
-                    //try to bounce back if needed
-                    float bounceBack = boundBackSpeed*interval/1000;
-                    if(overRect.left > 0 && curSpeed.x == 0) {
-                        float bounceBackX = Math.min(overRect.left, bounceBack);
-                        mContentOriginPoint.x -= bounceBackX;
-                        overRect.left -= bounceBackX;
-                    } else if(overRect.right > 0 && curSpeed.x == 0) {
-                        float bounceBackX = Math.min(overRect.right, bounceBack);
-                        mContentOriginPoint.x += bounceBackX;
-                        overRect.right -= bounceBackX;
+    private void drawSnapshot(Canvas canvas) {
+        if(mSnapshot == null || mSnapshotOriginPending || mAdapter == null) {
+            return ;
+        }
+        if(mSnapshotPending.isEmpty()) {
+            releaseSnapshot();
+            return ;
+        }
+        Rect visible = getVisibleBoundIndex();
+        Rect bound = mSnapshot.indexBound;
+        Bitmap bitmap = mSnapshot.bitmap;
+        Rect tableHead = getViewLocByIndex(-1, -1);
+        int saveCount = canvas.save();
+        canvas.clipRect(mContentStrip.getLeft(), mContentStrip.getTop(), mContentStrip.getRight(), mContentStrip.getBottom());
+        Iterator<Long> iterator = mSnapshotPending.iterator();
+        while(iterator.hasNext()) {
+            long anchor = iterator.next();
+            Rect itemBound = getContentIndexBound(anchor, mSpanBound);
+            if(!Rect.intersects(itemBound, visible)) {
+                if(mAdapter.isContentReady(itemBound.top, itemBound.left)) {
+                    iterator.remove();
+                }
+                continue;
+            }
+            int rowEnd = Math.min(itemBound.bottom, Math.min(bound.bottom, visible.bottom));
+            int colEnd = Math.min(itemBound.right, Math.min(bound.right, visible.right));
+            for(int row=Math.max(itemBound.top, Math.max(bound.top, visible.top));row<=rowEnd;row++) {
+                for(int col=Math.max(itemBound.left, Math.max(bound.left, visible.left));col<=colEnd;col++) {
+                    if(!isRowVisible(row) || !isColumnVisible(col)) {
+                        continue;
                     }
-                    if(overRect.top > 0 && curSpeed.y == 0) {
-                        float bounceBackY = Math.min(overRect.top, bounceBack);
-                        mContentOriginPoint.y -= bounceBackY;
-                        overRect.top -= bounceBackY;
-                    } else if(overRect.bottom > 0 && curSpeed.y == 0) {
-                        float bounceBackY = Math.min(overRect.bottom, bounceBack);
-                        mContentOriginPoint.y += bounceBackY;
-                        overRect.bottom -= bounceBackY;
+                    //pixels of the cell in the bitmap, clipped to the bitmap
+                    long srcLeft = getLogicalLeft(col) + mSnapshot.contentOrigin.x;
+                    long srcTop = getLogicalTop(row) + mSnapshot.contentOrigin.y;
+                    long left = Math.max(srcLeft, 0);
+                    long top = Math.max(srcTop, 0);
+                    long right = Math.min(srcLeft + mRowTitleWidth, bitmap.getWidth());
+                    long bottom = Math.min(srcTop + mColumnTitleHeight, bitmap.getHeight());
+                    if(left >= right || top >= bottom) {
+                        continue;
                     }
+                    mSnapshotSrc.set((int)left, (int)top, (int)right, (int)bottom);
+                    long dstLeft = tableHead.right + mContentOriginPoint.x - mSnapshot.contentOrigin.x + left;
+                    long dstTop = tableHead.bottom + mContentOriginPoint.y - mSnapshot.contentOrigin.y + top;
+                    mSnapshotDst.set(clampToInt(dstLeft), clampToInt(dstTop),
+                            clampToInt(dstLeft + right - left), clampToInt(dstTop + bottom - top));
+                    canvas.drawBitmap(bitmap, mSnapshotSrc, mSnapshotDst, null);
+                }
+            }
+        }
+        canvas.restoreToCount(saveCount);
+        if(mSnapshotPending.isEmpty()) {
+            releaseSnapshot();
+        }
+    }
 
-                    mTitleOriginPoint.set(mContentOriginPoint.x, mContentOriginPoint.y);
-                    fixBound(mTitleOriginPoint);
-                    requestLayout();
+    /**
+     * Selection business
+     * Selection is drawn as an overlay in #dispatchDraw, changing it costs only a redraw,
+     * without binding any item or running a layout pass
+     * SELECTION_CELL: a single content item
+     * SELECTION_CROSSHAIR: a content item and its path to the row title and the column title
+     * SELECTION_RANGE: a rectangle of content items
+     */
+    static public final int SELECTION_NONE = 0;
+    static public final int SELECTION_CELL = 1;
+    static public final int SELECTION_CROSSHAIR = 2;
+    static public final int SELECTION_RANGE = 3;
+    private int mSelectionMode = SELECTION_NONE;
+    private Rect mSelectionRange = new Rect();//by index, both sides included
+    private Paint mSelectionPaint = new Paint();
+    private Paint mSelectionPathPaint = new Paint();
+    {
+        mSelectionPaint.setColor(0x553399ff);
+        mSelectionPathPaint.setColor(0x223399ff);
+    }
 
-                    if(curSpeed.x == 0 && curSpeed.y == 0 &&
-                            overRect.left <= 0 && overRect.right <= 0 && overRect.top <= 0 && overRect.bottom <= 0) {
-                        //a fling is finish
-                        mFlingStack--;
-                    } else { //start next frame
-                        CrossList.this.postDelayed(this, 16);
-                    }
-                }
-            }, 16);
-        } else {
-            //Add a pending fling work
-            mFlingStack++;
-            mPendingFling.set(velocX, velocY);
+    /**
+     * Select a single item
+     * @param mode #SELECTION_CELL or #SELECTION_CROSSHAIR
+     * @param row row index of the item
+     * @param col column index of the item
+     */
+    public void setSelection(int mode, int row, int col) {
+        if(mode != SELECTION_CELL && mode != SELECTION_CROSSHAIR) {
+            mode = SELECTION_CELL;
         }
+        mSelectionMode = mode;
+        mSelectionRange.set(col, row, col, row);
+        invalidate();
     }
+
     /**
-     * Fix an origin point according to scroll bound
-     * @param originPoint the point to be adjusted
+     * Select a rectangle of items
+     * @param indexRange range by index, both sides included
      */
-    private void fixBound(Point originPoint) {
-        Rect scrollBound = getScrollBound();
-        originPoint.x = Math.max(Math.min(-scrollBound.left, originPoint.x), -scrollBound.right);
-        originPoint.y = Math.max(Math.min(-scrollBound.top, originPoint.y), -scrollBound.bottom);
+    public void setSelectionRange(Rect indexRange) {
+        mSelectionMode = SELECTION_RANGE;
+        mSelectionRange.set(indexRange);
+        invalidate();
     }
 
-    /** Item events */
-    static public interface OnItemClickListener{
-        /**
-         * Perform when a row title is clicked
-         * @param listView the parent cross list
-         * @param index row index of clicked item
-         */
-        public void onRowTitleClicked(CrossList listView, int index);
-        /**
-         * Perform when a column title is clicked
-         * @param listView the parent cross list
-         * @param index column index of clicked item
-         */
-        public void onColumnTitleClicked(CrossList listView, int index);
-        /**
-         * Perform when a content item is clicked
-         * @param listView the parent cross list
-         * @param row row index for clicked item
-         * @param col col index of clicked item
-         */
-        public void onContentItemClicked(CrossList listView, int row, int col);
+    public void clearSelection() {
+        if(mSelectionMode != SELECTION_NONE) {
+            mSelectionMode = SELECTION_NONE;
+            invalidate();
+        }
     }
-    private OnItemClickListener mItemClickListener = null;
-    public void setItemClickListener(OnItemClickListener listener) {
-        mItemClickListener = listener;
+
+    public int getSelectionMode() {
+        return mSelectionMode;
     }
 
     /**
-     * Table head shadows:enable shadow bound between titles and contents
+     * @return selected range by index, both sides included
      */
-    private View mTableHeadBottomShadow = null;
-    private View mTableHeadRightShadow = null;
-    private View mRowTitleShadow = null;
-    private View mColTitleShadow = null;
-    private int mRowTitleShadowSize = 10;
-    private int mColTitleShadowSize = 10;
+    public Rect getSelectionRange() {
+        return new Rect(mSelectionRange);
+    }
 
-    private int mTableHeadBottomShadowRes = 0;
-    private int mTableHeadRightShadowRes = 0;
-    private int mRowTitleShadowRes = 0;
-    private int mColTitleShadowRes = 0;
+    /**
+     * @param itemColor color of selected items
+     * @param pathColor color of the path to titles in #SELECTION_CROSSHAIR mode
+     */
+    public void setSelectionColors(int itemColor, int pathColor) {
+        mSelectionPaint.setColor(itemColor);
+        mSelectionPathPaint.setColor(pathColor);
+        invalidate();
+    }
 
-    private void updateRowAndColShadows() {
-        if(mRowTitleShadowRes != 0 && mRowTitleShadow == null) {
-            mRowTitleShadow = new View(getContext());
-            Rect tableHead = getViewLocByIndex(-1, -1);
-            int shadowWidth = getMeasuredWidth() - tableHead.width();
-            addAndMeasureChild(mRowTitleShadow, -1, shadowWidth, mRowTitleShadowSize);
-            mRowTitleShadow.setBackgroundResource(mRowTitleShadowRes);
-            mRowTitleShadow.layout(tableHead.right, tableHead.bottom,
-                    tableHead.right + shadowWidth, tableHead.bottom + mRowTitleShadowSize);
-        }
-        if(mColTitleShadowRes != 0 && mColTitleShadow == null) {
-            mColTitleShadow = new View(getContext());
-            Rect tableHead = getViewLocByIndex(-1, -1);
-            int shadowHeight = getMeasuredHeight() - tableHead.height();
-            addAndMeasureChild(mColTitleShadow, -1, mColTitleShadowSize, shadowHeight);
-            mColTitleShadow.setBackgroundResource(mColTitleShadowRes);
-            mColTitleShadow.layout(tableHead.right, tableHead.bottom,
-                    tableHead.right+mColTitleShadowSize, tableHead.bottom+shadowHeight);
+    private Rect mDrawClipRect = new Rect();
+    private void drawSelection(Canvas canvas) {
+        if(mSelectionMode == SELECTION_NONE || mAdapter == null) {
+            return ;
+        }
+        Rect tableHead = getViewLocByIndex(-1, -1);
+        Rect range = mSelectionRange;
+        long contentX = tableHead.right + mContentOriginPoint.x;
+        long contentY = tableHead.bottom + mContentOriginPoint.y;
+        if(mSelectionMode == SELECTION_CROSSHAIR) {
+            long titleX = tableHead.right + mTitleOriginPoint.x;
+            long titleY = tableHead.bottom + mTitleOriginPoint.y;
+            //row title and items above the selected one
+            getStripBound(mRowTitleStrip, mDrawClipRect);
+            fillClippedRect(canvas, mSelectionPathPaint, titleX + getLogicalLeft(range.left), tableHead.top,
+                    titleX + getLogicalLeft(range.left + 1), tableHead.bottom, mDrawClipRect);
+            getStripBound(mContentStrip, mDrawClipRect);
+            fillClippedRect(canvas, mSelectionPathPaint, contentX + getLogicalLeft(range.left), contentY,
+                    contentX + getLogicalLeft(range.left + 1), contentY + getLogicalTop(range.top), mDrawClipRect);
+            //column title and items on the left of the selected one
+            getStripBound(mColTitleStrip, mDrawClipRect);
+            fillClippedRect(canvas, mSelectionPathPaint, tableHead.left, titleY + getLogicalTop(range.top),
+                    tableHead.right, titleY + getLogicalTop(range.top + 1), mDrawClipRect);
+            getStripBound(mContentStrip, mDrawClipRect);
+            fillClippedRect(canvas, mSelectionPathPaint, contentX, contentY + getLogicalTop(range.top),
+                    contentX + getLogicalLeft(range.left), contentY + getLogicalTop(range.top + 1), mDrawClipRect);
+        }
+        if(mSelectionMode != SELECTION_RANGE) {
+            //a selected merged item is filled as a whole
+            Rect span = mAdapter.getCellSpan(range.top, range.left);
+            if(span != null) {
+                range = span;
+            }
         }
+        getStripBound(mContentStrip, mDrawClipRect);
+        fillClippedRect(canvas, mSelectionPaint,
+                contentX + getLogicalLeft(range.left), contentY + getLogicalTop(range.top),
+                contentX + getLogicalLeft(range.right + 1), contentY + getLogicalTop(range.bottom + 1), mDrawClipRect);
     }
 
     /**
-     * Update table head view and its shadows
+     * Search business
+     * Matches of the current search are highlighted as an overlay under the selection;
+     * only matches in the visible rows are visited, found by binary search
+     * @see GridSearch
      */
-    private void updateTableHeader() {
-        if(mTableHeaderTracker == null) {
-            //add a container for table head to enable shadow
-            mTableHeaderTracker = new RelativeLayout(getContext());
-            mTableHeaderTracker.setBackgroundColor(0x00000000);
+    private GridSearch mSearch = null;
+    private Paint mSearchPaint = new Paint();
+    {
+        mSearchPaint.setColor(0x44ffaa00);
+    }
 
-            Rect headRect = getViewLocByIndex(-1, -1);
-            RelativeLayout.LayoutParams headParam = new RelativeLayout.LayoutParams(headRect.width(), headRect.height());
-            View tableHead = mAdapter.getTableHeaderView();
-            tableHead.setLayoutParams(headParam);
-            tableHead.measure(MeasureSpec.makeMeasureSpec(headRect.width(), MeasureSpec.EXACTLY),
-                    MeasureSpec.makeMeasureSpec(headRect.height(), MeasureSpec.EXACTLY));
-            mTableHeaderTracker.addView(tableHead);
+    /**
+     * Search content items by a predicate in background threads, the previous search is canceled
+     * @return the search, null if there is no adapter
+     */
+    public GridSearch search(GridSearch.Predicate predicate, GridSearch.SearchListener listener) {
+        clearSearch();
+        if(mAdapter == null) {
+            return null;
+        }
+        mSearch = new GridSearch(this, predicate, listener);
+        mSearch.start();
+        return mSearch;
+    }
+
+    public GridSearch getSearch() {
+        return mSearch;
+    }
+
+    /** Cancel the current search and remove its highlights */
+    public void clearSearch() {
+        if(mSearch != null) {
+            mSearch.cancel();
+            mSearch = null;
+            invalidate();
+        }
+    }
+
+    public void setSearchHighlightColor(int color) {
+        mSearchPaint.setColor(color);
+        invalidate();
+    }
+
+    void onSearchMatchesFound(GridSearch search) {
+        if(search == mSearch) {
+            invalidate();
+        }
+    }
 
-            if(mTableHeadBottomShadowRes != 0 && mTableHeadBottomShadow == null) {
-                mTableHeadBottomShadow = new View(getContext());
-                RelativeLayout.LayoutParams bottomParam = new RelativeLayout.LayoutParams(headRect.width()+mColTitleShadowSize,mRowTitleShadowSize);
-                bottomParam.addRule(RelativeLayout.ALIGN_PARENT_BOTTOM);
-                mTableHeadBottomShadow.measure(MeasureSpec.makeMeasureSpec(bottomParam.width, MeasureSpec.EXACTLY),
-                        MeasureSpec.makeMeasureSpec(bottomParam.height, MeasureSpec.EXACTLY));
-                mTableHeadBottomShadow.setLayoutParams(bottomParam);
-                mTableHeadBottomShadow.setBackgroundResource(mTableHeadBottomShadowRes);
-                mTableHeaderTracker.addView(mTableHeadBottomShadow);
+    private void drawSearchMatches(Canvas canvas) {
+        if(mSearch == null || mSearch.getMatchCount() == 0 || mAdapter == null) {
+            return ;
+        }
+        Rect tableHead = getViewLocByIndex(-1, -1);
+        long contentX = tableHead.right + mContentOriginPoint.x;
+        long contentY = tableHead.bottom + mContentOriginPoint.y;
+        Rect indexBound = getVisibleBoundIndex();
+        getStripBound(mContentStrip, mDrawClipRect);
+        for(int i=mSearch.findFirstMatch(indexBound.top);i<mSearch.getMatchCount();i++) {
+            long key = mSearch.getMatchKey(i);
+            int row = (int)(key>>32);
+            int col = (int)key;
+            if(row > indexBound.bottom) {
+                break;
             }
-            if(mTableHeadRightShadowRes != 0 && mTableHeadRightShadow == null) {
-                mTableHeadRightShadow = new View(getContext());
-                RelativeLayout.LayoutParams rightParam = new RelativeLayout.LayoutParams(mColTitleShadowSize,headRect.height()+mRowTitleShadowSize);
-                rightParam.addRule(RelativeLayout.ALIGN_PARENT_RIGHT);
-                mTableHeadRightShadow.measure(MeasureSpec.makeMeasureSpec(rightParam.width, MeasureSpec.EXACTLY),
-                        MeasureSpec.makeMeasureSpec(rightParam.height, MeasureSpec.EXACTLY));
-                mTableHeadRightShadow.setLayoutParams(rightParam);
-                mTableHeadRightShadow.setBackgroundResource(mTableHeadRightShadowRes);
-                mTableHeaderTracker.addView(mTableHeadRightShadow);
+            if(col < indexBound.left || col > indexBound.right) {
+                continue;
             }
+            fillClippedRect(canvas, mSearchPaint,
+                    contentX + getLogicalLeft(col), contentY + getLogicalTop(row),
+                    contentX + getLogicalLeft(col + 1), contentY + getLogicalTop(row + 1), mDrawClipRect);
+        }
+    }
 
-            addAndMeasureChild(mTableHeaderTracker, -1, headRect.width() + mColTitleShadowSize, headRect.height() + mRowTitleShadowSize);
-            mTableHeaderTracker.layout(headRect.left, headRect.top, headRect.right+mColTitleShadowSize, headRect.bottom+mRowTitleShadowSize);
+    private void getStripBound(StripContainer strip, Rect outRect) {
+        outRect.set(strip.getLeft(), strip.getTop(), strip.getRight(), strip.getBottom());
+    }
+
+    /** Fill a rect in 64-bit coordinates after clipping it to an int rect */
+    private void fillClippedRect(Canvas canvas, Paint paint, long left, long top, long right, long bottom, Rect clip) {
+        left = Math.max(left, clip.left);
+        top = Math.max(top, clip.top);
+        right = Math.min(right, clip.right);
+        bottom = Math.min(bottom, clip.bottom);
+        if(left < right && top < bottom) {
+            canvas.drawRect(left, top, right, bottom, paint);
         }
     }
 
@@ -1262,22 +3621,27 @@ public class CrossList extends ViewGroup {
      * For that more than one side could be over-scrolled at the same time, methods deliver
      * every over-scroll side as params.
      * NOTE:In every single layout event, methods will be triggered only ONCE
+     * NOTE:#onScrollOverBy is triggered only for sides whose overDegree crosses a threshold or
+     * moves by the minimum step, @see CrossList#setOverScrollDispatchThresholds(float, float...)
+     * NOTE:Models and lists are reused by CrossList: there is one model per side, updated in
+     * place on later frames, so an instance is only valid during the listener call; copy its
+     * fields, or a new OverScrollModel of them, to keep or post them
      */
     static public class OverScrollModel{
         /**
          * over-scroll-pixels / overView-pixels , always positive,
          * equals 1.f when overView is just totally shown
          */
-        public final float overDegree;
+        public float overDegree;
         /**
          * @see CrossList#OVER_SCROLL_LEFT
          */
-        public final int type;
+        public int type;
         /**
          * The view shows when over-scrolled
          * @see CrossList#OVER_SCROLL_LEFT
          */
-        public final View overView;
+        public View overView;
         public OverScrollModel(View overView, int type, float overDegree) {
             this.overView = overView;
             this.type = type;
@@ -1287,13 +3651,15 @@ public class CrossList extends ViewGroup {
     static public interface OverScrollListener{
         /**
          * Trigger when layout is over-scrolled
-         * @param overScrollList the over-scroll-models for currently over-scrolled parts
+         * @param overScrollList the over-scroll-models for currently over-scrolled parts,
+         * valid only during this call
          * @return
          */
         public void onScrollOverBy(CrossList list, ArrayList<OverScrollModel> overScrollList);
         /**
          * Trigger when layout's over-scroll is released
-         * @param overScrollList the over-scroll-models for currently over-scrolled parts
+         * @param overScrollList the over-scroll-models for currently over-scrolled parts,
+         * valid only during this call
          * @return
          */
         public void onScrollOverRelease(CrossList list, ArrayList<OverScrollModel> overScrollList);
@@ -1309,31 +3675,102 @@ public class CrossList extends ViewGroup {
         mOverScrollListener = listener;
     }
 
+    private OverScrollModel[] mOverScrollModels = new OverScrollModel[4];
+    private ArrayList<OverScrollModel> mOverScrollList4By = new ArrayList<OverScrollModel>(4);
+    private ArrayList<OverScrollModel> mOverScrollList4Release = new ArrayList<OverScrollModel>(4);
+    private float[] mLastDispatchedDegrees = {Float.NaN, Float.NaN, Float.NaN, Float.NaN};
+    private float[] mOverScrollThresholds = {1.f};
+    private float mOverScrollMinStep = 0.1f;
+
+    /**
+     * Set when #OverScrollListener.onScrollOverBy is triggered while dragging
+     * @param minStep minimum change of overDegree to trigger again
+     * @param thresholds overDegrees which trigger once crossed, 1.f by default
+     */
+    public void setOverScrollDispatchThresholds(float minStep, float... thresholds) {
+        mOverScrollMinStep = minStep;
+        mOverScrollThresholds = thresholds == null ? new float[0] : thresholds.clone();
+    }
+
     /**
      * Get the visible bound by index
      * XXX:Indexes are calculated by a formula
      */
     public Rect getVisibleBoundIndex() {
+        return getBoundIndexAt(mTitleOriginPoint);
+    }
+
+    /** Get the bound by index which would be visible with a title origin point */
+    private Rect getBoundIndexAt(LongPoint originPoint) {
         Rect leftTopRect = getViewLocByIndex(-1, -1);
-        int boundLeft = leftTopRect.right;
-        int boundRight = getMeasuredWidth() - getPaddingRight();
-        int boundTop = leftTopRect.bottom;
-        int boundBottom = getMeasuredHeight() - getPaddingBottom();
-        Rect leftTitle = getViewLocByIndex(-1, 0);
-        Rect topTitle = getViewLocByIndex(0, -1);
-        int leftIndex = Math.max((boundLeft - leftTitle.left)/mRowTitleWidth, 0);
-        int rightIndex = (int)Math.max(Math.ceil((boundRight - leftTitle.left) * 1.f / mRowTitleWidth), 0);
-        int topIndex = Math.max((boundTop - topTitle.top)/mColumnTitleHeight, 0);
-        int bottomIndex = (int)Math.max(Math.ceil((boundBottom - topTitle.top)*1.f/mColumnTitleHeight), 0);
-        leftIndex = Math.min(Math.max(0, leftIndex), mAdapter.getColumnCount()-1);
-        rightIndex = Math.min(Math.max(0, rightIndex), mAdapter.getColumnCount()-1);
-        topIndex = Math.min(Math.max(0, topIndex), mAdapter.getRowCount()-1);
-        bottomIndex = Math.min(Math.max(0, bottomIndex), mAdapter.getRowCount()-1);
-        return new Rect(leftIndex, topIndex, rightIndex, bottomIndex);
+        long boundLeft = leftTopRect.right;
+        long boundRight = getMeasuredWidth() - getPaddingRight();
+        long boundTop = leftTopRect.bottom;
+        long boundBottom = getMeasuredHeight() - getPaddingBottom();
+        //logical position of the visible bound
+        long startX = -originPoint.x;
+        long endX = startX + (boundRight - boundLeft);
+        long startY = -originPoint.y;
+        long endY = startY + (boundBottom - boundTop);
+        int maxCol = Math.max(0, mAdapter.getColumnCount()-1);
+        int maxRow = Math.max(0, mAdapter.getRowCount()-1);
+        if(mColumnSizes != null || mRowSizes != null) {
+            //sized items are found by their logical positions directly
+            syncMasks();
+            return new Rect(Math.min(maxCol, Math.max(0, getColumnAtLogical(Math.max(0, startX)))),
+                    Math.min(maxRow, Math.max(0, getRowAtLogical(Math.max(0, startY)))),
+                    Math.min(maxCol, Math.max(0, getColumnAtLogical(endX))),
+                    Math.min(maxRow, Math.max(0, getRowAtLogical(endY))));
+        }
+        long leftIndex = Math.max(startX / mRowTitleWidth, 0);
+        long rightIndex = Math.max((endX + mRowTitleWidth - 1) / mRowTitleWidth, 0);
+        long topIndex = Math.max(startY / mColumnTitleHeight, 0);
+        long bottomIndex = Math.max((endY + mColumnTitleHeight - 1) / mColumnTitleHeight, 0);
+        leftIndex = Math.min(leftIndex, getDisplayColumnCount()-1);
+        rightIndex = Math.min(rightIndex, getDisplayColumnCount()-1);
+        topIndex = Math.min(topIndex, getDisplayRowCount()-1);
+        bottomIndex = Math.min(bottomIndex, getDisplayRowCount()-1);
+        //display indexes to adapter indexes, hidden indexes in between are skipped by callers
+        return new Rect(Math.min(maxCol, getColumnAtDisplay((int)Math.max(0, leftIndex))),
+                Math.min(maxRow, getRowAtDisplay((int)Math.max(0, topIndex))),
+                Math.min(maxCol, getColumnAtDisplay((int)Math.max(0, rightIndex))),
+                Math.min(maxRow, getRowAtDisplay((int)Math.max(0, bottomIndex))));
+    }
+
+    /**
+     * Minimum cells by the value channel of the adapter
+     * @return Pair<rowIndex, colIndex> of the cell with the minimum value, null if there is
+     * no value or the value channel is disabled
+     * @see CrossListAdapter#hasContentValues()
+     */
+    public Pair<Integer, Integer> getVisibleMinCell() {
+        if(mAdapter == null) {
+            return null;
+        }
+        Rect indexBound = getVisibleBoundIndex();
+        return getMinCell(indexBound.top, indexBound.left, indexBound.bottom, indexBound.right);
+    }
+    public Pair<Integer, Integer> getRowMinCell(int row) {
+        return getMinCell(row, 0, row, Integer.MAX_VALUE);
+    }
+    public Pair<Integer, Integer> getColumnMinCell(int col) {
+        return getMinCell(0, col, Integer.MAX_VALUE, col);
+    }
+    private Pair<Integer, Integer> getMinCell(int top, int left, int bottom, int right) {
+        RangeMinIndex index = mAdapter == null ? null : mAdapter.getContentValueIndex();
+        if(index == null) {
+            return null;
+        }
+        long cell = index.queryMinCell(top, left, bottom, right);
+        if(cell < 0) {
+            return null;
+        }
+        return new Pair<Integer, Integer>(RangeMinIndex.getRow(cell), RangeMinIndex.getColumn(cell));
     }
 
     public void stopFling() {
         mHoldFling = false;
+        cancelSnapFling();
     }
     private boolean mBounceEnable = true;
     public void disableScrollAndBounce() {
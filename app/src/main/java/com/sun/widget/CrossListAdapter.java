@@ -1,11 +1,13 @@
 package com.sun.widget;
 
+import android.graphics.Rect;
 import android.util.Pair;
 import android.view.View;
 import android.view.ViewGroup;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -23,12 +25,212 @@ public abstract class CrossListAdapter {
     public abstract Object getColumnTitleItem(int pos);
     public abstract Object getContentItem(int row, int col);
 
+    /**
+     * Whether views can be created in a background thread when CrossList pre-warms its recyclers
+     * If true, getRowTitleView/getColumnTitleView/getContentView might be called with a null
+     * convertView out of the main thread, so they must not touch any shared UI state then
+     * @see CrossList#prewarmRecyclers(int, int, int)
+     */
+    public boolean isAsyncInflateEnabled() {
+        return false;
+    }
+
+    /**
+     * Whether the content item at (row, col) shows live data
+     * A cold-start snapshot of CrossList is drawn over items which are not ready; notify
+     * the list as usual when their data arrives
+     * @see CrossList#setSnapshotFile(java.io.File)
+     */
+    public boolean isContentReady(int row, int col) {
+        return true;
+    }
+
+    /**
+     * Sizes of columns and rows in auto-size mode of CrossList, such as the width of a long
+     * airport name in a row title
+     * They are called in a background thread, so they must be thread-safe; measure texts with
+     * a Paint rather than views, as views must not be touched there
+     * @return width of the column in pixels, or a non-positive value to keep the estimate
+     * @see CrossList#setAutoSizeEnabled(boolean)
+     */
+    public int measureColumnWidth(int col) {
+        return -1;
+    }
+
+    /**
+     * @return height of the row in pixels, or a non-positive value to keep the estimate
+     * @see #measureColumnWidth(int)
+     */
+    public int measureRowHeight(int row) {
+        return -1;
+    }
+
+    /** Id of a content item without a stable id */
+    public static final long NO_ID = -1;
+
+    /**
+     * Whether content items have stable ids
+     * If true, CrossList keeps scrapped content views with the ids of their items; an item
+     * scrolled back into the viewport gets the view still showing it without calling
+     * #getContentView, while #refreshView and notified items bind it again as convertView
+     * @see #getContentItemId(int, int)
+     */
+    public boolean hasStableIds() {
+        return false;
+    }
+
+    /**
+     * @return id of the content item at (row, col), #NO_ID if it has none
+     */
+    public long getContentItemId(int row, int col) {
+        return NO_ID;
+    }
+
+    /**
+     * Bind part of a visible content view, such as its selection state, without a full bind
+     * Called once per frame with all payloads notified for the item since the last frame
+     * @param payloads payloads from #notifyDataSetInvalidated(ArrayList, Object), merged by equality
+     * @return true if bound; false to fall back to #getContentView, as it does by default
+     * NOTE:A partial bind must not change the size of the view
+     */
+    public boolean bindContentPayload(int row, int col, View view, List<Object> payloads) {
+        return false;
+    }
+
+    /**
+     * Optional data source for content items
+     * Subclasses could read content items from it in #getContentItem; CrossList reports the
+     * visible bound to it and rebinds visible contents when its data becomes ready
+     */
+    private GridDataSource mDataSource = null;
+    public void setDataSource(GridDataSource dataSource) {
+        mDataSource = dataSource;
+    }
+    public GridDataSource getDataSource() {
+        return mDataSource;
+    }
+
+    /**
+     * Merged cells
+     * A merged region is shown by one content view, #getContentView is called with its
+     * top-left cell only; CrossList lays out again on the next frame after spans change
+     */
+    private CellSpanIndex mCellSpans = new CellSpanIndex();
+    public void setCellSpan(int row, int col, int rowSpan, int colSpan) {
+        mCellSpans.setSpan(row, col, rowSpan, colSpan);
+        notifyDataSetChanged(null);
+    }
+    public void clearCellSpans() {
+        mCellSpans.clear();
+        notifyDataSetChanged(null);
+    }
+
+    /**
+     * @return the merged region containing (row, col) by index, both sides included;
+     * null if the cell is not merged
+     */
+    public Rect getCellSpan(int row, int col) {
+        return mCellSpans.getSpan(row, col);
+    }
+
+    /**
+     * Collect merged regions intersecting an index bound
+     * @return outList
+     */
+    public ArrayList<Rect> getCellSpans(Rect indexBound, ArrayList<Rect> outList) {
+        return mCellSpans.getSpans(indexBound, outList);
+    }
+
+    public boolean hasCellSpans() {
+        return !mCellSpans.isEmpty();
+    }
+
+    /**
+     * Optional numeric value channel of content items, such as fares
+     * If enabled, CrossList could answer the minimum cell of the visible bound, a row or a column
+     * @see CrossList#getVisibleMinCell()
+     */
+    public boolean hasContentValues() {
+        return false;
+    }
+
+    /**
+     * @return value of the content item, NaN if it has no value
+     */
+    public float getContentValue(int row, int col) {
+        return Float.NaN;
+    }
+
+    /**
+     * Optional text channel of content items, such as formatted prices
+     * If enabled and CrossList has a TextLayoutCache, labels of the visible and prefetch windows
+     * are precomputed in worker threads, so #getContentText and #getContentTextStyle must be
+     * thread-safe
+     * @see CrossList#setTextLayoutCache(TextLayoutCache)
+     */
+    public boolean hasContentText() {
+        return false;
+    }
+
+    /**
+     * @return label of the content item, null if it has none
+     */
+    public CharSequence getContentText(int row, int col) {
+        return null;
+    }
+
+    /**
+     * @return style id of the label in the TextLayoutCache
+     * @see TextLayoutCache#addStyle(android.text.TextPaint, int, android.text.Layout.Alignment)
+     */
+    public int getContentTextStyle(int row, int col) {
+        return 0;
+    }
+
+    private RangeMinIndex mValueIndex = null;
+
+    /**
+     * Get the range-min index of content values, built on first access
+     * @return the index, or null if the value channel is disabled
+     */
+    public RangeMinIndex getContentValueIndex() {
+        if(!hasContentValues()) {
+            return null;
+        }
+        if(mValueIndex == null || mValueIndex.getRowCount() != Math.max(1, getRowCount())
+                || mValueIndex.getColumnCount() != Math.max(1, getColumnCount())) {
+            mValueIndex = new RangeMinIndex(this);
+        }
+        return mValueIndex;
+    }
+
+    /**
+     * Notify that the value of one content item changed, only marks its block of the index stale
+     */
+    public void notifyContentValueChanged(int row, int col) {
+        if(mValueIndex != null) {
+            mValueIndex.invalidate(row, col);
+        }
+    }
+
+    /**
+     * Notify that many content values changed, the index will be rebuilt on next access
+     */
+    public void notifyContentValuesInvalidated() {
+        mValueIndex = null;
+    }
+
     /** DataSetObserver with params */
     static public interface DataSetObserver {
         public void onChanged(ArrayList<Pair<Integer, Integer>> paramList);
         public void onInvalidated(ArrayList<Pair<Integer, Integer>> paramList);
     }
 
+    /** DataSetObserver accepting payloads of partial binds */
+    static public interface PayloadObserver extends DataSetObserver {
+        public void onInvalidated(ArrayList<Pair<Integer, Integer>> paramList, Object payload);
+    }
+
     private Set<DataSetObserver> mObserverSet = new HashSet<DataSetObserver>();
     public void addDataSetObserver(DataSetObserver observer) {
         mObserverSet.add(observer);
@@ -39,7 +241,8 @@ public abstract class CrossListAdapter {
 
     /**
      * Notify list to refresh specific items
-     * @param paramList A list with items like Pair<rowIndex, colIndex>; index -1 for row/col title
+     * @param paramList A list with items like Pair<rowIndex, colIndex>; index -1 for row/col title;
+     *                  null if the placement of items changed, such as merged cells
      */
     public void notifyDataSetChanged(ArrayList<Pair<Integer, Integer>> paramList) {
         for(DataSetObserver observer : mObserverSet) {
@@ -51,4 +254,19 @@ public abstract class CrossListAdapter {
             observer.onInvalidated(paramList);
         }
     }
+
+    /**
+     * Notify list to refresh part of specific items
+     * Content items are bound by #bindContentPayload in next frame, titles are rebound fully
+     * @param payload what changed, such as a selection flag; null for a full bind
+     */
+    public void notifyDataSetInvalidated(ArrayList<Pair<Integer, Integer>> paramList, Object payload) {
+        for(DataSetObserver observer : mObserverSet) {
+            if(observer instanceof PayloadObserver) {
+                ((PayloadObserver)observer).onInvalidated(paramList, payload);
+            } else {
+                observer.onInvalidated(paramList);
+            }
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package com.sun.widget;
+
+import java.util.ArrayList;
+
+/**
+ * Links the scrolling of several CrossLists along an axis, such as an outbound and a return
+ * calendar shown side by side
+ * The member touched last drives the group: only its fling and bounce run, and every move of
+ * its origin is copied to the other members, which just request a layout; followers never
+ * notify the group back, so one gesture costs one layout pass per list per frame
+ * usage:
+ * <code>
+ *     CrossListGroup group = new CrossListGroup(CrossListGroup.AXIS_HORIZONTAL);
+ *     group.addList(outboundList);
+ *     group.addList(returnList);
+ * </code>
+ * NOTE:Use it in the main thread
+ */
+public class CrossListGroup {
+    static public final int AXIS_HORIZONTAL = 1;
+    static public final int AXIS_VERTICAL = 2;
+    static public final int AXIS_BOTH = AXIS_HORIZONTAL | AXIS_VERTICAL;
+
+    private final int mAxis;
+    private ArrayList<CrossList> mMembers = new ArrayList<CrossList>();
+    private CrossList mDriver = null;
+
+    /**
+     * @param axis shared axis like #AXIS_HORIZONTAL
+     */
+    public CrossListGroup(int axis) {
+        mAxis = axis;
+    }
+
+    public int getAxis() {
+        return mAxis;
+    }
+
+    public void addList(CrossList list) {
+        if(list == null || mMembers.contains(list)) {
+            return ;
+        }
+        CrossListGroup oldGroup = list.getGroup();
+        if(oldGroup != null) {
+            oldGroup.removeList(list);
+        }
+        mMembers.add(list);
+        list.setGroup(this);
+        if(mDriver != null) {
+            list.followOrigin(mDriver, (mAxis & AXIS_HORIZONTAL) != 0, (mAxis & AXIS_VERTICAL) != 0);
+        }
+    }
+
+    public void removeList(CrossList list) {
+        if(!mMembers.remove(list)) {
+            return ;
+        }
+        list.setGroup(null);
+        if(mDriver == list) {
+            mDriver = null;
+        }
+    }
+
+    /**
+     * @return true if the list drives the group, or no member drives it yet
+     */
+    boolean isDriver(CrossList list) {
+        return mDriver == null || mDriver == list;
+    }
+
+    /**
+     * Make a member the driver, movements driven by other members stop
+     */
+    void takeOver(CrossList list) {
+        if(mDriver == list) {
+            return ;
+        }
+        for(int i=0;i<mMembers.size();i++) {
+            CrossList member = mMembers.get(i);
+            if(member != list) {
+                member.stopMoving();
+            }
+        }
+        mDriver = list;
+    }
+
+    /**
+     * Called by a member after it moves its own origin by touch, fling, bounce or scrollTo
+     */
+    void onOriginChanged(CrossList source) {
+        takeOver(source);
+        boolean followX = (mAxis & AXIS_HORIZONTAL) != 0;
+        boolean followY = (mAxis & AXIS_VERTICAL) != 0;
+        for(int i=0;i<mMembers.size();i++) {
+            CrossList member = mMembers.get(i);
+            if(member != source) {
+                member.followOrigin(source, followX, followY);
+            }
+        }
+    }
+
+    /**
+     * Called by a member after its origin is adjusted for a layout change, such as measured sizes
+     * or hidden rows; the driver is kept, a follower just follows it again
+     */
+    void onPlacementChanged(CrossList source) {
+        boolean followX = (mAxis & AXIS_HORIZONTAL) != 0;
+        boolean followY = (mAxis & AXIS_VERTICAL) != 0;
+        if(!isDriver(source)) {
+            source.followOrigin(mDriver, followX, followY);
+            return ;
+        }
+        for(int i=0;i<mMembers.size();i++) {
+            CrossList member = mMembers.get(i);
+            if(member != source) {
+                member.followOrigin(source, followX, followY);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+
+/**
+ * Data source for contents of CrossList
+ * An adapter could hold a data source and read its content items from it;
+ * CrossList tells the data source which part of the grid is visible, so that data could be
+ * loaded ahead and data far away could be released
+ * NOTE:All methods are called in the main thread
+ */
+public abstract class GridDataSource {
+    public abstract int getRowCount();
+    public abstract int getColumnCount();
+
+    /**
+     * Get the item at (row, col)
+     * @return the item, or null if it is not ready yet
+     */
+    public abstract Object getItem(int row, int col);
+
+    /**
+     * Called by CrossList when the visible bound changes
+     * @param indexBound visible bound by index, both sides included
+     */
+    public void onViewportChanged(Rect indexBound) {
+    }
+
+    /**
+     * Ask the data source to make a region ready ahead, such as the destination of a fling
+     * @param indexBound bound by index, both sides included
+     */
+    public void prefetch(Rect indexBound) {
+    }
+
+    /**
+     * Release cached data under memory pressure, called by CrossList
+     * @param keepRatio ratio of the cache to keep, 0 to release all
+     * @see MemoryBudget
+     */
+    public void onTrimMemory(float keepRatio) {
+    }
+
+    /**
+     * @return size of cached data in the unit of the data source such as tiles, for memory reports
+     */
+    public int getCacheSize() {
+        return 0;
+    }
+
+    /** Listener for data which becomes ready after loading */
+    static public interface OnDataReadyListener {
+        /**
+         * @param source the data source
+         * @param indexBound bound by index of the ready data, both sides included
+         */
+        public void onDataReady(GridDataSource source, Rect indexBound);
+    }
+
+    private ArrayList<OnDataReadyListener> mListeners = new ArrayList<OnDataReadyListener>();
+    public void addOnDataReadyListener(OnDataReadyListener listener) {
+        if(!mListeners.contains(listener)) {
+            mListeners.add(listener);
+        }
+    }
+    public void removeOnDataReadyListener(OnDataReadyListener listener) {
+        mListeners.remove(listener);
+    }
+    protected void notifyDataReady(Rect indexBound) {
+        for(int i=0;i<mListeners.size();i++) {
+            mListeners.get(i).onDataReady(this, indexBound);
+        }
+    }
+}
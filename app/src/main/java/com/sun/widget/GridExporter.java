@@ -0,0 +1,497 @@
+package com.sun.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.view.View;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Export the whole grid of a CrossList to images, strip by strip
+ * The grid is cut into strips of at most maxStripSize pixels per side, every strip shows the
+ * table header and the titles of its rows and columns; a strip is drawn in short slices of the
+ * main thread, since views can only be bound there, then encoded to its own output stream in
+ * a background thread, so at most one strip bitmap is alive
+ * Cells take the sizes of the list, so auto-sized and hidden rows and columns are exported as
+ * shown; the data of a strip is prefetched from the data source of the adapter and its contents
+ * are drawn only when they are ready
+ * usage:
+ * <code>
+ *     list.exportGrid(new GridExporter.StripOutput() {
+ *         @Override
+ *         public OutputStream openStrip(int index, Rect indexBound) throws IOException {
+ *             return new FileOutputStream(new File(dir, "calendar_" + index + ".png"));
+ *         }
+ *     }, listener);
+ * </code>
+ * @see CrossList#exportGrid(StripOutput, ExportListener)
+ */
+public class GridExporter {
+    private static final long SliceTime = 8;
+    /** Interval of checking a content which is not ready, a failed load is retried by it */
+    private static final long ReadyPollDelay = 500;
+    public static final int DefaultMaxStripSize = 2048;
+    public static final long DefaultReadyTimeout = 30000;
+
+    /** Provider of output streams, called in a background thread */
+    static public interface StripOutput {
+        /**
+         * Open the stream of one strip, it is closed by GridExporter after encoding
+         * @param index index of the strip, row-major
+         * @param indexBound bound by index of the contents in the strip, both sides included
+         */
+        public OutputStream openStrip(int index, Rect indexBound) throws IOException;
+    }
+
+    /** Listener of the export, called in the main thread */
+    static public interface ExportListener {
+        public void onProgress(GridExporter exporter, int doneStrips, int totalStrips);
+        public void onFinished(GridExporter exporter);
+        public void onFailed(GridExporter exporter, Exception e);
+    }
+
+    private static Executor sEncodeExecutor = null;
+    private static synchronized Executor getEncodeExecutor() {
+        if(sEncodeExecutor == null) {
+            sEncodeExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "CrossList-export");
+                }
+            });
+        }
+        return sEncodeExecutor;
+    }
+
+    private final CrossList mList;
+    private final CrossListAdapter mAdapter;
+    private final StripOutput mOutput;
+    private final ExportListener mListener;
+    private final GridDataSource mDataSource;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    private int mMaxStripSize = DefaultMaxStripSize;
+    private Bitmap.CompressFormat mFormat = Bitmap.CompressFormat.PNG;
+    private int mQuality = 100;
+    private int mBackgroundColor = 0xffffffff;
+    private long mReadyTimeout = DefaultReadyTimeout;
+
+    //geometry, taken on the first slice
+    private int mHeadWidth, mHeadHeight;
+    private int mRowCount, mColCount;
+    /** First index of each strip row and strip column */
+    private ArrayList<Integer> mRowStarts, mColStarts;
+    private int mStripRows, mStripCols;
+
+    //progress
+    private volatile boolean mIsCanceled = false;
+    private boolean mIsStarted = false;
+    private boolean mIsPrepared = false;
+    private int mStripIndex = 0;
+    private int mStep = 0;
+    private Rect mStripBound = new Rect();
+    private long mStripLeft, mStripTop;
+    /** Anchors of merged items drawn in the strip */
+    private HashSet<Long> mDrawnSpans = new HashSet<Long>();
+    /** Start time of waiting for a content, 0 if not waiting */
+    private long mWaitStart = 0;
+    private Bitmap mBitmap = null;
+    private Canvas mCanvas = null;
+
+    //scrap views reused for all cells, detached from the list
+    private View mTableHeader = null;
+    private View mRowTitleView = null;
+    private View mColTitleView = null;
+    private View mContentView = null;
+
+    GridExporter(CrossList list, StripOutput output, ExportListener listener) {
+        mList = list;
+        mAdapter = list.getAdapter();
+        mOutput = output;
+        mListener = listener;
+        mDataSource = mAdapter.getDataSource();
+    }
+
+    /**
+     * @param maxStripSize max width and height of a strip in pixels
+     */
+    public void setMaxStripSize(int maxStripSize) {
+        mMaxStripSize = maxStripSize;
+    }
+
+    public void setFormat(Bitmap.CompressFormat format, int quality) {
+        mFormat = format;
+        mQuality = quality;
+    }
+
+    public void setBackgroundColor(int color) {
+        mBackgroundColor = color;
+    }
+
+    /**
+     * @param timeout max time in milliseconds to wait for a content to be ready, the export
+     *                fails after it
+     */
+    public void setReadyTimeout(long timeout) {
+        mReadyTimeout = timeout;
+    }
+
+    public int getStripCount() {
+        return mStripRows * mStripCols;
+    }
+
+    /**
+     * Start exporting in the next main thread loop, setters called before that still work
+     */
+    public void start() {
+        if(mIsStarted) {
+            return ;
+        }
+        mIsStarted = true;
+        if(mDataSource != null) {
+            mDataSource.addOnDataReadyListener(mDataReadyListener);
+        }
+        mMainHandler.post(mDrawSlice);
+    }
+
+    private void prepare() {
+        mIsPrepared = true;
+        mHeadWidth = mList.getColumnTitleWidth();
+        mHeadHeight = mList.getRowTitleHeight();
+        mRowCount = mAdapter.getRowCount();
+        mColCount = mAdapter.getColumnCount();
+        mColStarts = cutStrips(true, mColCount, Math.max(1, mMaxStripSize - mHeadWidth));
+        mRowStarts = cutStrips(false, mRowCount, Math.max(1, mMaxStripSize - mHeadHeight));
+        mStripCols = mColStarts.size();
+        mStripRows = mRowStarts.size();
+        mTableHeader = mAdapter.getTableHeaderView();
+    }
+
+    /**
+     * Cut columns or rows into strips of at most maxSize pixels, a larger item takes a strip alone
+     * @return first index of each strip, empty if all items are hidden
+     */
+    private ArrayList<Integer> cutStrips(boolean isColumn, int count, int maxSize) {
+        ArrayList<Integer> starts = new ArrayList<Integer>();
+        int start = 0;
+        long used = 0;
+        boolean hasShown = false;
+        for(int i=0;i<count;i++) {
+            int size = isColumn ? mList.getCellWidth(i) : mList.getCellHeight(i);
+            if(size <= 0) {
+                continue;
+            }
+            if(hasShown && used + size > maxSize) {
+                starts.add(start);
+                start = i;
+                used = 0;
+            }
+            used += size;
+            hasShown = true;
+        }
+        if(hasShown) {
+            starts.add(start);
+        }
+        return starts;
+    }
+
+    /** Cancel the export, call it in the main thread */
+    public void cancel() {
+        mIsCanceled = true;
+        mMainHandler.removeCallbacks(mDrawSlice);
+        detachDataSource();
+        releaseBitmap();
+    }
+
+    private void detachDataSource() {
+        if(mDataSource != null) {
+            mDataSource.removeOnDataReadyListener(mDataReadyListener);
+        }
+    }
+
+    /** Resume a strip waiting for its contents */
+    private GridDataSource.OnDataReadyListener mDataReadyListener = new GridDataSource.OnDataReadyListener() {
+        @Override
+        public void onDataReady(GridDataSource source, Rect indexBound) {
+            if(mWaitStart != 0 && Rect.intersects(indexBound, mStripBound)) {
+                mMainHandler.removeCallbacks(mDrawSlice);
+                mMainHandler.post(mDrawSlice);
+            }
+        }
+    };
+
+    public boolean isCanceled() {
+        return mIsCanceled;
+    }
+
+    private Runnable mDrawSlice = new Runnable() {
+        @Override
+        public void run() {
+            if(mIsCanceled) {
+                releaseBitmap();
+                return ;
+            }
+            if(!mIsPrepared) {
+                prepare();
+            }
+            if(mStripIndex >= getStripCount()) {
+                detachDataSource();
+                if(mListener != null) {
+                    mListener.onFinished(GridExporter.this);
+                }
+                return ;
+            }
+            if(mBitmap == null) {
+                try {
+                    beginStrip();
+                } catch (OutOfMemoryError e) {
+                    fail(new IOException("no memory for strip " + mStripIndex));
+                    return ;
+                }
+            }
+            long deadline = SystemClock.uptimeMillis() + SliceTime;
+            int stepCount = getStepCount();
+            while(mStep < stepCount && SystemClock.uptimeMillis() < deadline) {
+                if(!drawStep(mStep)) {
+                    waitForContent();
+                    return ;
+                }
+                mWaitStart = 0;
+                mStep++;
+            }
+            if(mStep < stepCount) {
+                mMainHandler.post(this);
+            } else {
+                encodeStrip();
+            }
+        }
+    };
+
+    private void beginStrip() {
+        int stripRow = mStripIndex / mStripCols;
+        int stripCol = mStripIndex % mStripCols;
+        mStripBound.left = mColStarts.get(stripCol);
+        mStripBound.top = mRowStarts.get(stripRow);
+        mStripBound.right = (stripCol + 1 < mStripCols ? mColStarts.get(stripCol + 1) : mColCount) - 1;
+        mStripBound.bottom = (stripRow + 1 < mStripRows ? mRowStarts.get(stripRow + 1) : mRowCount) - 1;
+        mStripLeft = mList.getCellLeft(mStripBound.left);
+        mStripTop = mList.getCellTop(mStripBound.top);
+        int width = mHeadWidth + (int)(mList.getCellLeft(mStripBound.right + 1) - mStripLeft);
+        int height = mHeadHeight + (int)(mList.getCellTop(mStripBound.bottom + 1) - mStripTop);
+        mStep = 0;
+        mWaitStart = 0;
+        mDrawnSpans.clear();
+        if(mDataSource != null) {
+            //loaded while the titles are drawn
+            mDataSource.prefetch(mStripBound);
+        }
+        mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        mBitmap.eraseColor(mBackgroundColor);
+        mCanvas = new Canvas(mBitmap);
+    }
+
+    /**
+     * A content is not ready, check it again when data of the strip is ready or after a while;
+     * the strip is prefetched again, as a failed or released load is not retried by itself
+     */
+    private void waitForContent() {
+        long now = SystemClock.uptimeMillis();
+        if(mWaitStart == 0) {
+            mWaitStart = now;
+        } else if(now - mWaitStart > mReadyTimeout) {
+            fail(new IOException("contents of strip " + mStripIndex + " not ready"));
+            return ;
+        }
+        if(mDataSource != null) {
+            mDataSource.prefetch(mStripBound);
+        }
+        mMainHandler.removeCallbacks(mDrawSlice);
+        mMainHandler.postDelayed(mDrawSlice, ReadyPollDelay);
+    }
+
+    private void fail(Exception e) {
+        mIsCanceled = true;
+        mMainHandler.removeCallbacks(mDrawSlice);
+        detachDataSource();
+        releaseBitmap();
+        if(mListener != null) {
+            mListener.onFailed(this, e);
+        }
+    }
+
+    /** Steps of a strip: the table header, row titles, column titles, then contents row-major */
+    private int getStepCount() {
+        int cols = mStripBound.width() + 1;
+        int rows = mStripBound.height() + 1;
+        return 1 + cols + rows + cols * rows;
+    }
+
+    /**
+     * Draw one step, hidden items are passed over
+     * @return false if the content of the step is not ready, the step is not drawn
+     */
+    private boolean drawStep(int step) {
+        int cols = mStripBound.width() + 1;
+        int rows = mStripBound.height() + 1;
+        if(step == 0) {
+            if(mTableHeader != null) {
+                drawView(mTableHeader, 0, 0, mHeadWidth, mHeadHeight);
+            }
+            return true;
+        }
+        step--;
+        if(step < cols) {
+            int col = mStripBound.left + step;
+            int width = mList.getCellWidth(col);
+            if(width > 0) {
+                mRowTitleView = mAdapter.getRowTitleView(col, mRowTitleView, mList);
+                drawView(mRowTitleView, mHeadWidth + (int)(mList.getCellLeft(col) - mStripLeft), 0, width, mHeadHeight);
+            }
+            return true;
+        }
+        step -= cols;
+        if(step < rows) {
+            int row = mStripBound.top + step;
+            int height = mList.getCellHeight(row);
+            if(height > 0) {
+                mColTitleView = mAdapter.getColumnTitleView(row, mColTitleView, mList);
+                drawView(mColTitleView, 0, mHeadHeight + (int)(mList.getCellTop(row) - mStripTop), mHeadWidth, height);
+            }
+            return true;
+        }
+        step -= rows;
+        int row = mStripBound.top + step / cols;
+        int col = mStripBound.left + step % cols;
+        if(mList.getCellWidth(col) <= 0 || mList.getCellHeight(row) <= 0) {
+            return true;
+        }
+        int top = row, left = col, bottom = row, right = col;
+        Rect span = mAdapter.getCellSpan(row, col);
+        if(span != null) {
+            //a merged item is drawn once per strip, at its first shown cell in the strip
+            if(mDrawnSpans.contains(((long)span.top<<32) | span.left)) {
+                return true;
+            }
+            top = span.top;
+            left = span.left;
+            bottom = span.bottom;
+            right = span.right;
+        }
+        if(!mAdapter.isContentReady(top, left)) {
+            return false;
+        }
+        if(span != null) {
+            mDrawnSpans.add(((long)top<<32) | left);
+        }
+        mContentView = mAdapter.getContentView(top, left, mContentView, mList);
+        //a merged item starting before the strip must not cover the titles and the table header
+        int saveCount = mCanvas.save();
+        mCanvas.clipRect(mHeadWidth, mHeadHeight, mBitmap.getWidth(), mBitmap.getHeight());
+        long x = mList.getCellLeft(left) - mStripLeft;
+        long y = mList.getCellTop(top) - mStripTop;
+        drawView(mContentView, mHeadWidth + (int)x, mHeadHeight + (int)y,
+                (int)(mList.getCellLeft(right + 1) - mList.getCellLeft(left)),
+                (int)(mList.getCellTop(bottom + 1) - mList.getCellTop(top)));
+        mCanvas.restoreToCount(saveCount);
+        return true;
+    }
+
+    private void drawView(View view, int left, int top, int width, int height) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, width, height);
+        int saveCount = mCanvas.save();
+        mCanvas.translate(left, top);
+        mCanvas.clipRect(0, 0, width, height);
+        view.draw(mCanvas);
+        mCanvas.restoreToCount(saveCount);
+    }
+
+    private void encodeStrip() {
+        final Bitmap bitmap = mBitmap;
+        final int index = mStripIndex;
+        final Rect indexBound = new Rect(mStripBound);
+        mBitmap = null;
+        mCanvas = null;
+        getEncodeExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                Exception error = null;
+                OutputStream stream = null;
+                try {
+                    if(!mIsCanceled) {
+                        stream = mOutput.openStrip(index, indexBound);
+                        if(stream == null) {
+                            error = new IOException("no stream for strip " + index);
+                        } else if(!bitmap.compress(mFormat, mQuality, stream)) {
+                            error = new IOException("encode strip " + index + " failed");
+                        }
+                    }
+                } catch (IOException e) {
+                    error = e;
+                } catch (RuntimeException e) {
+                    //thrown by the output of the caller, the export must still end with a callback
+                    error = e;
+                } finally {
+                    if(stream != null) {
+                        try {
+                            stream.close();
+                        } catch (IOException e) {
+                            if(error == null) {
+                                error = e;
+                            }
+                        } catch (RuntimeException e) {
+                            if(error == null) {
+                                error = e;
+                            }
+                        }
+                    }
+                    bitmap.recycle();
+                }
+                final Exception result = error;
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if(mIsCanceled) {
+                            return ;
+                        }
+                        if(result != null) {
+                            fail(result);
+                            return ;
+                        }
+                        mStripIndex++;
+                        if(mListener != null) {
+                            mListener.onProgress(GridExporter.this, mStripIndex, getStripCount());
+                        }
+                        mDrawSlice.run();
+                    }
+                });
+            }
+        });
+    }
+
+    private void releaseBitmap() {
+        if(mBitmap != null) {
+            mBitmap.recycle();
+            mBitmap = null;
+            mCanvas = null;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.sun.widget;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Pair;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Find content items of a CrossList by a predicate, such as fares under a price
+ * The grid is cut into chunks of rows scanned in parallel by a thread pool; finished chunks
+ * are delivered in the main thread in index order (row-major), so matches stream in sorted and
+ * the list highlights them as they arrive. #next and #previous move to a match, scroll the list
+ * to it and select it
+ * usage:
+ * <code>
+ *     GridSearch search = list.search(new GridSearch.Predicate() {
+ *         @Override
+ *         public boolean matches(CrossListAdapter adapter, int row, int col) {
+ *             return adapter.getContentValue(row, col) < maxPrice;
+ *         }
+ *     }, listener);
+ *     //on a "next" button
+ *     search.next();
+ * </code>
+ * @see CrossList#search(Predicate, SearchListener)
+ */
+public class GridSearch {
+    /** Cells scanned by one task, at least one row */
+    private static final int CellsPerChunk = 4096;
+    /** Chunks queued ahead of the delivered one for each thread */
+    private static final int PendingPerThread = 2;
+
+    /** Condition of matched items, called in worker threads */
+    static public interface Predicate {
+        /**
+         * NOTE:Read thread-safe data only, such as values of a PrimitiveGridAdapter or
+         * a GridDataSource; never touch views here
+         * NOTE:If it throws, the rest of the chunk is skipped with no match
+         * @see GridSearch#getFailedChunkCount()
+         */
+        public boolean matches(CrossListAdapter adapter, int row, int col);
+    }
+
+    /** Listener of the search, called in the main thread */
+    static public interface SearchListener {
+        /**
+         * @param from index of the first new match
+         * @param count count of new matches, all after the matches found before
+         */
+        public void onMatchesFound(GridSearch search, int from, int count);
+        public void onFinished(GridSearch search);
+    }
+
+    private static final int ThreadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static Executor sExecutor = null;
+    private static synchronized Executor getExecutor() {
+        if(sExecutor == null) {
+            sExecutor = Executors.newFixedThreadPool(ThreadCount, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "CrossList-search");
+                }
+            });
+        }
+        return sExecutor;
+    }
+
+    private final CrossList mList;
+    private final CrossListAdapter mAdapter;
+    private final Predicate mPredicate;
+    private final SearchListener mListener;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    private final int mRowCount, mColCount, mRowsPerChunk, mChunkCount;
+    private volatile boolean mIsCanceled = false;
+    private boolean mIsStarted = false;
+    private boolean mIsFinished = false;
+    private int mSubmittedChunks = 0;
+    private int mDeliveredChunks = 0;
+    private int mFailedChunks = 0;
+    /** Chunks finished out of order, waiting for the ones before */
+    private HashMap<Integer, long[]> mFinishedChunks = new HashMap<Integer, long[]>();
+
+    /** Matches by key (row << 32 | col), row-major */
+    private long[] mMatches = new long[16];
+    private int mMatchCount = 0;
+    private int mCurrent = -1;
+
+    GridSearch(CrossList list, Predicate predicate, SearchListener listener) {
+        mList = list;
+        mAdapter = list.getAdapter();
+        mPredicate = predicate;
+        mListener = listener;
+        mRowCount = Math.max(0, mAdapter.getRowCount());
+        mColCount = Math.max(0, mAdapter.getColumnCount());
+        mRowsPerChunk = Math.max(1, CellsPerChunk / Math.max(1, mColCount));
+        mChunkCount = mColCount == 0 ? 0 : (mRowCount + mRowsPerChunk - 1) / mRowsPerChunk;
+    }
+
+    /** Start scanning, call it in the main thread */
+    void start() {
+        if(mIsStarted) {
+            return ;
+        }
+        mIsStarted = true;
+        submitChunks();
+        checkFinished();
+    }
+
+    /** Cancel the search, matches found so far are kept; call it in the main thread */
+    public void cancel() {
+        mIsCanceled = true;
+        mFinishedChunks.clear();
+    }
+
+    public boolean isCanceled() {
+        return mIsCanceled;
+    }
+
+    /**
+     * @return true if all chunks are scanned
+     */
+    public boolean isFinished() {
+        return mIsFinished;
+    }
+
+    private void submitChunks() {
+        int maxPending = ThreadCount * PendingPerThread;
+        while(!mIsCanceled && mSubmittedChunks < mChunkCount && mSubmittedChunks - mDeliveredChunks < maxPending) {
+            final int chunk = mSubmittedChunks++;
+            getExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    long[] result;
+                    boolean failed = false;
+                    try {
+                        result = scanChunk(chunk);
+                    } catch (RuntimeException e) {
+                        //deliver it empty, or chunks after it would wait forever
+                        result = new long[0];
+                        failed = true;
+                    }
+                    if(result == null) {
+                        return ;
+                    }
+                    final long[] matches = result;
+                    final boolean isFailed = failed;
+                    mMainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if(isFailed && !mIsCanceled) {
+                                mFailedChunks++;
+                            }
+                            onChunkFinished(chunk, matches);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Called in a worker thread
+     * @return keys of matches in the chunk, null if canceled
+     */
+    private long[] scanChunk(int chunk) {
+        int top = chunk * mRowsPerChunk;
+        int bottom = Math.min(mRowCount, top + mRowsPerChunk);
+        long[] matches = new long[8];
+        int count = 0;
+        for(int row=top;row<bottom;row++) {
+            if(mIsCanceled) {
+                return null;
+            }
+            for(int col=0;col<mColCount;col++) {
+                if(!mPredicate.matches(mAdapter, row, col)) {
+                    continue;
+                }
+                if(count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = ((long)row<<32) | (col & 0xffffffffL);
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private void onChunkFinished(int chunk, long[] matches) {
+        if(mIsCanceled) {
+            return ;
+        }
+        mFinishedChunks.put(chunk, matches);
+        int from = mMatchCount;
+        //deliver chunks in order
+        long[] next;
+        while((next = mFinishedChunks.remove(mDeliveredChunks)) != null) {
+            appendMatches(next);
+            mDeliveredChunks++;
+        }
+        if(mMatchCount > from) {
+            mList.onSearchMatchesFound(this);
+            if(mListener != null) {
+                mListener.onMatchesFound(this, from, mMatchCount - from);
+            }
+        }
+        submitChunks();
+        checkFinished();
+    }
+
+    private void appendMatches(long[] matches) {
+        if(mMatchCount + matches.length > mMatches.length) {
+            mMatches = Arrays.copyOf(mMatches, Math.max(mMatches.length * 2, mMatchCount + matches.length));
+        }
+        System.arraycopy(matches, 0, mMatches, mMatchCount, matches.length);
+        mMatchCount += matches.length;
+    }
+
+    private void checkFinished() {
+        if(!mIsFinished && !mIsCanceled && mDeliveredChunks >= mChunkCount) {
+            mIsFinished = true;
+            if(mListener != null) {
+                mListener.onFinished(this);
+            }
+        }
+    }
+
+    public int getMatchCount() {
+        return mMatchCount;
+    }
+
+    /**
+     * @return count of chunks skipped as the predicate threw, their matches are missing
+     */
+    public int getFailedChunkCount() {
+        return mFailedChunks;
+    }
+
+    /**
+     * @return Pair<rowIndex, colIndex> of a match
+     */
+    public Pair<Integer, Integer> getMatch(int index) {
+        long key = mMatches[index];
+        return new Pair<Integer, Integer>((int)(key>>32), (int)key);
+    }
+
+    /**
+     * @return index of the match moved to by #next or #previous, -1 before that
+     */
+    public int getCurrentIndex() {
+        return mCurrent;
+    }
+
+    /**
+     * Move to the next shown match, the list scrolls to it and selects it
+     * It wraps to the first match only after the search finished
+     * @return Pair<rowIndex, colIndex> of the match, null if there is none yet
+     */
+    public Pair<Integer, Integer> next() {
+        return moveBy(1);
+    }
+
+    /**
+     * Move to the previous shown match
+     * @see #next()
+     */
+    public Pair<Integer, Integer> previous() {
+        return moveBy(-1);
+    }
+
+    private Pair<Integer, Integer> moveBy(int step) {
+        int index = mCurrent;
+        for(int i=0;i<mMatchCount;i++) {
+            index += step;
+            if(index < 0 || index >= mMatchCount) {
+                //matches after the last one might still come
+                if(!mIsFinished) {
+                    return null;
+                }
+                index = index < 0 ? mMatchCount - 1 : 0;
+            }
+            Pair<Integer, Integer> match = getMatch(index);
+            if(mList.isRowVisible(match.first) && mList.isColumnVisible(match.second)) {
+                mCurrent = index;
+                mList.scrollTo(match.first, match.second);
+                mList.setSelection(CrossList.SELECTION_CELL, match.first, match.second);
+                return match;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return index of the first match at or after (row, 0)
+     */
+    int findFirstMatch(int row) {
+        int index = Arrays.binarySearch(mMatches, 0, mMatchCount, (long)row<<32);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /** @return key of a match, row << 32 | col */
+    long getMatchKey(int index) {
+        return mMatches[index];
+    }
+}
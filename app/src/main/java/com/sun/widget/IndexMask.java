@@ -0,0 +1,150 @@
+package com.sun.widget;
+
+import java.util.Arrays;
+
+/**
+ * Visibility mask of rows or columns, mapping logical indexes of the adapter to display indexes
+ * Hidden indexes are kept in a bitset and visible ones counted by a Fenwick tree, so that
+ * #rank and #select cost O(log n) and toggling an index costs O(log n); until an index is
+ * hidden nothing is allocated and both mappings are the identity
+ * Indexes beyond the size are treated as visible, so a mask lagging behind the adapter
+ * still maps them
+ * NOTE:Use it in the main thread
+ */
+class IndexMask {
+    private int mSize;
+    private int mHiddenCount = 0;
+    private long[] mHiddenBits = null;
+    /** Fenwick tree of visible flags, 1-based */
+    private int[] mTree = null;
+
+    IndexMask(int size) {
+        mSize = Math.max(0, size);
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    boolean hasHidden() {
+        return mHiddenCount > 0;
+    }
+
+    int getVisibleCount() {
+        return mSize - mHiddenCount;
+    }
+
+    /**
+     * Resize the mask, hidden flags of remaining indexes are kept and new indexes are visible
+     */
+    void resize(int size) {
+        size = Math.max(0, size);
+        if(size == mSize) {
+            return ;
+        }
+        mSize = size;
+        if(mHiddenBits == null) {
+            return ;
+        }
+        mHiddenBits = Arrays.copyOf(mHiddenBits, (size + 63) >> 6);
+        int tail = size & 63;
+        if(tail != 0) {
+            mHiddenBits[mHiddenBits.length - 1] &= (1L << tail) - 1;
+        }
+        build();
+    }
+
+    /** Make all indexes visible and release the storage */
+    void clear() {
+        mHiddenCount = 0;
+        mHiddenBits = null;
+        mTree = null;
+    }
+
+    boolean isVisible(int index) {
+        if(index < 0) {
+            return false;
+        }
+        return index >= mSize || mHiddenBits == null || (mHiddenBits[index >> 6] & (1L << (index & 63))) == 0;
+    }
+
+    /**
+     * @return true if the visibility changed
+     */
+    boolean setVisible(int index, boolean visible) {
+        if(index < 0 || index >= mSize || isVisible(index) == visible) {
+            return false;
+        }
+        if(mHiddenBits == null) {
+            mHiddenBits = new long[(mSize + 63) >> 6];
+            build();
+        }
+        if(visible) {
+            mHiddenBits[index >> 6] &= ~(1L << (index & 63));
+            mHiddenCount--;
+        } else {
+            mHiddenBits[index >> 6] |= 1L << (index & 63);
+            mHiddenCount++;
+        }
+        int delta = visible ? 1 : -1;
+        for(int i=index+1;i<=mSize;i+=i&-i) {
+            mTree[i] += delta;
+        }
+        return true;
+    }
+
+    /** Build the tree from the bitset in O(n) */
+    private void build() {
+        mTree = new int[mSize + 1];
+        mHiddenCount = 0;
+        for(int i=1;i<=mSize;i++) {
+            boolean visible = isVisible(i - 1);
+            if(!visible) {
+                mHiddenCount++;
+            }
+            mTree[i] += visible ? 1 : 0;
+            int parent = i + (i & -i);
+            if(parent <= mSize) {
+                mTree[parent] += mTree[i];
+            }
+        }
+    }
+
+    /**
+     * @return count of visible indexes before index, that is the display index of a visible index
+     */
+    int rank(int index) {
+        if(mHiddenCount == 0 || index <= 0) {
+            return index;
+        }
+        int count = Math.max(0, index - mSize);
+        for(int i=Math.min(index, mSize);i>0;i-=i&-i) {
+            count += mTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * @return logical index of a display index
+     */
+    int select(int displayIndex) {
+        if(mHiddenCount == 0 || displayIndex < 0) {
+            return displayIndex;
+        }
+        if(displayIndex >= getVisibleCount()) {
+            return mSize + displayIndex - getVisibleCount();
+        }
+        //descend the tree for the last position whose prefix count is no more than displayIndex
+        int pos = 0;
+        int remain = displayIndex;
+        for(int step=Integer.highestOneBit(mSize);step>0;step>>=1) {
+            int next = pos + step;
+            if(next <= mSize && mTree[next] <= remain) {
+                pos = next;
+                remain -= mTree[next];
+            }
+        }
+        //pos is the count of indexes before the target, which is the target itself 0-based
+        return pos;
+    }
+}
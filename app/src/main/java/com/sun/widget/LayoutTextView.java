@@ -0,0 +1,66 @@
+package com.sun.widget;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.text.Layout;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * View showing a prepared text layout, centered within its padding
+ * Swapping a layout of the same size costs only a redraw, no text measuring
+ * @see TextLayoutCache
+ */
+public class LayoutTextView extends View {
+    private Layout mLayout = null;
+
+    public LayoutTextView(Context context) {
+        super(context);
+    }
+
+    public LayoutTextView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public void setTextLayout(Layout layout) {
+        if(layout == mLayout) {
+            return ;
+        }
+        boolean sizeChanged = mLayout == null || layout == null
+                || mLayout.getWidth() != layout.getWidth() || mLayout.getHeight() != layout.getHeight();
+        mLayout = layout;
+        if(sizeChanged) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    public Layout getTextLayout() {
+        return mLayout;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = getPaddingLeft() + getPaddingRight();
+        int height = getPaddingTop() + getPaddingBottom();
+        if(mLayout != null) {
+            width += mLayout.getWidth();
+            height += mLayout.getHeight();
+        }
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if(mLayout == null) {
+            return ;
+        }
+        int contentWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        int contentHeight = getHeight() - getPaddingTop() - getPaddingBottom();
+        int saveCount = canvas.save();
+        canvas.translate(getPaddingLeft() + (contentWidth - mLayout.getWidth()) / 2,
+                getPaddingTop() + (contentHeight - mLayout.getHeight()) / 2);
+        mLayout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+}
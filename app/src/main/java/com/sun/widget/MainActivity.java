@@ -5,6 +5,8 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.os.Bundle;
+import android.text.Layout;
+import android.text.TextPaint;
 import android.util.Pair;
 import android.view.LayoutInflater;
 import android.view.Menu;
@@ -14,6 +16,7 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import java.io.File;
 import java.util.ArrayList;
 
 
@@ -23,18 +26,32 @@ public class MainActivity extends Activity {
     private ViewGroup mRootView = null;
     private CrossList mList = null;
 
+    private TextLayoutCache mTextCache = null;
+
     private Pair<Integer, Integer> mSelected = new Pair<Integer, Integer>(-1, -1);
-    private ArrayList<Pair<Integer, Integer>> mRefreshList = null;
+
+    private static final int GridSize = 30;
+    /** Stand-in fare table, loaded tile by tile through a TiledGridDataSource */
+    private final Object[][] mFares = buildFares();
+    private static Object[][] buildFares() {
+        Object[][] fares = new Object[GridSize][GridSize];
+        for(int row=0;row<GridSize;row++) {
+            for(int col=0;col<GridSize;col++) {
+                fares[row][col] = row + col;
+            }
+        }
+        return fares;
+    }
 
     private CrossListAdapter mListAdapter = new CrossListAdapter() {
         @Override
         public int getRowCount() {
-            return 30;
+            return GridSize;
         }
 
         @Override
         public int getColumnCount() {
-            return 30;
+            return GridSize;
         }
 
         @Override
@@ -97,11 +114,28 @@ public class MainActivity extends Activity {
                 LayoutInflater inflater = (LayoutInflater)MainActivity.this.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
                 convertView = inflater.inflate(R.layout.flight_cross_calendar_content_for_global, null);
             }
-            TextView text = (TextView)convertView.findViewById(R.id.price);
-            text.setText((row + col) + "");
+            LayoutTextView text = (LayoutTextView)convertView.findViewById(R.id.price);
+            Object fare = getContentItem(row, col);
+            text.setTextLayout(fare == null ? null : mTextCache.getLayout(fare.toString(), 0));
             return convertView;
         }
 
+        @Override
+        public boolean isContentReady(int row, int col) {
+            return getContentItem(row, col) != null;
+        }
+
+        @Override
+        public boolean hasContentText() {
+            return true;
+        }
+
+        @Override
+        public CharSequence getContentText(int row, int col) {
+            //the table never changes, so it's safe to read in worker threads
+            return String.valueOf(mFares[row][col]);
+        }
+
         @Override
         public Object getRowTitleItem(int pos) {
             return null;
@@ -114,7 +148,7 @@ public class MainActivity extends Activity {
 
         @Override
         public Object getContentItem(int row, int col) {
-            return null;
+            return getDataSource().getItem(row, col);
         }
 
         class ViewHolder{
@@ -137,7 +171,19 @@ public class MainActivity extends Activity {
             return ;
         }
         mList = (CrossList)mRootView.findViewById(R.id.cross_list);
+        float density = getResources().getDisplayMetrics().density;
+        TextPaint pricePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        pricePaint.setTextSize(14 * density);
+        pricePaint.setColor(0xff333333);
+        mTextCache = new TextLayoutCache(TextLayoutCache.DefaultMaxBytes);
+        mTextCache.addStyle(pricePaint, (int)(56 * density), Layout.Alignment.ALIGN_CENTER);
+        mList.setTextLayoutCache(mTextCache);
+        mListAdapter.setDataSource(new TiledGridDataSource(GridSize, GridSize, 8, 32,
+                new TiledGridDataSource.ArrayTileLoader(mFares)));
         mList.setAdapter(mListAdapter);
+        mList.setSnapFlingEnabled(true);
+        mList.setSnapshotFile(new File(getCacheDir(), "cross_list.snapshot"));
+        mList.prewarmRecyclers();
         mList.setItemClickListener(new CrossList.OnItemClickListener(){
 
             @Override
@@ -153,19 +199,10 @@ public class MainActivity extends Activity {
             @Override
             public void onContentItemClicked(CrossList listView, int row, int col) {
                 mSelected = new Pair(row, col);
-                mListAdapter.notifyDataSetInvalidated(mRefreshList);
-                ArrayList<Pair<Integer, Integer>> newRefreshList = new ArrayList<Pair<Integer, Integer>>();
-                for(int r=-1;r<=row;r++) {
-                    newRefreshList.add(new Pair(r, col));
-                }
-                for(int c=-1;c<col;c++) {
-                    newRefreshList.add(new Pair(row, c));
-                }
-                mListAdapter.notifyDataSetInvalidated(newRefreshList);
-                mRefreshList = newRefreshList;
+                listView.setSelection(CrossList.SELECTION_CROSSHAIR, row, col);
             }
         });
-        if(mSelected != null) {
+        if(mSelected != null && mSelected.first >= 0) {
             mList.scrollTo(mSelected.first, mSelected.second);
         }
         ViewGroup.LayoutParams lp = new ViewGroup.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.MATCH_PARENT);
@@ -181,7 +218,7 @@ public class MainActivity extends Activity {
         @Override
         public void onScrollOverBy(CrossList list, ArrayList<CrossList.OverScrollModel> overList) {
             for(CrossList.OverScrollModel overModel : overList) {
-                TextView text = (TextView)overModel.overView.findViewById(R.id.over_scroll_text);
+                TextView text = getOverScrollText(overModel.overView);
                 if(overModel.overDegree > 1.0f) {
                     text.setText("松开刷新");
                 } else {
@@ -206,7 +243,7 @@ public class MainActivity extends Activity {
                 if(overModel.type == triggerType) {
                     list.disableScrollAndBounce();
                     list.stopFling();
-                    final TextView text = (TextView)overModel.overView.findViewById(R.id.over_scroll_text);
+                    final TextView text = getOverScrollText(overModel.overView);
                     final View progressBar = overModel.overView.findViewById(R.id.progress_bar);
                     list.showOverScrollView(triggerType);
                     final int curType = triggerType;
@@ -228,6 +265,23 @@ public class MainActivity extends Activity {
         }
     };
 
+    private TextView getOverScrollText(View overView) {
+        TextView text = (TextView)overView.getTag();
+        if(text == null) {
+            text = (TextView)overView.findViewById(R.id.over_scroll_text);
+            overView.setTag(text);
+        }
+        return text;
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if(mList != null) {
+            mList.saveSnapshot();
+        }
+    }
+
     public void removeCrossList() {
         if(mList == null) {
             return ;
@@ -0,0 +1,325 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * GridDataSource reading a binary grid file through a memory map
+ * Opening maps the file without reading it, and a cell is read straight from the map when it
+ * is asked for, so a grid of millions of cells costs little heap and opens in milliseconds
+ * File layout, big-endian:
+ * <code>
+ *     int magic 'CLGD', int version, int rowCount, int colCount, int valueType, int cellSize,
+ *     8 bytes reserved, then rowCount * colCount cells of cellSize bytes in row-major order
+ * </code>
+ * Value types are those of PrimitiveGridAdapter, empty cells hold its EMPTY values
+ * usage:
+ * <code>
+ *     MappedGridDataSource source = MappedGridDataSource.open(file, false);
+ *     adapter.setDataSource(source);
+ *     //in adapter.getContentView: source.getInt(row, col)
+ * </code>
+ * NOTE:Use it in the main thread, file size is limited to 2GB
+ * @see PrimitiveGridAdapter#TYPE_INT
+ */
+public class MappedGridDataSource extends GridDataSource {
+    private static final int Magic = 0x434c4744;//'CLGD'
+    private static final int Version = 1;
+    private static final int HeaderSize = 32;
+    private static final int RowCountOffset = 8;
+
+    private final RandomAccessFile mFile;
+    private final FileChannel mChannel;
+    private final boolean mWritable;
+    private final int mType;
+    private final int mCellSize;
+    private final int mColCount;
+    private int mRowCount;
+    private MappedByteBuffer mBuffer;
+
+    private MappedGridDataSource(RandomAccessFile file, boolean writable) throws IOException {
+        mFile = file;
+        mChannel = file.getChannel();
+        mWritable = writable;
+        ByteBuffer header = ByteBuffer.allocate(HeaderSize);
+        mChannel.read(header, 0);
+        header.flip();
+        if(header.remaining() < HeaderSize || header.getInt(0) != Magic) {
+            throw new IOException("not a grid file");
+        }
+        if(header.getInt(4) != Version) {
+            throw new IOException("unsupported grid file version " + header.getInt(4));
+        }
+        mRowCount = header.getInt(RowCountOffset);
+        mColCount = header.getInt(12);
+        mType = header.getInt(16);
+        mCellSize = header.getInt(20);
+        if(mCellSize != getCellSize(mType)) {
+            throw new IOException("bad cell size " + mCellSize + " for type " + mType);
+        }
+        map(mRowCount);
+    }
+
+    private static int getCellSize(int type) {
+        return type == PrimitiveGridAdapter.TYPE_LONG ? 8 : 4;
+    }
+
+    private static long getFileSize(int rowCount, int colCount, int cellSize) throws IOException {
+        long size = HeaderSize + (long)rowCount * colCount * cellSize;
+        if(size > Integer.MAX_VALUE) {
+            throw new IOException("grid file too large: " + size);
+        }
+        return size;
+    }
+
+    private void map(int rowCount) throws IOException {
+        long size = getFileSize(rowCount, mColCount, mCellSize);
+        if(mChannel.size() < size) {
+            throw new IOException("grid file truncated");
+        }
+        mBuffer = mChannel.map(mWritable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /**
+     * Create a grid file with all cells empty, the file is overwritten if exists
+     * @param type value type like PrimitiveGridAdapter#TYPE_INT
+     * @return a writable data source of the file
+     */
+    public static MappedGridDataSource create(File file, int type, int rowCount, int colCount) throws IOException {
+        if(type != PrimitiveGridAdapter.TYPE_INT && type != PrimitiveGridAdapter.TYPE_LONG
+                && type != PrimitiveGridAdapter.TYPE_FLOAT) {
+            throw new IllegalArgumentException("unknown value type " + type);
+        }
+        int cellSize = getCellSize(type);
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(0);
+            raf.setLength(getFileSize(rowCount, colCount, cellSize));
+            ByteBuffer header = ByteBuffer.allocate(HeaderSize);
+            header.putInt(Magic).putInt(Version).putInt(rowCount).putInt(colCount).putInt(type).putInt(cellSize);
+            header.clear();
+            raf.getChannel().write(header, 0);
+            MappedGridDataSource source = new MappedGridDataSource(raf, true);
+            source.fillEmpty(0, rowCount);
+            return source;
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open an existing grid file
+     * @param writable true to write cells and append rows
+     */
+    public static MappedGridDataSource open(File file, boolean writable) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, writable ? "rw" : "r");
+        try {
+            return new MappedGridDataSource(raf, writable);
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return mColCount;
+    }
+
+    public int getValueType() {
+        return mType;
+    }
+
+    private int getOffset(int row, int col) {
+        return HeaderSize + (row * mColCount + col) * mCellSize;
+    }
+
+    private boolean isInGrid(int row, int col) {
+        return row >= 0 && row < mRowCount && col >= 0 && col < mColCount;
+    }
+
+    /**
+     * @return the boxed value, null for an empty cell
+     */
+    @Override
+    public Object getItem(int row, int col) {
+        if(!hasValue(row, col)) {
+            return null;
+        }
+        if(mType == PrimitiveGridAdapter.TYPE_INT) {
+            return getInt(row, col);
+        } else if(mType == PrimitiveGridAdapter.TYPE_LONG) {
+            return getLong(row, col);
+        }
+        return getFloat(row, col);
+    }
+
+    public boolean hasValue(int row, int col) {
+        return !Float.isNaN(getFloat(row, col));
+    }
+
+    /**
+     * Primitive reads straight from the map, values are converted if the type differs
+     */
+    public int getInt(int row, int col) {
+        if(!isInGrid(row, col)) {
+            return PrimitiveGridAdapter.EMPTY_INT;
+        }
+        if(mType == PrimitiveGridAdapter.TYPE_INT) {
+            return mBuffer.getInt(getOffset(row, col));
+        } else if(mType == PrimitiveGridAdapter.TYPE_LONG) {
+            long value = mBuffer.getLong(getOffset(row, col));
+            return value == PrimitiveGridAdapter.EMPTY_LONG ? PrimitiveGridAdapter.EMPTY_INT : (int)value;
+        }
+        float value = getFloat(row, col);
+        return Float.isNaN(value) ? PrimitiveGridAdapter.EMPTY_INT : (int)value;
+    }
+
+    public long getLong(int row, int col) {
+        if(!isInGrid(row, col)) {
+            return PrimitiveGridAdapter.EMPTY_LONG;
+        }
+        if(mType == PrimitiveGridAdapter.TYPE_LONG) {
+            return mBuffer.getLong(getOffset(row, col));
+        } else if(mType == PrimitiveGridAdapter.TYPE_INT) {
+            int value = mBuffer.getInt(getOffset(row, col));
+            return value == PrimitiveGridAdapter.EMPTY_INT ? PrimitiveGridAdapter.EMPTY_LONG : value;
+        }
+        float value = getFloat(row, col);
+        return Float.isNaN(value) ? PrimitiveGridAdapter.EMPTY_LONG : (long)value;
+    }
+
+    public float getFloat(int row, int col) {
+        if(!isInGrid(row, col)) {
+            return Float.NaN;
+        }
+        int offset = getOffset(row, col);
+        if(mType == PrimitiveGridAdapter.TYPE_FLOAT) {
+            return mBuffer.getFloat(offset);
+        } else if(mType == PrimitiveGridAdapter.TYPE_INT) {
+            int value = mBuffer.getInt(offset);
+            return value == PrimitiveGridAdapter.EMPTY_INT ? Float.NaN : value;
+        }
+        long value = mBuffer.getLong(offset);
+        return value == PrimitiveGridAdapter.EMPTY_LONG ? Float.NaN : value;
+    }
+
+    /**
+     * Write one cell in place, without notifying
+     * @param value NaN for empty
+     */
+    private void putValue(int row, int col, double value) {
+        int offset = getOffset(row, col);
+        if(mType == PrimitiveGridAdapter.TYPE_FLOAT) {
+            mBuffer.putFloat(offset, (float)value);
+        } else if(mType == PrimitiveGridAdapter.TYPE_INT) {
+            mBuffer.putInt(offset, Double.isNaN(value) ? PrimitiveGridAdapter.EMPTY_INT : (int)value);
+        } else {
+            mBuffer.putLong(offset, Double.isNaN(value) ? PrimitiveGridAdapter.EMPTY_LONG : (long)value);
+        }
+    }
+
+    private void checkWritable() {
+        if(!mWritable) {
+            throw new IllegalStateException("grid file is opened read-only");
+        }
+    }
+
+    /**
+     * Refresh a region in place, visible cells of the region are rebound by CrossList
+     * @param values row-major values of the region, NaN for empty; length is rowCount*colCount
+     */
+    public void writeRegion(int rowStart, int colStart, int rowCount, int colCount, float[] values) {
+        checkWritable();
+        for(int r=0;r<rowCount;r++) {
+            for(int c=0;c<colCount;c++) {
+                if(isInGrid(rowStart + r, colStart + c)) {
+                    putValue(rowStart + r, colStart + c, values[r * colCount + c]);
+                }
+            }
+        }
+        notifyRegion(rowStart, colStart, rowCount, colCount);
+    }
+
+    /**
+     * @param values row-major values of the region, PrimitiveGridAdapter#EMPTY_INT for empty
+     */
+    public void writeRegion(int rowStart, int colStart, int rowCount, int colCount, int[] values) {
+        checkWritable();
+        for(int r=0;r<rowCount;r++) {
+            for(int c=0;c<colCount;c++) {
+                int value = values[r * colCount + c];
+                if(isInGrid(rowStart + r, colStart + c)) {
+                    putValue(rowStart + r, colStart + c, value == PrimitiveGridAdapter.EMPTY_INT ? Double.NaN : value);
+                }
+            }
+        }
+        notifyRegion(rowStart, colStart, rowCount, colCount);
+    }
+
+    private void notifyRegion(int rowStart, int colStart, int rowCount, int colCount) {
+        if(rowCount > 0 && colCount > 0) {
+            notifyDataReady(new Rect(colStart, rowStart, colStart + colCount - 1, rowStart + rowCount - 1));
+        }
+    }
+
+    /**
+     * Append empty rows at the end of the grid, the file grows and is mapped again
+     * The new rows are notified as ready data, so CrossList picks up the new row count
+     */
+    public void appendRows(int count) throws IOException {
+        checkWritable();
+        if(count <= 0) {
+            return ;
+        }
+        int oldRowCount = mRowCount;
+        int rowCount = oldRowCount + count;
+        mFile.setLength(getFileSize(rowCount, mColCount, mCellSize));
+        try {
+            map(rowCount);
+        } catch (IOException e) {
+            //keep the old map and row count valid
+            mFile.setLength(getFileSize(oldRowCount, mColCount, mCellSize));
+            throw e;
+        }
+        fillEmpty(oldRowCount, rowCount);
+        mBuffer.putInt(RowCountOffset, rowCount);
+        mRowCount = rowCount;
+        notifyRegion(oldRowCount, 0, count, mColCount);
+    }
+
+    private void fillEmpty(int rowStart, int rowEnd) {
+        for(int row=rowStart;row<rowEnd;row++) {
+            for(int col=0;col<mColCount;col++) {
+                putValue(row, col, Double.NaN);
+            }
+        }
+    }
+
+    /**
+     * Write changes to the storage
+     */
+    public void flush() {
+        if(mWritable) {
+            mBuffer.force();
+        }
+    }
+
+    public void close() throws IOException {
+        flush();
+        mChannel.close();
+        mFile.close();
+    }
+}
@@ -0,0 +1,111 @@
+package com.sun.widget;
+
+import android.content.ComponentCallbacks2;
+
+/**
+ * Memory budget of a CrossList
+ * It bounds the spare views kept in the recyclers by screens, and maps trim levels of the system to
+ * stages; at each stage CrossList shrinks its recyclers, the text layout cache and the cache of
+ * the data source to a ratio of their limits, and drops the cold-start snapshot from STAGE_LOW
+ * Everything cached is released when CrossList is detached from window
+ * usage:
+ * <code>
+ *     ActivityManager am = (ActivityManager)getSystemService(Context.ACTIVITY_SERVICE);
+ *     list.setMemoryBudget(MemoryBudget.forMemoryClass(am.getMemoryClass()));
+ *     list.setOnMemoryTrimListener(listener);//report usage to tune the budget
+ * </code>
+ * @see CrossList#trimMemory(int)
+ */
+public class MemoryBudget {
+    /** Trim stages, from mild to severe */
+    static public final int STAGE_NONE = 0;
+    static public final int STAGE_MODERATE = 1;
+    static public final int STAGE_LOW = 2;
+    static public final int STAGE_RELEASE = 3;
+
+    /** Ratio of caches kept at each stage */
+    private static final float[] KeepRatios = {1f, 0.5f, 0.25f, 0f};
+
+    private final float mRecycledScreens;
+
+    /**
+     * @param recycledScreens max spare views in all recyclers, in screens of titles and contents;
+     * views beyond it are removed instead of recycled
+     */
+    public MemoryBudget(float recycledScreens) {
+        mRecycledScreens = Math.max(0f, recycledScreens);
+    }
+
+    /**
+     * Budget scaled by the heap limit of the device
+     * @param memoryClass heap limit in megabytes, as ActivityManager#getMemoryClass
+     */
+    public static MemoryBudget forMemoryClass(int memoryClass) {
+        if(memoryClass >= 128) {
+            return new MemoryBudget(2f);
+        } else if(memoryClass >= 48) {
+            return new MemoryBudget(1f);
+        }
+        return new MemoryBudget(0.5f);
+    }
+
+    public float getRecycledScreens() {
+        return mRecycledScreens;
+    }
+
+    /**
+     * @param screenViews count of views covering one screen
+     */
+    public int getMaxRecycledViews(int screenViews) {
+        return (int)(screenViews * mRecycledScreens);
+    }
+
+    /**
+     * Map a level of ComponentCallbacks2#onTrimMemory to a stage
+     * Levels from TRIM_MEMORY_BACKGROUND mean the process might be killed, so all caches go;
+     * TRIM_MEMORY_UI_HIDDEN and the low running levels keep a small part for coming back
+     */
+    public int getStage(int trimLevel) {
+        if(trimLevel >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || trimLevel == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            return STAGE_RELEASE;
+        } else if(trimLevel >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            return STAGE_LOW;
+        } else if(trimLevel >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            return STAGE_MODERATE;
+        }
+        return STAGE_NONE;
+    }
+
+    public float getKeepRatio(int stage) {
+        return KeepRatios[Math.max(STAGE_NONE, Math.min(STAGE_RELEASE, stage))];
+    }
+
+    /** Memory used by caches of a CrossList, for reports */
+    static public class Usage {
+        public int recycledViews;
+        public int textLayoutBytes;
+        public long snapshotBytes;
+        public long gridValueBytes;
+        /** Size of the data source cache in its own unit, such as tiles */
+        public int dataSourceCacheSize;
+
+        @Override
+        public String toString() {
+            return "recycledViews=" + recycledViews + " textLayoutBytes=" + textLayoutBytes
+                    + " snapshotBytes=" + snapshotBytes + " gridValueBytes=" + gridValueBytes
+                    + " dataSourceCacheSize=" + dataSourceCacheSize;
+        }
+    }
+
+    /** Listener for trims, called in the main thread */
+    static public interface OnMemoryTrimListener {
+        /**
+         * @param level trim level, or -1 for the release on detach
+         * @param stage stage like #STAGE_LOW
+         * @param before usage before the trim
+         * @param after usage after the trim
+         */
+        public void onMemoryTrimmed(CrossList list, int level, int stage, Usage before, Usage after);
+    }
+}
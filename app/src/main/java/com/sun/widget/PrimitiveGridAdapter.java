@@ -0,0 +1,450 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * CrossListAdapter for numeric grids, such as fares
+ * Content values are kept in flat primitive arrays of 64x64 tiles, a tile is allocated on its
+ * first write and the grid grows by adding tiles, without copying values
+ * Every write marks its cell in a dirty bitset and its block of the range-min index stale;
+ * CrossList drains the visible part of the bitset once per frame and rebinds those cells, so a
+ * bulk update is just array writes and a bit scan
+ * usage:
+ * <code>
+ *     PrimitiveGridAdapter adapter = new PrimitiveGridAdapter(PrimitiveGridAdapter.TYPE_INT, 365, 365) {
+ *         //views as a CrossListAdapter, values from getInt(row, col)
+ *     };
+ *     for(...) {
+ *         adapter.setInt(row, col, fare);
+ *     }
+ * </code>
+ * NOTE:Use it in the main thread
+ */
+public abstract class PrimitiveGridAdapter extends CrossListAdapter {
+    static public final int TYPE_INT = 0;
+    static public final int TYPE_LONG = 1;
+    static public final int TYPE_FLOAT = 2;
+    /** Values of empty cells, NaN for TYPE_FLOAT */
+    static public final int EMPTY_INT = Integer.MIN_VALUE;
+    static public final long EMPTY_LONG = Long.MIN_VALUE;
+
+    private static final int TileShift = 6;
+    private static final int TileSize = 1 << TileShift;
+    private static final int TileMask = TileSize - 1;
+
+    private final int mType;
+    private int mRowCount;
+    private int mColCount;
+    private int mTileRows;
+    private int mTileCols;
+    private int[][] mIntTiles;
+    private long[][] mLongTiles;
+    private float[][] mFloatTiles;
+    /** One word per row of a tile, bit n for column n of the tile */
+    private long[][] mDirtyTiles;
+    /** Tiles which might have dirty bits, so clearing doesn't walk every tile */
+    private BitSet mDirtyTileSet = new BitSet();
+    private boolean mHasDirty = false;
+
+    /** Listener for the first write after the dirty bitset is cleared */
+    static public interface OnDirtyListener {
+        public void onDirty(PrimitiveGridAdapter adapter);
+    }
+
+    /** Visitor of drained dirty cells */
+    static public interface DirtyCellVisitor {
+        public void onDirtyCell(int row, int col);
+    }
+
+    private OnDirtyListener mDirtyListener = null;
+
+    /**
+     * @param type value type like #TYPE_INT
+     */
+    public PrimitiveGridAdapter(int type, int rowCount, int colCount) {
+        mType = type;
+        setSize(rowCount, colCount);
+    }
+
+    public int getValueType() {
+        return mType;
+    }
+
+    @Override
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return mColCount;
+    }
+
+    /**
+     * Resize the grid, values of remaining cells are kept
+     * Only the tables of tiles are rebuilt, tiles themselves are reused
+     */
+    public void setSize(int rowCount, int colCount) {
+        rowCount = Math.max(0, rowCount);
+        colCount = Math.max(0, colCount);
+        int tileRows = (rowCount + TileMask) >> TileShift;
+        int tileCols = (colCount + TileMask) >> TileShift;
+        int[][] intTiles = mType == TYPE_INT ? new int[tileRows * tileCols][] : null;
+        long[][] longTiles = mType == TYPE_LONG ? new long[tileRows * tileCols][] : null;
+        float[][] floatTiles = mType == TYPE_FLOAT ? new float[tileRows * tileCols][] : null;
+        long[][] dirtyTiles = new long[tileRows * tileCols][];
+        BitSet dirtyTileSet = new BitSet();
+        for(int tileRow=0;tileRow<Math.min(tileRows, mTileRows);tileRow++) {
+            for(int tileCol=0;tileCol<Math.min(tileCols, mTileCols);tileCol++) {
+                int from = tileRow * mTileCols + tileCol;
+                int to = tileRow * tileCols + tileCol;
+                if(intTiles != null) {
+                    intTiles[to] = mIntTiles[from];
+                } else if(longTiles != null) {
+                    longTiles[to] = mLongTiles[from];
+                } else {
+                    floatTiles[to] = mFloatTiles[from];
+                }
+                dirtyTiles[to] = mDirtyTiles[from];
+                if(mDirtyTileSet.get(from)) {
+                    dirtyTileSet.set(to);
+                }
+            }
+        }
+        int oldRowCount = mRowCount;
+        int oldColCount = mColCount;
+        mIntTiles = intTiles;
+        mLongTiles = longTiles;
+        mFloatTiles = floatTiles;
+        mDirtyTiles = dirtyTiles;
+        mDirtyTileSet = dirtyTileSet;
+        mTileRows = tileRows;
+        mTileCols = tileCols;
+        mRowCount = rowCount;
+        mColCount = colCount;
+        //values cut off by shrinking must not come back by growing
+        clearOutside(Math.min(oldRowCount, rowCount), Math.min(oldColCount, colCount));
+    }
+
+    /** Clear cells and dirty bits of allocated tiles out of [0, rowCount) x [0, colCount) */
+    private void clearOutside(int rowCount, int colCount) {
+        for(int tileRow=0;tileRow<mTileRows;tileRow++) {
+            for(int tileCol=0;tileCol<mTileCols;tileCol++) {
+                int rowStart = tileRow << TileShift;
+                int colStart = tileCol << TileShift;
+                if(rowStart + TileSize <= rowCount && colStart + TileSize <= colCount) {
+                    continue;
+                }
+                int tile = tileRow * mTileCols + tileCol;
+                if(mIntTiles != null ? mIntTiles[tile] == null
+                        : mLongTiles != null ? mLongTiles[tile] == null : mFloatTiles[tile] == null) {
+                    //never written, nothing to clear
+                    continue;
+                }
+                //only the cut-off rows and the cut-off columns of remaining rows
+                int cutCol = Math.max(0, Math.min(TileSize, colCount - colStart));
+                long[] dirty = mDirtyTiles[tile];
+                for(int r=0;r<TileSize;r++) {
+                    int from = rowStart + r < rowCount ? cutCol : 0;
+                    if(from < TileSize) {
+                        fillTileRow(tile, r, from);
+                        if(dirty != null) {
+                            //a drain must not visit cells out of the grid
+                            dirty[r] &= (1L << from) - 1;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Set cells [from, TileSize) of a row in an allocated tile to empty */
+    private void fillTileRow(int tile, int row, int from) {
+        int start = (row << TileShift) + from;
+        int end = (row << TileShift) + TileSize;
+        if(mIntTiles != null) {
+            Arrays.fill(mIntTiles[tile], start, end, EMPTY_INT);
+        } else if(mLongTiles != null) {
+            Arrays.fill(mLongTiles[tile], start, end, EMPTY_LONG);
+        } else {
+            Arrays.fill(mFloatTiles[tile], start, end, Float.NaN);
+        }
+    }
+
+    /**
+     * @return bytes of allocated tiles with their dirty bits, for memory reports
+     */
+    public long getValueBytes() {
+        int cellSize = mType == TYPE_LONG ? 8 : 4;
+        long bytes = 0;
+        for(int tile=0;tile<mDirtyTiles.length;tile++) {
+            boolean allocated = mIntTiles != null ? mIntTiles[tile] != null
+                    : mLongTiles != null ? mLongTiles[tile] != null : mFloatTiles[tile] != null;
+            if(allocated) {
+                bytes += TileSize * TileSize * cellSize;
+            }
+            if(mDirtyTiles[tile] != null) {
+                bytes += TileSize * 8;
+            }
+        }
+        return bytes;
+    }
+
+    private int getTile(int row, int col) {
+        return (row >> TileShift) * mTileCols + (col >> TileShift);
+    }
+
+    private static int getOffset(int row, int col) {
+        return ((row & TileMask) << TileShift) | (col & TileMask);
+    }
+
+    private boolean isInGrid(int row, int col) {
+        return row >= 0 && row < mRowCount && col >= 0 && col < mColCount;
+    }
+
+    /**
+     * Value accessors, values are converted if the type differs
+     */
+    public void setInt(int row, int col, int value) {
+        if(mType == TYPE_INT) {
+            if(!isInGrid(row, col)) {
+                return ;
+            }
+            int tile = getTile(row, col);
+            if(mIntTiles[tile] == null) {
+                mIntTiles[tile] = new int[TileSize * TileSize];
+                Arrays.fill(mIntTiles[tile], EMPTY_INT);
+            }
+            mIntTiles[tile][getOffset(row, col)] = value;
+            onValueChanged(row, col);
+        } else if(mType == TYPE_LONG) {
+            setLong(row, col, value == EMPTY_INT ? EMPTY_LONG : value);
+        } else {
+            setFloat(row, col, value == EMPTY_INT ? Float.NaN : value);
+        }
+    }
+
+    public void setLong(int row, int col, long value) {
+        if(mType == TYPE_LONG) {
+            if(!isInGrid(row, col)) {
+                return ;
+            }
+            int tile = getTile(row, col);
+            if(mLongTiles[tile] == null) {
+                mLongTiles[tile] = new long[TileSize * TileSize];
+                Arrays.fill(mLongTiles[tile], EMPTY_LONG);
+            }
+            mLongTiles[tile][getOffset(row, col)] = value;
+            onValueChanged(row, col);
+        } else if(mType == TYPE_INT) {
+            setInt(row, col, value == EMPTY_LONG ? EMPTY_INT : (int)value);
+        } else {
+            setFloat(row, col, value == EMPTY_LONG ? Float.NaN : value);
+        }
+    }
+
+    public void setFloat(int row, int col, float value) {
+        if(mType == TYPE_FLOAT) {
+            if(!isInGrid(row, col)) {
+                return ;
+            }
+            int tile = getTile(row, col);
+            if(mFloatTiles[tile] == null) {
+                mFloatTiles[tile] = new float[TileSize * TileSize];
+                Arrays.fill(mFloatTiles[tile], Float.NaN);
+            }
+            mFloatTiles[tile][getOffset(row, col)] = value;
+            onValueChanged(row, col);
+        } else if(mType == TYPE_INT) {
+            setInt(row, col, Float.isNaN(value) ? EMPTY_INT : (int)value);
+        } else {
+            setLong(row, col, Float.isNaN(value) ? EMPTY_LONG : (long)value);
+        }
+    }
+
+    public void clearValue(int row, int col) {
+        setLong(row, col, EMPTY_LONG);
+    }
+
+    public boolean hasValue(int row, int col) {
+        return !Float.isNaN(getFloat(row, col));
+    }
+
+    public int getInt(int row, int col) {
+        if(mType == TYPE_INT) {
+            if(!isInGrid(row, col)) {
+                return EMPTY_INT;
+            }
+            int[] tile = mIntTiles[getTile(row, col)];
+            return tile == null ? EMPTY_INT : tile[getOffset(row, col)];
+        } else if(mType == TYPE_LONG) {
+            long value = getLong(row, col);
+            return value == EMPTY_LONG ? EMPTY_INT : (int)value;
+        } else {
+            float value = getFloat(row, col);
+            return Float.isNaN(value) ? EMPTY_INT : (int)value;
+        }
+    }
+
+    public long getLong(int row, int col) {
+        if(mType == TYPE_LONG) {
+            if(!isInGrid(row, col)) {
+                return EMPTY_LONG;
+            }
+            long[] tile = mLongTiles[getTile(row, col)];
+            return tile == null ? EMPTY_LONG : tile[getOffset(row, col)];
+        } else if(mType == TYPE_INT) {
+            int value = getInt(row, col);
+            return value == EMPTY_INT ? EMPTY_LONG : value;
+        } else {
+            float value = getFloat(row, col);
+            return Float.isNaN(value) ? EMPTY_LONG : (long)value;
+        }
+    }
+
+    public float getFloat(int row, int col) {
+        if(mType == TYPE_FLOAT) {
+            if(!isInGrid(row, col)) {
+                return Float.NaN;
+            }
+            float[] tile = mFloatTiles[getTile(row, col)];
+            return tile == null ? Float.NaN : tile[getOffset(row, col)];
+        } else if(mType == TYPE_INT) {
+            int value = getInt(row, col);
+            return value == EMPTY_INT ? Float.NaN : value;
+        } else {
+            long value = getLong(row, col);
+            return value == EMPTY_LONG ? Float.NaN : value;
+        }
+    }
+
+    /**
+     * Values are exposed to the value channel of CrossListAdapter
+     */
+    @Override
+    public boolean hasContentValues() {
+        return true;
+    }
+
+    @Override
+    public float getContentValue(int row, int col) {
+        return getFloat(row, col);
+    }
+
+    /**
+     * @return the boxed value, or null for an empty cell
+     */
+    @Override
+    public Object getContentItem(int row, int col) {
+        if(!hasValue(row, col)) {
+            return null;
+        }
+        if(mType == TYPE_INT) {
+            return getInt(row, col);
+        } else if(mType == TYPE_LONG) {
+            return getLong(row, col);
+        }
+        return getFloat(row, col);
+    }
+
+    private void onValueChanged(int row, int col) {
+        notifyContentValueChanged(row, col);
+        int tile = getTile(row, col);
+        if(mDirtyTiles[tile] == null) {
+            mDirtyTiles[tile] = new long[TileSize];
+        }
+        mDirtyTiles[tile][row & TileMask] |= 1L << (col & TileMask);
+        mDirtyTileSet.set(tile);
+        if(!mHasDirty) {
+            mHasDirty = true;
+            if(mDirtyListener != null) {
+                mDirtyListener.onDirty(this);
+            }
+        }
+    }
+
+    /**
+     * Dirty bitset business
+     */
+    public void setOnDirtyListener(OnDirtyListener listener) {
+        mDirtyListener = listener;
+    }
+
+    public boolean hasDirtyCells() {
+        return mHasDirty;
+    }
+
+    /**
+     * Visit and clear dirty cells in an index bound, both sides included
+     */
+    public void drainDirtyCells(Rect indexBound, DirtyCellVisitor visitor) {
+        if(!mHasDirty) {
+            return ;
+        }
+        int top = Math.max(0, indexBound.top);
+        int left = Math.max(0, indexBound.left);
+        int bottom = Math.min(mRowCount - 1, indexBound.bottom);
+        int right = Math.min(mColCount - 1, indexBound.right);
+        for(int tileRow=top>>TileShift;tileRow<=bottom>>TileShift&&top<=bottom;tileRow++) {
+            for(int tileCol=left>>TileShift;tileCol<=right>>TileShift&&left<=right;tileCol++) {
+                long[] dirty = mDirtyTiles[tileRow * mTileCols + tileCol];
+                if(dirty == null) {
+                    continue;
+                }
+                int colStart = tileCol << TileShift;
+                int fromBit = Math.max(left, colStart) - colStart;
+                int toBit = Math.min(right, colStart + TileMask) - colStart;
+                long mask = (-1L >>> (TileMask - toBit)) & (-1L << fromBit);
+                int rowStart = tileRow << TileShift;
+                for(int row=Math.max(top, rowStart);row<=Math.min(bottom, rowStart + TileMask);row++) {
+                    long bits = dirty[row & TileMask] & mask;
+                    dirty[row & TileMask] &= ~bits;
+                    while(bits != 0) {
+                        int bit = Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        visitor.onDirtyCell(row, colStart + bit);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Visit and clear all dirty cells, the listener will be called on the next write
+     */
+    public void drainAllDirtyCells(DirtyCellVisitor visitor) {
+        if(!mHasDirty) {
+            return ;
+        }
+        for(int tile=mDirtyTileSet.nextSetBit(0);tile>=0;tile=mDirtyTileSet.nextSetBit(tile + 1)) {
+            long[] dirty = mDirtyTiles[tile];
+            int rowStart = (tile / mTileCols) << TileShift;
+            int colStart = (tile % mTileCols) << TileShift;
+            for(int r=0;r<TileSize;r++) {
+                long bits = dirty[r];
+                dirty[r] = 0;
+                while(bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    visitor.onDirtyCell(rowStart + r, colStart + bit);
+                }
+            }
+        }
+        mDirtyTileSet.clear();
+        mHasDirty = false;
+    }
+
+    /**
+     * Clear all dirty cells, the listener will be called on the next write
+     */
+    public void clearDirtyCells() {
+        for(int tile=mDirtyTileSet.nextSetBit(0);tile>=0;tile=mDirtyTileSet.nextSetBit(tile + 1)) {
+            Arrays.fill(mDirtyTiles[tile], 0);
+        }
+        mDirtyTileSet.clear();
+        mHasDirty = false;
+    }
+}
@@ -0,0 +1,213 @@
+package com.sun.widget;
+
+import java.util.Arrays;
+
+/**
+ * Range-min index over float values of a grid, answering the cell with the minimum value
+ * within an index rect
+ * The grid is cut into 64x64 blocks; every block keeps its minimum and the minimum of each of
+ * its rows and columns, so a rect costs one lookup per covered block, one per row or column of
+ * its edge blocks and a scan of at most its four corner blocks. Values themselves are read from
+ * the adapter, the index costs well under one byte per cell
+ * A change only marks its block stale, a stale block is rebuilt from the adapter when a query
+ * reaches it, so a bulk update costs one rebuild per touched block instead of one per cell
+ * Missing values (NaN) never win; ties are won by the earlier cell in row-major order
+ * Cells are returned as keys: (row << 32) | col, -1 if the range has no value
+ * NOTE:Not thread safe, use it in the main thread
+ */
+public class RangeMinIndex {
+    private static final int BlockShift = 6;
+    private static final int BlockSize = 1 << BlockShift;
+
+    private final CrossListAdapter mAdapter;
+    private final int mRowCount;
+    private final int mColCount;
+    private final int mBlockRows;
+    private final int mBlockCols;
+    /** Minimum of each block, and its cell as (row << BlockShift) | col within the block */
+    private final float[] mBlockMin;
+    private final short[] mBlockCell;
+    /** Minimum of each row of a block, at block * BlockSize + row, and its column within the block */
+    private final float[] mRowMin;
+    private final byte[] mRowCell;
+    /** Minimum of each column of a block, at block * BlockSize + col, and its row within the block */
+    private final float[] mColMin;
+    private final byte[] mColCell;
+    private final boolean[] mStale;
+
+    private float mQueryValue;
+    private long mQueryCell;
+
+    /**
+     * Create an index over an adapter's value channel, blocks are built on first query
+     * @see CrossListAdapter#getContentValue(int, int)
+     */
+    public RangeMinIndex(CrossListAdapter adapter) {
+        mAdapter = adapter;
+        mRowCount = Math.max(1, adapter.getRowCount());
+        mColCount = Math.max(1, adapter.getColumnCount());
+        mBlockRows = (mRowCount + BlockSize - 1) >> BlockShift;
+        mBlockCols = (mColCount + BlockSize - 1) >> BlockShift;
+        long blockCount = (long)mBlockRows * mBlockCols;
+        if(blockCount * BlockSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("grid too large: " + mRowCount + "x" + mColCount);
+        }
+        int count = (int)blockCount;
+        mBlockMin = new float[count];
+        mBlockCell = new short[count];
+        mRowMin = new float[count * BlockSize];
+        mRowCell = new byte[count * BlockSize];
+        mColMin = new float[count * BlockSize];
+        mColCell = new byte[count * BlockSize];
+        mStale = new boolean[count];
+        Arrays.fill(mStale, true);
+    }
+
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    public int getColumnCount() {
+        return mColCount;
+    }
+
+    /**
+     * The value of one cell changed, its block is rebuilt on the next query reaching it
+     */
+    public void invalidate(int row, int col) {
+        if(row < 0 || row >= mRowCount || col < 0 || col >= mColCount) {
+            return ;
+        }
+        mStale[(row >> BlockShift) * mBlockCols + (col >> BlockShift)] = true;
+    }
+
+    private void buildBlock(int block) {
+        mStale[block] = false;
+        int rowStart = (block / mBlockCols) << BlockShift;
+        int colStart = (block % mBlockCols) << BlockShift;
+        int rows = Math.min(BlockSize, mRowCount - rowStart);
+        int cols = Math.min(BlockSize, mColCount - colStart);
+        int base = block * BlockSize;
+        Arrays.fill(mRowMin, base, base + BlockSize, Float.NaN);
+        Arrays.fill(mColMin, base, base + BlockSize, Float.NaN);
+        float blockMin = Float.NaN;
+        int blockCell = 0;
+        //row-major scan, so a strict less keeps the earlier cell on ties
+        for(int r=0;r<rows;r++) {
+            for(int c=0;c<cols;c++) {
+                float value = getValue(rowStart + r, colStart + c);
+                if(Float.isNaN(value)) {
+                    continue;
+                }
+                if(!(value >= mRowMin[base + r])) {
+                    mRowMin[base + r] = value;
+                    mRowCell[base + r] = (byte)c;
+                }
+                if(!(value >= mColMin[base + c])) {
+                    mColMin[base + c] = value;
+                    mColCell[base + c] = (byte)r;
+                }
+                if(!(value >= blockMin)) {
+                    blockMin = value;
+                    blockCell = (r << BlockShift) | c;
+                }
+            }
+        }
+        mBlockMin[block] = blockMin;
+        mBlockCell[block] = (short)blockCell;
+    }
+
+    /**
+     * @return value of the cell, NaN if missing
+     */
+    public float getValue(int row, int col) {
+        if(row < 0 || row >= mRowCount || col < 0 || col >= mColCount) {
+            return Float.NaN;
+        }
+        return mAdapter.getContentValue(row, col);
+    }
+
+    /**
+     * Find the cell with the minimum value in a rect, both sides included
+     * @return key of the cell, -1 if no cell in the rect has a value
+     */
+    public long queryMinCell(int top, int left, int bottom, int right) {
+        top = Math.max(0, top);
+        left = Math.max(0, left);
+        bottom = Math.min(mRowCount - 1, bottom);
+        right = Math.min(mColCount - 1, right);
+        mQueryValue = Float.NaN;
+        mQueryCell = -1;
+        if(top > bottom || left > right) {
+            return -1;
+        }
+        for(int blockRow=top>>BlockShift;blockRow<=bottom>>BlockShift;blockRow++) {
+            int rowStart = blockRow << BlockShift;
+            int rowEnd = Math.min(mRowCount, rowStart + BlockSize) - 1;
+            int r0 = Math.max(top, rowStart);
+            int r1 = Math.min(bottom, rowEnd);
+            boolean fullRows = r0 == rowStart && r1 == rowEnd;
+            for(int blockCol=left>>BlockShift;blockCol<=right>>BlockShift;blockCol++) {
+                int colStart = blockCol << BlockShift;
+                int colEnd = Math.min(mColCount, colStart + BlockSize) - 1;
+                int c0 = Math.max(left, colStart);
+                int c1 = Math.min(right, colEnd);
+                boolean fullCols = c0 == colStart && c1 == colEnd;
+                int block = blockRow * mBlockCols + blockCol;
+                if(!fullRows && !fullCols) {
+                    //partial both ways, such as a corner of the rect, scan it
+                    for(int row=r0;row<=r1;row++) {
+                        for(int col=c0;col<=c1;col++) {
+                            offer(getValue(row, col), row, col);
+                        }
+                    }
+                    continue;
+                }
+                if(mStale[block]) {
+                    buildBlock(block);
+                }
+                int base = block * BlockSize;
+                if(fullRows && fullCols) {
+                    int cell = mBlockCell[block];
+                    offer(mBlockMin[block], rowStart + (cell >> BlockShift), colStart + (cell & (BlockSize - 1)));
+                } else if(fullCols) {
+                    for(int row=r0;row<=r1;row++) {
+                        offer(mRowMin[base + row - rowStart], row, colStart + mRowCell[base + row - rowStart]);
+                    }
+                } else {
+                    for(int col=c0;col<=c1;col++) {
+                        offer(mColMin[base + col - colStart], rowStart + mColCell[base + col - colStart], col);
+                    }
+                }
+            }
+        }
+        return mQueryCell;
+    }
+
+    private void offer(float value, int row, int col) {
+        if(Float.isNaN(value)) {
+            return ;
+        }
+        long cell = ((long)row<<32) | col;
+        if(mQueryCell < 0 || value < mQueryValue || (value == mQueryValue && cell < mQueryCell)) {
+            mQueryValue = value;
+            mQueryCell = cell;
+        }
+    }
+
+    public long queryRowMinCell(int row) {
+        return queryMinCell(row, 0, row, mColCount - 1);
+    }
+
+    public long queryColumnMinCell(int col) {
+        return queryMinCell(0, col, mRowCount - 1, col);
+    }
+
+    public static int getRow(long cellKey) {
+        return (int)(cellKey>>32);
+    }
+
+    public static int getColumn(long cellKey) {
+        return (int)cellKey;
+    }
+}
@@ -0,0 +1,148 @@
+package com.sun.widget;
+
+import java.util.Arrays;
+
+/**
+ * Sizes of rows or columns in auto-size mode, with prefix sums kept by a Fenwick tree
+ * Every index starts with the estimated size until its measured size is set; an index hidden
+ * by the visibility mask takes no space, so offsets are positions in display order
+ * #offsetOf, #indexAt and #setSize cost O(log n)
+ * NOTE:Use it in the main thread
+ * @see IndexMask
+ */
+class SizeIndex {
+    private final IndexMask mMask;
+    private int mEstimate;
+    private int mCount = 0;
+    private int[] mSizes = new int[0];
+    /** Fenwick tree of shown sizes, 1-based */
+    private long[] mTree = new long[1];
+
+    SizeIndex(IndexMask mask, int estimate) {
+        mMask = mask;
+        mEstimate = Math.max(1, estimate);
+    }
+
+    int getCount() {
+        return mCount;
+    }
+
+    int getEstimate() {
+        return mEstimate;
+    }
+
+    /**
+     * Resize the index, sizes of remaining indexes are kept and new indexes are estimated
+     */
+    void resize(int count) {
+        count = Math.max(0, count);
+        if(count == mCount) {
+            return ;
+        }
+        int oldCount = mCount;
+        mSizes = Arrays.copyOf(mSizes, count);
+        if(count > oldCount) {
+            Arrays.fill(mSizes, oldCount, count, mEstimate);
+        }
+        mCount = count;
+        rebuild();
+    }
+
+    /** Build the tree from sizes and the mask in O(n), after the mask changed a lot */
+    void rebuild() {
+        mTree = new long[mCount + 1];
+        for(int i=1;i<=mCount;i++) {
+            mTree[i] += getShownSize(i - 1);
+            int parent = i + (i & -i);
+            if(parent <= mCount) {
+                mTree[parent] += mTree[i];
+            }
+        }
+    }
+
+    /**
+     * @return size of an index whether it's shown or not, the estimate beyond the count
+     */
+    int getSize(int index) {
+        return index >= 0 && index < mCount ? mSizes[index] : mEstimate;
+    }
+
+    private int getShownSize(int index) {
+        return mMask.isVisible(index) ? mSizes[index] : 0;
+    }
+
+    /**
+     * Set the measured size of an index
+     * @return change of the total size
+     */
+    int setSize(int index, int size) {
+        if(index < 0 || index >= mCount) {
+            return 0;
+        }
+        size = Math.max(0, size);
+        int old = getShownSize(index);
+        mSizes[index] = size;
+        int delta = getShownSize(index) - old;
+        if(delta != 0) {
+            add(index, delta);
+        }
+        return delta;
+    }
+
+    /** Called after the mask toggled an index */
+    void onVisibilityChanged(int index) {
+        if(index < 0 || index >= mCount) {
+            return ;
+        }
+        add(index, mMask.isVisible(index) ? mSizes[index] : -mSizes[index]);
+    }
+
+    private void add(int index, long delta) {
+        for(int i=index+1;i<=mCount;i+=i&-i) {
+            mTree[i] += delta;
+        }
+    }
+
+    /**
+     * @return sum of shown sizes before index, estimated beyond the count
+     */
+    long offsetOf(int index) {
+        if(index <= 0) {
+            return (long)index * mEstimate;
+        }
+        long offset = (long)Math.max(0, index - mCount) * mEstimate;
+        for(int i=Math.min(index, mCount);i>0;i-=i&-i) {
+            offset += mTree[i];
+        }
+        return offset;
+    }
+
+    long getTotal() {
+        return offsetOf(mCount);
+    }
+
+    /**
+     * @return the shown index containing offset; estimated out of [0, total)
+     */
+    int indexAt(long offset) {
+        if(offset < 0) {
+            return (int)Math.floor(offset * 1.0 / mEstimate);
+        }
+        long total = getTotal();
+        if(offset >= total) {
+            return (int)Math.min(Integer.MAX_VALUE, mCount + (offset - total) / mEstimate);
+        }
+        //descend the tree for the last position whose prefix sum is no more than offset,
+        //hidden indexes have no size and are passed over
+        int pos = 0;
+        long remain = offset;
+        for(int step=Integer.highestOneBit(mCount);step>0;step>>=1) {
+            int next = pos + step;
+            if(next <= mCount && mTree[next] <= remain) {
+                pos = next;
+                remain -= mTree[next];
+            }
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,230 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+import android.os.Process;
+import android.support.v4.util.LruCache;
+import android.text.BoringLayout;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Cache of text layouts for cell labels, keyed by text and style and bounded by memory
+ * CrossList asks it to precompute labels of the visible and prefetch windows in worker threads,
+ * through the text channel of the adapter, so that binding a cell only swaps a ready-made layout
+ * usage:
+ * <code>
+ *     TextLayoutCache cache = new TextLayoutCache(TextLayoutCache.DefaultMaxBytes);
+ *     int priceStyle = cache.addStyle(pricePaint, cellWidth, Layout.Alignment.ALIGN_CENTER);
+ *     list.setTextLayoutCache(cache);
+ *     //in adapter.getContentView
+ *     layoutTextView.setTextLayout(cache.getLayout(getContentText(row, col), priceStyle));
+ * </code>
+ * NOTE:Labels are plain text, spans are dropped; paints must not change after they are added
+ * @see CrossListAdapter#getContentText(int, int)
+ * @see LayoutTextView
+ */
+public class TextLayoutCache {
+    public static final int DefaultMaxBytes = 1 << 20;
+    /** Estimated bytes of a layout besides its chars */
+    private static final int LayoutOverhead = 256;
+    /** Rows of the window precomputed by one task */
+    private static final int RowsPerTask = 8;
+
+    private static Executor sDefaultExecutor = null;
+    private static synchronized Executor getDefaultExecutor() {
+        if(sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "CrossList-text");
+                }
+            });
+        }
+        return sDefaultExecutor;
+    }
+
+    private static class Style {
+        final TextPaint paint;
+        final int width;
+        final Layout.Alignment alignment;
+        Style(TextPaint paint, int width, Layout.Alignment alignment) {
+            this.paint = paint;
+            this.width = width;
+            this.alignment = alignment;
+        }
+    }
+
+    private static class Key {
+        final int style;
+        final String text;
+        Key(int style, String text) {
+            this.style = style;
+            this.text = text;
+        }
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)o;
+            return style == other.style && text.equals(other.text);
+        }
+        @Override
+        public int hashCode() {
+            return style * 31 + text.hashCode();
+        }
+    }
+
+    private final CopyOnWriteArrayList<Style> mStyles = new CopyOnWriteArrayList<Style>();
+    private final LruCache<Key, Layout> mCache;
+    private final Executor mExecutor;
+    private volatile int mGeneration = 0;
+    private Rect[] mLastWindows = null;
+
+    public TextLayoutCache(int maxBytes) {
+        this(maxBytes, getDefaultExecutor());
+    }
+
+    public TextLayoutCache(int maxBytes, Executor executor) {
+        mExecutor = executor;
+        mCache = new LruCache<Key, Layout>(maxBytes) {
+            @Override
+            protected int sizeOf(Key key, Layout value) {
+                return LayoutOverhead + key.text.length() * 2;
+            }
+        };
+    }
+
+    /**
+     * Add a text style
+     * @param width layout width in pixels, usually the cell width without padding
+     * @return id of the style
+     */
+    public int addStyle(TextPaint paint, int width, Layout.Alignment alignment) {
+        mStyles.add(new Style(paint, Math.max(0, width), alignment));
+        return mStyles.size() - 1;
+    }
+
+    /**
+     * Get the layout of a label, built in the calling thread on a miss
+     * @return the layout, null if text is null
+     */
+    public Layout getLayout(CharSequence text, int style) {
+        if(text == null) {
+            return null;
+        }
+        Key key = new Key(style, text.toString());
+        Layout layout = mCache.get(key);
+        if(layout == null) {
+            layout = buildLayout(key);
+            mCache.put(key, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Get the layout of a label if it's cached
+     */
+    public Layout peekLayout(CharSequence text, int style) {
+        return text == null ? null : mCache.get(new Key(style, text.toString()));
+    }
+
+    private Layout buildLayout(Key key) {
+        Style style = mStyles.get(key.style);
+        BoringLayout.Metrics metrics = BoringLayout.isBoring(key.text, style.paint);
+        if(metrics != null && metrics.width <= style.width) {
+            return BoringLayout.make(key.text, style.paint, style.width, style.alignment, 1.0f, 0.0f, metrics, false);
+        }
+        return new StaticLayout(key.text, style.paint, style.width, style.alignment, 1.0f, 0.0f, false);
+    }
+
+    /**
+     * Precompute labels of windows in worker threads, the previous request is abandoned
+     * Called by CrossList in the main thread
+     * @param windows bounds by index, both sides included; they are precomputed in order,
+     * in chunks of rows, so the most urgent window comes first
+     */
+    void precompute(CrossListAdapter adapter, Rect... windows) {
+        if(mLastWindows != null && Arrays.equals(mLastWindows, windows)) {
+            return ;
+        }
+        mLastWindows = new Rect[windows.length];
+        final int generation = ++mGeneration;
+        for(int i=0;i<windows.length;i++) {
+            mLastWindows[i] = new Rect(windows[i]);
+            int left = Math.max(0, windows[i].left);
+            int right = Math.min(adapter.getColumnCount() - 1, windows[i].right);
+            int top = Math.max(0, windows[i].top);
+            int bottom = Math.min(adapter.getRowCount() - 1, windows[i].bottom);
+            for(int rowStart=top;rowStart<=bottom;rowStart+=RowsPerTask) {
+                postChunk(adapter, generation, rowStart, left, Math.min(bottom, rowStart + RowsPerTask - 1), right);
+            }
+        }
+    }
+
+    private void postChunk(final CrossListAdapter adapter, final int generation,
+                           final int top, final int left, final int bottom, final int right) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for(int row=top;row<=bottom;row++) {
+                    for(int col=left;col<=right;col++) {
+                        if(generation != mGeneration) {
+                            return ;
+                        }
+                        CharSequence text = adapter.getContentText(row, col);
+                        if(text == null) {
+                            continue;
+                        }
+                        Key key = new Key(adapter.getContentTextStyle(row, col), text.toString());
+                        if(mCache.get(key) == null) {
+                            mCache.put(key, buildLayout(key));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /** Abandon queued precomputation */
+    public void cancelPrecompute() {
+        mGeneration++;
+        mLastWindows = null;
+    }
+
+    /**
+     * Shrink the cache to a ratio of its max size, called by CrossList under memory pressure
+     */
+    public void trimToRatio(float keepRatio) {
+        if(keepRatio <= 0f) {
+            evictAll();
+        } else {
+            mCache.trimToSize((int)(mCache.maxSize() * keepRatio));
+        }
+    }
+
+    /**
+     * @return estimated bytes of cached layouts
+     */
+    public int getSize() {
+        return mCache.size();
+    }
+
+    public void evictAll() {
+        cancelPrecompute();
+        mCache.evictAll();
+    }
+}
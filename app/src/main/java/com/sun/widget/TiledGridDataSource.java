@@ -0,0 +1,363 @@
+package com.sun.widget;
+
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * GridDataSource which loads data in rectangular tiles through a pluggable loader
+ * usage:
+ * <code>
+ *     GridDataSource source = new TiledGridDataSource(365, 365, 32, 64, new TiledGridDataSource.TileLoader() {
+ *         @Override
+ *         public Object[] loadTile(int rowStart, int colStart, int rowCount, int colCount) throws Exception {
+ *             //one backend call for the whole tile, row-major
+ *             return fareService.queryMatrix(rowStart, colStart, rowCount, colCount);
+ *         }
+ *     });
+ *     adapter.setDataSource(source);
+ * </code>
+ * Tiles live in a bounded LRU cache, tiles far from the viewport are evicted first;
+ * requests for a tile which is being loaded are merged into the pending load, and a tile
+ * which failed to load is not requested again until its retry delay passes
+ */
+public class TiledGridDataSource extends GridDataSource {
+    private static final String TAG = "TiledGridDataSource";
+    /** How much one tile of distance from the viewport outweighs one step of LRU age */
+    private static final int DistanceWeight = 16;
+    /** Retry delay after the first failure of a tile, doubled by each failure after it */
+    private static final long RetryDelay = 1000;
+    private static final long MaxRetryDelay = 60 * 1000;
+
+    /** Loader of tiles, called in a worker thread */
+    static public interface TileLoader {
+        /**
+         * Load a tile of items
+         * @return items of the tile in row-major order, length is rowCount*colCount
+         */
+        public Object[] loadTile(int rowStart, int colStart, int rowCount, int colCount) throws Exception;
+    }
+
+    /**
+     * Stand-in loader reading tiles from an in-memory table, for demos and tests without a backend
+     * Rows could be ragged, missing items are null
+     */
+    static public class ArrayTileLoader implements TileLoader {
+        private final Object[][] mTable;
+
+        public ArrayTileLoader(Object[][] table) {
+            mTable = table;
+        }
+
+        @Override
+        public Object[] loadTile(int rowStart, int colStart, int rowCount, int colCount) {
+            Object[] items = new Object[rowCount * colCount];
+            for(int r=0;r<rowCount && rowStart + r < mTable.length;r++) {
+                Object[] row = mTable[rowStart + r];
+                if(row == null) {
+                    continue;
+                }
+                for(int c=0;c<colCount && colStart + c < row.length;c++) {
+                    items[r * colCount + c] = row[colStart + c];
+                }
+            }
+            return items;
+        }
+    }
+
+    /** Failures of a tile in a row, and the time it could be requested again */
+    private static class Failure {
+        int count;
+        long retryTime;
+    }
+
+    private static class Tile {
+        final int rowStart;
+        final int colStart;
+        final int colCount;
+        final Object[] items;
+        Tile(int rowStart, int colStart, int colCount, Object[] items) {
+            this.rowStart = rowStart;
+            this.colStart = colStart;
+            this.colCount = colCount;
+            this.items = items;
+        }
+        Object get(int row, int col) {
+            int index = (row - rowStart) * colCount + (col - colStart);
+            return index < items.length ? items[index] : null;
+        }
+    }
+
+    private static Executor sDefaultExecutor = null;
+    private static synchronized Executor getDefaultExecutor() {
+        if(sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "CrossList-tile");
+                }
+            });
+        }
+        return sDefaultExecutor;
+    }
+
+    private final int mRowCount;
+    private final int mColCount;
+    private final int mTileSize;
+    private int mMaxTileCount;
+    private final TileLoader mLoader;
+    private final Executor mExecutor;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    /** Access ordered, the eldest tile comes first */
+    private LinkedHashMap<Long, Tile> mTileCache = new LinkedHashMap<Long, Tile>(16, 0.75f, true);
+    private HashSet<Long> mPendingTiles = new HashSet<Long>();
+    private HashMap<Long, Failure> mFailedTiles = new HashMap<Long, Failure>();
+    private int mGeneration = 0;
+    /** Viewport by tile index, tile (0, 0) until CrossList reports one */
+    private Rect mTileViewport = new Rect(0, 0, 0, 0);
+    private boolean mHasViewport = false;
+
+    public TiledGridDataSource(int rowCount, int colCount, int tileSize, int maxTileCount, TileLoader loader) {
+        this(rowCount, colCount, tileSize, maxTileCount, loader, getDefaultExecutor());
+    }
+
+    public TiledGridDataSource(int rowCount, int colCount, int tileSize, int maxTileCount,
+                               TileLoader loader, Executor executor) {
+        mRowCount = rowCount;
+        mColCount = colCount;
+        mTileSize = Math.max(1, tileSize);
+        mMaxTileCount = Math.max(1, maxTileCount);
+        mLoader = loader;
+        mExecutor = executor;
+    }
+
+    @Override
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return mColCount;
+    }
+
+    static private long getTileKey(int tileRow, int tileCol) {
+        return ((long)tileRow<<32) | (tileCol & 0xffffffffL);
+    }
+
+    @Override
+    public Object getItem(int row, int col) {
+        if(row < 0 || row >= mRowCount || col < 0 || col >= mColCount) {
+            return null;
+        }
+        int tileRow = row / mTileSize;
+        int tileCol = col / mTileSize;
+        Tile tile = mTileCache.get(getTileKey(tileRow, tileCol));
+        if(tile == null) {
+            requestTile(tileRow, tileCol);
+            return null;
+        }
+        return tile.get(row, col);
+    }
+
+    /**
+     * Load tiles covering the viewport and the tiles around it
+     */
+    @Override
+    public void onViewportChanged(Rect indexBound) {
+        int left = indexBound.left / mTileSize;
+        int top = indexBound.top / mTileSize;
+        int right = indexBound.right / mTileSize;
+        int bottom = indexBound.bottom / mTileSize;
+        if(mHasViewport && mTileViewport.left == left && mTileViewport.top == top
+                && mTileViewport.right == right && mTileViewport.bottom == bottom) {
+            return ;
+        }
+        mHasViewport = true;
+        mTileViewport.set(left, top, right, bottom);
+        requestTiles(left - 1, top - 1, right + 1, bottom + 1);
+    }
+
+    @Override
+    public void prefetch(Rect indexBound) {
+        requestTiles(indexBound.left / mTileSize, indexBound.top / mTileSize,
+                indexBound.right / mTileSize, indexBound.bottom / mTileSize);
+    }
+
+    private void requestTiles(int left, int top, int right, int bottom) {
+        for(int tileRow=Math.max(0, top);tileRow<=bottom;tileRow++) {
+            for(int tileCol=Math.max(0, left);tileCol<=right;tileCol++) {
+                if(!mTileCache.containsKey(getTileKey(tileRow, tileCol))) {
+                    requestTile(tileRow, tileCol);
+                }
+            }
+        }
+    }
+
+    private void requestTile(int tileRow, int tileCol) {
+        final int rowStart = tileRow * mTileSize;
+        final int colStart = tileCol * mTileSize;
+        if(rowStart >= mRowCount || colStart >= mColCount) {
+            return ;
+        }
+        final long key = getTileKey(tileRow, tileCol);
+        if(mPendingTiles.contains(key)) {
+            //merged into the load in flight
+            return ;
+        }
+        Failure failure = mFailedTiles.get(key);
+        if(failure != null && SystemClock.uptimeMillis() < failure.retryTime) {
+            //back off, or a dead backend is queried on every frame
+            return ;
+        }
+        mPendingTiles.add(key);
+        final int rowCount = Math.min(mTileSize, mRowCount - rowStart);
+        final int colCount = Math.min(mTileSize, mColCount - colStart);
+        final int generation = mGeneration;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Object[] items = null;
+                try {
+                    items = mLoader.loadTile(rowStart, colStart, rowCount, colCount);
+                } catch (Exception e) {
+                    Log.w(TAG, "load tile failed at (" + rowStart + ", " + colStart + ")", e);
+                }
+                final Object[] result = items;
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if(generation != mGeneration) {
+                            return ;
+                        }
+                        mPendingTiles.remove(key);
+                        if(result == null) {
+                            //failed, will be requested again on access after the retry delay
+                            onTileFailed(key);
+                            return ;
+                        }
+                        mFailedTiles.remove(key);
+                        mTileCache.put(key, new Tile(rowStart, colStart, colCount, result));
+                        trimToSize(mMaxTileCount);
+                        notifyDataReady(new Rect(colStart, rowStart, colStart + colCount - 1, rowStart + rowCount - 1));
+                    }
+                });
+            }
+        });
+    }
+
+    private void onTileFailed(long key) {
+        Failure failure = mFailedTiles.get(key);
+        if(failure == null) {
+            failure = new Failure();
+            mFailedTiles.put(key, failure);
+        }
+        failure.count++;
+        long delay = RetryDelay << Math.min(failure.count - 1, 16);
+        failure.retryTime = SystemClock.uptimeMillis() + Math.min(delay, MaxRetryDelay);
+    }
+
+    /**
+     * Evict tiles until there are no more than maxTileCount tiles
+     * Every tile is scored by its LRU age plus its distance from the viewport,
+     * the tile with the highest score is evicted first
+     * Tiles in the viewport are never evicted here, as they would be requested again right away;
+     * so the cache could exceed maxTileCount if it's smaller than the viewport
+     */
+    public void trimToSize(int maxTileCount) {
+        while(mTileCache.size() > Math.max(0, maxTileCount)) {
+            long victimKey = 0;
+            long victimScore = -1;
+            int age = mTileCache.size();
+            for(Map.Entry<Long, Tile> entry : mTileCache.entrySet()) {
+                long key = entry.getKey();
+                int distance = getTileDistance((int)(key>>32), (int)key);
+                long score = age + (long)DistanceWeight * distance;
+                if(distance > 0 && score > victimScore) {
+                    victimScore = score;
+                    victimKey = key;
+                }
+                age--;
+            }
+            if(victimScore < 0) {
+                //only tiles in the viewport are left
+                return ;
+            }
+            mTileCache.remove(victimKey);
+        }
+    }
+
+    /** Chebyshev distance by tile from the viewport, 0 for tiles in it */
+    private int getTileDistance(int tileRow, int tileCol) {
+        int dx = Math.max(0, Math.max(mTileViewport.left - tileCol, tileCol - mTileViewport.right));
+        int dy = Math.max(0, Math.max(mTileViewport.top - tileRow, tileRow - mTileViewport.bottom));
+        return Math.max(dx, dy);
+    }
+
+    /**
+     * Evict tiles far from the viewport first, down to a ratio of the max tile count;
+     * all tiles go if nothing is kept, they are loaded again once when accessed
+     */
+    @Override
+    public void onTrimMemory(float keepRatio) {
+        if(keepRatio <= 0f) {
+            mTileCache.clear();
+            return ;
+        }
+        trimToSize((int)(mMaxTileCount * keepRatio));
+    }
+
+    @Override
+    public int getCacheSize() {
+        return mTileCache.size();
+    }
+
+    public void setMaxTileCount(int maxTileCount) {
+        mMaxTileCount = Math.max(1, maxTileCount);
+        trimToSize(mMaxTileCount);
+    }
+
+    public int getTileCount() {
+        return mTileCache.size();
+    }
+
+    /**
+     * Drop the tile containing (row, col), it will be loaded again when accessed, even if it
+     * failed to load just before
+     */
+    public void invalidateTile(int row, int col) {
+        long key = getTileKey(row / mTileSize, col / mTileSize);
+        mTileCache.remove(key);
+        mFailedTiles.remove(key);
+    }
+
+    /**
+     * Drop all tiles, loads in flight and retry delays of failed tiles
+     */
+    public void clear() {
+        mGeneration++;
+        mTileCache.clear();
+        mPendingTiles.clear();
+        mFailedTiles.clear();
+        //the next viewport loads its ring again, even if it didn't move
+        mHasViewport = false;
+    }
+}
@@ -0,0 +1,185 @@
+package com.sun.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Snapshot of the last visible window of a CrossList, shown on the next launch until the
+ * live adapter is ready
+ * File layout: a small header with origin points, the visible bound by index, cell size and
+ * grid size, followed by a PNG of the content region
+ * Files are read and written in a background thread, results are posted to the main thread
+ * @see CrossList#setSnapshotFile(File)
+ */
+class ViewportSnapshot {
+    private static final int Magic = 0x434c5653;//'CLVS'
+    private static final int Version = 1;
+
+    /** Listener of loading, called in the main thread */
+    static interface OnLoadedListener {
+        /**
+         * @param snapshot the snapshot, null if the file is missing or broken
+         */
+        public void onLoaded(ViewportSnapshot snapshot);
+    }
+
+    private static Executor sIoExecutor = null;
+    private static synchronized Executor getIoExecutor() {
+        if(sIoExecutor == null) {
+            sIoExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "CrossList-snapshot");
+                }
+            });
+        }
+        return sIoExecutor;
+    }
+
+    final CrossList.LongPoint titleOrigin = new CrossList.LongPoint();
+    final CrossList.LongPoint contentOrigin = new CrossList.LongPoint();
+    final Rect indexBound = new Rect();
+    int cellWidth;
+    int cellHeight;
+    int rowCount;
+    int colCount;
+    /** Content region, its top-left pixel is at logical point (-contentOrigin.x, -contentOrigin.y) */
+    Bitmap bitmap;
+
+    ViewportSnapshot() {
+    }
+
+    /**
+     * Whether the snapshot could be shown over a grid
+     */
+    boolean fits(int cellWidth, int cellHeight, int rowCount, int colCount) {
+        return bitmap != null && this.cellWidth == cellWidth && this.cellHeight == cellHeight
+                && indexBound.right < colCount && indexBound.bottom < rowCount;
+    }
+
+    void release() {
+        if(bitmap != null) {
+            bitmap.recycle();
+            bitmap = null;
+        }
+    }
+
+    static void load(final File file, final OnLoadedListener listener) {
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+        getIoExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                ViewportSnapshot snapshot = null;
+                try {
+                    snapshot = read(file);
+                } catch (IOException e) {
+                    //a missing or broken snapshot is just skipped
+                }
+                final ViewportSnapshot result = snapshot;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onLoaded(result);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Write the snapshot in a background thread, the bitmap is recycled after that
+     */
+    void save(final File file) {
+        getIoExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    write(file);
+                } catch (IOException e) {
+                    //keep the last snapshot
+                } finally {
+                    release();
+                }
+            }
+        });
+    }
+
+    private static ViewportSnapshot read(File file) throws IOException {
+        if(!file.exists()) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if(in.readInt() != Magic || in.readInt() != Version) {
+                return null;
+            }
+            ViewportSnapshot snapshot = new ViewportSnapshot();
+            snapshot.titleOrigin.set(in.readLong(), in.readLong());
+            snapshot.contentOrigin.set(in.readLong(), in.readLong());
+            snapshot.indexBound.set(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+            snapshot.cellWidth = in.readInt();
+            snapshot.cellHeight = in.readInt();
+            snapshot.rowCount = in.readInt();
+            snapshot.colCount = in.readInt();
+            snapshot.bitmap = BitmapFactory.decodeStream(in);
+            return snapshot.bitmap == null ? null : snapshot;
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Write to a temporary file then rename it, so that a broken write never replaces the last one */
+    private void write(File file) throws IOException {
+        File tmpFile = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+        boolean done = false;
+        try {
+            out.writeInt(Magic);
+            out.writeInt(Version);
+            out.writeLong(titleOrigin.x);
+            out.writeLong(titleOrigin.y);
+            out.writeLong(contentOrigin.x);
+            out.writeLong(contentOrigin.y);
+            out.writeInt(indexBound.left);
+            out.writeInt(indexBound.top);
+            out.writeInt(indexBound.right);
+            out.writeInt(indexBound.bottom);
+            out.writeInt(cellWidth);
+            out.writeInt(cellHeight);
+            out.writeInt(rowCount);
+            out.writeInt(colCount);
+            done = bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+        } finally {
+            out.close();
+            if(!done) {
+                tmpFile.delete();
+            }
+        }
+        if(!tmpFile.renameTo(file)) {
+            tmpFile.delete();
+            throw new IOException("rename snapshot failed");
+        }
+    }
+}